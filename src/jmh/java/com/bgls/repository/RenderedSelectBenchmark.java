@@ -0,0 +1,60 @@
+package com.bgls.repository;
+
+import com.bgls.domain.criteria.ItemFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.dialect.PostgresDialect;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+
+/**
+ * Benchmark of the SQL of an item page, as the item list selects it: eager, sorted, filtered and counted by window,
+ * built and rendered for each request, or found by its shape in the {@link RenderedSelectCache}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderedSelectBenchmark {
+
+    private final SqlRenderer sqlRenderer = SqlRenderer.create(new RenderContextFactory(PostgresDialect.INSTANCE).createRenderContext());
+
+    private final RenderedSelectCache renderedSelects = new RenderedSelectCache(512, new SimpleMeterRegistry());
+
+    private final Pageable page = PageRequest.of(3, 20, Sort.by(Sort.Order.asc("game.name"), Sort.Order.desc("id")));
+
+    private long ownerId;
+
+    @Benchmark
+    public String buildAndRender() {
+        ItemQueryBuilder query = query();
+        return sqlRenderer.render(query.buildPage(page));
+    }
+
+    @Benchmark
+    public String cached() {
+        ItemQueryBuilder query = query();
+        return renderedSelects.get(query.shape("page"), () -> sqlRenderer.render(query.buildPage(page)));
+    }
+
+    /**
+     * The query of a request, whose values change from one request to the next while its shape does not.
+     */
+    private ItemQueryBuilder query() {
+        return new ItemQueryBuilder(new ItemFilter().ownerId(++ownerId).gameName("zelda")).eager(true).withTotalCount(true);
+    }
+}
@@ -0,0 +1,445 @@
+package com.bgls.repository.rowmapper;
+
+import com.bgls.domain.Console;
+import com.bgls.domain.Game;
+import com.bgls.domain.Item;
+import com.bgls.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Benchmark of the mapping of a result of games, and of a result of items along with their owner, borrower, game and
+ * console, read by the positions the {@link PrefixedRowMapper} resolves once per result, or by the prefixed names of
+ * their columns, as the mappers read them before.
+ * <p>
+ * The {@code byName} baselines are the mappers as they were before: {@link Legacy} reads each column through a
+ * {@code try}/{@code catch} falling back to an unconverted read, and the items read each relation in a
+ * {@code try}/{@code catch} of its own. Their only change is the {@code cover_hash} and {@code image_hash} columns, which
+ * replaced the images. Half the items are not lent and a third of the games have no console, so that the relations
+ * missing from the left joins are part of the result.
+ * <p>
+ * The rows are in memory, and look their columns up by name with a case-insensitive scan, as a driver without an index
+ * of the names does: the benchmark measures the mapping, not the decoding of the values by a driver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RowMapperBenchmark {
+
+    private static final String[] GAME_COLUMNS = { "id", "name", "cover_content_type", "cover_hash", "console_id" };
+
+    private static final String[] CONSOLE_COLUMNS = { "id", "name", "image_content_type", "image_hash" };
+
+    private static final String[] USER_COLUMNS = {
+        "id",
+        "login",
+        "password",
+        "first_name",
+        "last_name",
+        "email",
+        "activated",
+        "lang_key",
+        "image_url",
+        "activation_key",
+        "reset_key",
+        "reset_date",
+    };
+
+    private static final String[] ITEM_COLUMNS = { "id", "owner_id", "lended_to_id", "game_id" };
+
+    private static final String OWNER = "owner";
+
+    private static final String LENDED_TO = "lendedTo";
+
+    private static final String GAME = "game";
+
+    private static final String CONSOLE = "console";
+
+    @Param({ "20", "500" })
+    private int rows;
+
+    private GameRowMapper gameRowMapper;
+
+    private ConsoleRowMapper consoleRowMapper;
+
+    private UserRowMapper userRowMapper;
+
+    private ItemRowMapper itemRowMapper;
+
+    private Legacy legacy;
+
+    private Metadata gameMetadata;
+
+    private Row[] games;
+
+    private Metadata itemMetadata;
+
+    private Row[] items;
+
+    @Setup
+    public void setUp() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(PostgresDialect.INSTANCE);
+        MappingR2dbcConverter r2dbcConverter = new MappingR2dbcConverter(new R2dbcMappingContext());
+        ColumnConverter converter = new ColumnConverter(conversions, r2dbcConverter, new SimpleMeterRegistry());
+        gameRowMapper = new GameRowMapper(converter);
+        consoleRowMapper = new ConsoleRowMapper(converter);
+        userRowMapper = new UserRowMapper(converter);
+        itemRowMapper = new ItemRowMapper(converter);
+        legacy = new Legacy(conversions, r2dbcConverter);
+
+        gameMetadata = new Metadata(aliases("e", GAME_COLUMNS), aliases(CONSOLE, CONSOLE_COLUMNS));
+        games = new Row[rows];
+        for (int i = 0; i < rows; i++) {
+            games[i] = new InMemoryRow(gameMetadata, concat(game(i), console(i)));
+        }
+
+        itemMetadata = new Metadata(
+            aliases("e", ITEM_COLUMNS),
+            aliases(OWNER, USER_COLUMNS),
+            aliases(LENDED_TO, USER_COLUMNS),
+            aliases(GAME, GAME_COLUMNS),
+            aliases(CONSOLE, CONSOLE_COLUMNS)
+        );
+        items = new Row[rows];
+        for (int i = 0; i < rows; i++) {
+            boolean lent = i % 2 == 0;
+            boolean withConsole = i % 3 != 0;
+            Object[] item = { (long) i, 1L, lent ? 2L : null, (long) i };
+            Object[] game = game(i);
+            game[4] = withConsole ? 1L : null;
+            items[i] = new InMemoryRow(
+                itemMetadata,
+                concat(
+                    item,
+                    user(1L),
+                    lent ? user(2L) : new Object[USER_COLUMNS.length],
+                    game,
+                    withConsole ? console(i) : new Object[CONSOLE_COLUMNS.length]
+                )
+            );
+        }
+    }
+
+    @Benchmark
+    public void byPosition(Blackhole blackhole) {
+        BiFunction<Row, RowMetadata, Game> mapper = gameRowMapper.withPrefix("e");
+        for (Row row : games) {
+            blackhole.consume(mapper.apply(row, gameMetadata));
+        }
+    }
+
+    @Benchmark
+    public void byName(Blackhole blackhole) {
+        for (Row row : games) {
+            blackhole.consume(legacy.game(row, "e"));
+        }
+    }
+
+    /**
+     * The items with their relations, mapped as {@code ItemRepositoryInternalImpl} maps them.
+     */
+    @Benchmark
+    public void itemsByPosition(Blackhole blackhole) {
+        BiFunction<Row, RowMetadata, Item> itemsMapper = itemRowMapper.withPrefix("e");
+        BiFunction<Row, RowMetadata, User> owners = userRowMapper.withPrefix(OWNER);
+        BiFunction<Row, RowMetadata, User> borrowers = userRowMapper.withPrefix(LENDED_TO);
+        BiFunction<Row, RowMetadata, Game> gamesMapper = gameRowMapper.withPrefix(GAME);
+        BiFunction<Row, RowMetadata, Console> consoles = consoleRowMapper.withPrefix(CONSOLE);
+        for (Row row : items) {
+            Item entity = itemsMapper.apply(row, itemMetadata);
+            entity.setOwner(owners.apply(row, itemMetadata));
+            entity.setLendedTo(borrowers.apply(row, itemMetadata));
+            Game game = gamesMapper.apply(row, itemMetadata);
+            if (game != null) {
+                game.setConsole(consoles.apply(row, itemMetadata));
+            }
+            entity.setGame(game);
+            blackhole.consume(entity);
+        }
+    }
+
+    /**
+     * The items with their relations, mapped as {@code ItemRepositoryInternalImpl} mapped them before.
+     */
+    @Benchmark
+    public void itemsByName(Blackhole blackhole) {
+        for (Row row : items) {
+            blackhole.consume(legacy.itemWithRelations(row));
+        }
+    }
+
+    private static Object[] game(int i) {
+        return new Object[] { (long) i, "Game " + i, "image/png", "ab" + i, 1L };
+    }
+
+    private static Object[] console(int i) {
+        return new Object[] { 1L, "Console", "image/png", "cd" + i };
+    }
+
+    private static Object[] user(long id) {
+        return new Object[] {
+            id,
+            "user" + id,
+            "$2a$10$" + "x".repeat(53),
+            "First",
+            "Last",
+            "user" + id + "@localhost",
+            Boolean.TRUE,
+            "en",
+            null,
+            null,
+            null,
+            Instant.EPOCH,
+        };
+    }
+
+    private static String[] aliases(String prefix, String[] columns) {
+        return Arrays.stream(columns).map(column -> prefix + "_" + column).toArray(String[]::new);
+    }
+
+    private static Object[] concat(Object[]... parts) {
+        List<Object> values = new ArrayList<>();
+        for (Object[] part : parts) {
+            values.addAll(Arrays.asList(part));
+        }
+        return values.toArray();
+    }
+
+    /**
+     * The {@code ColumnConverter}, {@code GameRowMapper}, {@code ConsoleRowMapper}, {@code UserRowMapper},
+     * {@code ItemRowMapper}, {@code GameSqlHelper.extract}, {@code ConsoleSqlHelper.extract} and
+     * {@code ItemRepositoryInternalImpl.process} reading the columns by their name, as they were before.
+     */
+    private static final class Legacy {
+
+        private final ConversionService conversionService;
+
+        private final R2dbcCustomConversions conversions;
+
+        private Legacy(R2dbcCustomConversions conversions, R2dbcConverter r2dbcConverter) {
+            this.conversionService = r2dbcConverter.getConversionService();
+            this.conversions = conversions;
+        }
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        private <T> T convert(Object value, Class<T> target) {
+            if (value == null || target == null || ClassUtils.isAssignableValue(target, value)) {
+                return (T) value;
+            }
+
+            if (conversions.hasCustomReadTarget(value.getClass(), target)) {
+                return conversionService.convert(value, target);
+            }
+
+            if (Enum.class.isAssignableFrom(target)) {
+                return (T) Enum.valueOf((Class<Enum>) target, value.toString());
+            }
+
+            return conversionService.convert(value, target);
+        }
+
+        private <T> T fromRow(Row row, String columnName, Class<T> target) {
+            try {
+                // try, directly the driver
+                return row.get(columnName, target);
+            } catch (Exception e) {
+                Object obj = row.get(columnName);
+                return convert(obj, target);
+            }
+        }
+
+        private Game game(Row row, String prefix) {
+            Game entity = new Game();
+            entity.setId(fromRow(row, prefix + "_id", Long.class));
+            entity.setName(fromRow(row, prefix + "_name", String.class));
+            entity.setCoverContentType(fromRow(row, prefix + "_cover_content_type", String.class));
+            entity.setCoverHash(fromRow(row, prefix + "_cover_hash", String.class));
+            entity.setConsoleId(fromRow(row, prefix + "_console_id", Long.class));
+            return entity;
+        }
+
+        private User user(Row row, String prefix) {
+            User entity = new User();
+            entity.setId(row.get(prefix + "_id", Long.class));
+            entity.setLogin(fromRow(row, prefix + "_login", String.class));
+            entity.setPassword(fromRow(row, prefix + "_password", String.class));
+            entity.setFirstName(fromRow(row, prefix + "_first_name", String.class));
+            entity.setLastName(fromRow(row, prefix + "_last_name", String.class));
+            entity.setEmail(fromRow(row, prefix + "_email", String.class));
+            entity.setActivated(Boolean.TRUE.equals(fromRow(row, prefix + "_activated", Boolean.class)));
+            entity.setLangKey(fromRow(row, prefix + "_lang_key", String.class));
+            entity.setImageUrl(fromRow(row, prefix + "_image_url", String.class));
+            entity.setActivationKey(fromRow(row, prefix + "_activation_key", String.class));
+            entity.setResetKey(fromRow(row, prefix + "_reset_key", String.class));
+            entity.setResetDate(fromRow(row, prefix + "_reset_date", Instant.class));
+            return entity;
+        }
+
+        private Item item(Row row, String prefix) {
+            Item entity = new Item();
+            entity.setId(fromRow(row, prefix + "_id", Long.class));
+            entity.setOwnerId(fromRow(row, prefix + "_owner_id", Long.class));
+            entity.setLendedToId(fromRow(row, prefix + "_lended_to_id", Long.class));
+            entity.setGameId(fromRow(row, prefix + "_game_id", Long.class));
+            return entity;
+        }
+
+        private static Game extractGame(Row row, String columnPrefix) {
+            if (row.get(columnPrefix + "_id", Long.class) == null) {
+                return null;
+            }
+
+            Game game = new Game();
+            game.setId(row.get(columnPrefix + "_id", Long.class));
+            game.setName(row.get(columnPrefix + "_name", String.class));
+            game.setCoverHash(row.get(columnPrefix + "_cover_hash", String.class));
+            game.setCoverContentType(row.get(columnPrefix + "_cover_content_type", String.class));
+            game.setConsoleId(row.get(columnPrefix + "_console_id", Long.class));
+            return game;
+        }
+
+        private static Console extractConsole(Row row, String columnPrefix) {
+            if (row.get(columnPrefix + "_id", Long.class) == null) {
+                return null;
+            }
+
+            Console console = new Console();
+            console.setId(row.get(columnPrefix + "_id", Long.class));
+            console.setName(row.get(columnPrefix + "_name", String.class));
+            console.setImageHash(row.get(columnPrefix + "_image_hash", String.class));
+            console.setImageContentType(row.get(columnPrefix + "_image_content_type", String.class));
+            return console;
+        }
+
+        private Item itemWithRelations(Row row) {
+            Item entity = item(row, "e");
+
+            try {
+                entity.setOwner(user(row, OWNER));
+            } catch (Exception e) {
+                entity.setOwner(null);
+            }
+
+            try {
+                entity.setLendedTo(user(row, LENDED_TO));
+            } catch (Exception e) {
+                entity.setLendedTo(null);
+            }
+
+            try {
+                Game game = extractGame(row, GAME);
+                if (game != null && game.getId() != null) {
+                    try {
+                        Console console = extractConsole(row, CONSOLE);
+                        if (console != null && console.getId() != null) {
+                            game.setConsole(console);
+                        }
+                    } catch (Exception ignored) {
+                        // Ignoring
+                    }
+                    entity.setGame(game);
+                } else {
+                    entity.setGame(null);
+                }
+            } catch (Exception e) {
+                entity.setGame(null);
+            }
+
+            return entity;
+        }
+    }
+
+    private record Column(String name) implements ColumnMetadata {
+        @Override
+        public Type getType() {
+            return R2dbcType.VARCHAR;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final class Metadata implements RowMetadata {
+
+        private final List<Column> columns;
+
+        private Metadata(String[]... aliases) {
+            this.columns = Arrays.stream(aliases).flatMap(Arrays::stream).map(Column::new).toList();
+        }
+
+        private int indexOf(String name) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).name().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            throw new IllegalArgumentException("No column " + name);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            return columns.get(indexOf(name));
+        }
+
+        @Override
+        public List<? extends ColumnMetadata> getColumnMetadatas() {
+            return columns;
+        }
+    }
+
+    private record InMemoryRow(Metadata metadata, Object... values) implements Row {
+        @Override
+        public RowMetadata getMetadata() {
+            return metadata;
+        }
+
+        @Override
+        public <T> T get(int index, Class<T> type) {
+            return type.cast(values[index]);
+        }
+
+        @Override
+        public <T> T get(String name, Class<T> type) {
+            return type.cast(values[metadata.indexOf(name)]);
+        }
+    }
+}
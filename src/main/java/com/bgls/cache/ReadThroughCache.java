@@ -0,0 +1,236 @@
+package com.bgls.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through cache of values read far more often than written.
+ * <p>
+ * The cache is bounded by the weight of its values, the least recently used being evicted first, and keeps each of them
+ * for its time to live, if any: the writes of the other instances of the application are only caught up with once the
+ * values expire. The writes must {@linkplain #invalidate(Object) invalidate} the values they change, and a value read
+ * while an invalidation happens is not kept, since it may miss the write.
+ * <p>
+ * The {@code cache.gets} counter, tagged with the {@code cache}, tells the {@code hit} from the {@code miss} reads,
+ * {@code cache.evictions} counts the values evicted to make room for others or expired, and the {@code cache.size} and
+ * {@code cache.weight} gauges the values cached and their weight. The cached values are shared by all the requests,
+ * which must not modify them.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the values.
+ */
+public class ReadThroughCache<K, V> {
+
+    /**
+     * Statistics of the cache.
+     *
+     * @param hits the reads served from the cache.
+     * @param misses the reads of the values not cached.
+     * @param evictions the values evicted to make room for others, or expired.
+     * @param invalidations the values invalidated by a write or a flush.
+     * @param size the number of values cached.
+     * @param weight the weight of the values cached.
+     * @param maxWeight the weight the values cached may have at most.
+     */
+    public record Stats(long hits, long misses, long evictions, long invalidations, int size, long weight, long maxWeight) {}
+
+    private record Entry<V>(V value, long weight, long expiresAt) {}
+
+    private final long maxWeight;
+
+    private final ToLongFunction<? super V> weigher;
+
+    private final Duration timeToLive;
+
+    private final Supplier<Long> clock;
+
+    private final Object lock = new Object();
+
+    private final Map<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    private long invalidations;
+
+    private long weight;
+
+    /**
+     * Incremented by each invalidation, so that the values read before it are not kept.
+     */
+    private long generation;
+
+    /**
+     * @param name the name of the cache, tagging its meters.
+     * @param maxWeight the weight the values cached may have at most.
+     * @param weigher the weight of a value, such as the bytes it takes in memory, or 1 to bound the number of values.
+     * @param timeToLive the time a value is kept for, or {@code null} to keep it until evicted or invalidated.
+     * @param registry the registry of the meters.
+     */
+    public ReadThroughCache(String name, long maxWeight, ToLongFunction<? super V> weigher, Duration timeToLive, MeterRegistry registry) {
+        this(name, maxWeight, weigher, timeToLive, registry, System::nanoTime);
+    }
+
+    ReadThroughCache(
+        String name,
+        long maxWeight,
+        ToLongFunction<? super V> weigher,
+        Duration timeToLive,
+        MeterRegistry registry,
+        Supplier<Long> clock
+    ) {
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.timeToLive = timeToLive;
+        this.clock = clock;
+        this.hits = Counter.builder("cache.gets")
+            .description("Reads served from the cache")
+            .tags("cache", name, "result", "hit")
+            .register(registry);
+        this.misses = Counter.builder("cache.gets")
+            .description("Reads of values not cached")
+            .tags("cache", name, "result", "miss")
+            .register(registry);
+        this.evictions = Counter.builder("cache.evictions")
+            .description("Values evicted from the cache to make room for others, or expired")
+            .tag("cache", name)
+            .register(registry);
+        Gauge.builder("cache.size", this, cache -> cache.stats().size())
+            .description("Values in the cache")
+            .tag("cache", name)
+            .register(registry);
+        Gauge.builder("cache.weight", this, cache -> cache.stats().weight())
+            .description("Weight of the values in the cache")
+            .tag("cache", name)
+            .register(registry);
+    }
+
+    /**
+     * Returns a value, reading it if it is not cached.
+     *
+     * @param key the key of the value.
+     * @param load reads the value, or completes empty if there is none.
+     * @return the value.
+     */
+    public Mono<V> get(K key, Mono<V> load) {
+        return Mono.defer(() -> {
+            long loadedGeneration;
+            synchronized (lock) {
+                Entry<V> entry = entries.get(key);
+                if (entry != null && !expired(entry)) {
+                    hits.increment();
+                    return Mono.just(entry.value());
+                }
+                if (entry != null) {
+                    remove(key);
+                    evictions.increment();
+                }
+                loadedGeneration = generation;
+            }
+            misses.increment();
+            return load.doOnNext(value -> put(key, value, loadedGeneration));
+        });
+    }
+
+    /**
+     * Drops a value, to be read again on its next request.
+     *
+     * @param key the key of the value.
+     */
+    public void invalidate(K key) {
+        synchronized (lock) {
+            generation++;
+            if (remove(key) != null) {
+                invalidations++;
+            }
+        }
+    }
+
+    /**
+     * Drops the values matching a predicate, such as those cached under a key the write changed.
+     *
+     * @param predicate tells the values to drop.
+     */
+    public void invalidateIf(Predicate<? super V> predicate) {
+        synchronized (lock) {
+            generation++;
+            Iterator<Entry<V>> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry<V> entry = iterator.next();
+                if (predicate.test(entry.value())) {
+                    iterator.remove();
+                    weight -= entry.weight();
+                    invalidations++;
+                }
+            }
+        }
+    }
+
+    /**
+     * Drops all the values.
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            generation++;
+            invalidations += entries.size();
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    public Stats stats() {
+        synchronized (lock) {
+            return new Stats(
+                (long) hits.count(),
+                (long) misses.count(),
+                (long) evictions.count(),
+                invalidations,
+                entries.size(),
+                weight,
+                maxWeight
+            );
+        }
+    }
+
+    private void put(K key, V value, long loadedGeneration) {
+        long valueWeight = weigher.applyAsLong(value);
+        synchronized (lock) {
+            if (generation != loadedGeneration || valueWeight > maxWeight) {
+                return;
+            }
+            long expiresAt = timeToLive != null ? clock.get() + timeToLive.toNanos() : 0;
+            Entry<V> replaced = entries.put(key, new Entry<>(value, valueWeight, expiresAt));
+            weight += valueWeight - (replaced != null ? replaced.weight() : 0);
+            Iterator<Entry<V>> leastRecentlyUsed = entries.values().iterator();
+            while (weight > maxWeight) {
+                weight -= leastRecentlyUsed.next().weight();
+                leastRecentlyUsed.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private Entry<V> remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            weight -= entry.weight();
+        }
+        return entry;
+    }
+
+    private boolean expired(Entry<V> entry) {
+        return timeToLive != null && entry.expiresAt() - clock.get() <= 0;
+    }
+}
@@ -0,0 +1,65 @@
+package com.bgls.cache;
+
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * Runs the invalidations of the caches written through, which must also happen once the transaction of the write
+ * completes: a read between the write and its commit would otherwise cache the previous state again. The updates of the
+ * in-memory copies of the data, such as the typeahead index, only happen once the write is committed, so that a rolled
+ * back write leaves no trace.
+ */
+public final class TransactionCompletion {
+
+    private TransactionCompletion() {}
+
+    /**
+     * Runs an action now, and again once the current transaction completes, if any.
+     *
+     * @param action the action, such as the invalidation of a cache.
+     * @return completes once the action has run and is registered with the transaction.
+     */
+    public static Mono<Void> runNowAndAfterCompletion(Runnable action) {
+        return Mono.fromRunnable(action)
+            .then(TransactionSynchronizationManager.forCurrentTransaction())
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(manager -> manager.registerSynchronization(afterCompletion(action)))
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .then();
+    }
+
+    /**
+     * Runs an action once the current transaction commits, or now if there is none.
+     *
+     * @param action the action, such as the update of an in-memory index.
+     * @return completes once the action has run or is registered with the transaction.
+     */
+    public static Mono<Void> runAfterCommit(Runnable action) {
+        return TransactionSynchronizationManager.forCurrentTransaction()
+            .filter(TransactionSynchronizationManager::isSynchronizationActive)
+            .doOnNext(manager -> manager.registerSynchronization(afterCommit(action)))
+            .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+            .switchIfEmpty(Mono.fromRunnable(action))
+            .then();
+    }
+
+    private static TransactionSynchronization afterCommit(Runnable action) {
+        return new TransactionSynchronization() {
+            @Override
+            public Mono<Void> afterCommit() {
+                return Mono.fromRunnable(action);
+            }
+        };
+    }
+
+    private static TransactionSynchronization afterCompletion(Runnable action) {
+        return new TransactionSynchronization() {
+            @Override
+            public Mono<Void> afterCompletion(int status) {
+                return Mono.fromRunnable(action);
+            }
+        };
+    }
+}
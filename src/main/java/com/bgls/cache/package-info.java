@@ -0,0 +1,6 @@
+/**
+ * In-memory caches of the data read far more often than written, and the invalidation of them around transactions.
+ * <p>
+ * The package knows nothing of the entities it caches, so that each layer can cache its own.
+ */
+package com.bgls.cache;
@@ -1,6 +1,12 @@
 package com.bgls.config;
 
+import com.bgls.service.CountStrategy;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
 
 /**
  * Properties specific to Bgls.
@@ -10,9 +16,579 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+    private final Images images = new Images();
+
+    private final Thumbnails thumbnails = new Thumbnails();
+
+    private final Search search = new Search();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Database database = new Database();
+
+    private final RelationLoading relationLoading = new RelationLoading();
+
+    private final Cache cache = new Cache();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
     // jhipster-needle-application-properties-property
 
+    public Images getImages() {
+        return images;
+    }
+
+    public Thumbnails getThumbnails() {
+        return thumbnails;
+    }
+
+    public Search getSearch() {
+        return search;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public RelationLoading getRelationLoading() {
+        return relationLoading;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
+    /**
+     * Images stored with the entities, such as game covers and console images.
+     */
+    public static class Images {
+
+        /**
+         * Largest image accepted by the upload endpoints.
+         */
+        private DataSize maxUploadSize = DataSize.ofMegabytes(5);
+
+        private final Storage storage = new Storage();
+
+        public DataSize getMaxUploadSize() {
+            return maxUploadSize;
+        }
+
+        public void setMaxUploadSize(DataSize maxUploadSize) {
+            this.maxUploadSize = maxUploadSize;
+        }
+
+        public Storage getStorage() {
+            return storage;
+        }
+
+        /**
+         * Where the images are stored, see {@link com.bgls.service.ImageStorage}.
+         */
+        public static class Storage {
+
+            /**
+             * Implementation of the storage: only {@code filesystem} is available.
+             */
+            private String type = "filesystem";
+
+            /**
+             * Directory of the {@code filesystem} storage: an absolute path, which must survive the restarts and the
+             * redeployments of the application, such as a volume of its container.
+             */
+            private String root = "/app/data/images";
+
+            public String getType() {
+                return type;
+            }
+
+            public void setType(String type) {
+                this.type = type;
+            }
+
+            public String getRoot() {
+                return root;
+            }
+
+            public void setRoot(String root) {
+                this.root = root;
+            }
+        }
+    }
+
+    /**
+     * Thumbnails generated from the game covers.
+     */
+    public static class Thumbnails {
+
+        /**
+         * Largest dimension, in pixels, of each generated thumbnail.
+         */
+        private List<Integer> sizes = List.of(64, 160, 320);
+
+        /**
+         * Maximum number of covers being decoded and resized at the same time.
+         */
+        private int concurrency = 2;
+
+        /**
+         * Largest number of pixels of a cover to decode: a larger one, as declared by its header, gets no thumbnails.
+         */
+        private long maxPixels = 40_000_000;
+
+        /**
+         * Number of games read at once by the backfill of the missing thumbnails.
+         */
+        private int backfillBatchSize = 50;
+
+        /**
+         * Whether the missing thumbnails are generated once the application has started.
+         */
+        private boolean backfillOnStartup = true;
+
+        public List<Integer> getSizes() {
+            return sizes;
+        }
+
+        public void setSizes(List<Integer> sizes) {
+            this.sizes = sizes;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public void setConcurrency(int concurrency) {
+            this.concurrency = concurrency;
+        }
+
+        public long getMaxPixels() {
+            return maxPixels;
+        }
+
+        public void setMaxPixels(long maxPixels) {
+            this.maxPixels = maxPixels;
+        }
+
+        public int getBackfillBatchSize() {
+            return backfillBatchSize;
+        }
+
+        public void setBackfillBatchSize(int backfillBatchSize) {
+            this.backfillBatchSize = backfillBatchSize;
+        }
+
+        public boolean isBackfillOnStartup() {
+            return backfillOnStartup;
+        }
+
+        public void setBackfillOnStartup(boolean backfillOnStartup) {
+            this.backfillOnStartup = backfillOnStartup;
+        }
+    }
+
+    /**
+     * Name searches, such as the game suggestions of the item form.
+     */
+    public static class Search {
+
+        /**
+         * Number of results returned when the request does not ask for a number.
+         */
+        private int defaultResults = 10;
+
+        /**
+         * Largest number of results a request may ask for.
+         */
+        private int maxResults = 50;
+
+        private final Typeahead typeahead = new Typeahead();
+
+        public int getDefaultResults() {
+            return defaultResults;
+        }
+
+        public void setDefaultResults(int defaultResults) {
+            this.defaultResults = defaultResults;
+        }
+
+        public int getMaxResults() {
+            return maxResults;
+        }
+
+        public void setMaxResults(int maxResults) {
+            this.maxResults = maxResults;
+        }
+
+        public Typeahead getTypeahead() {
+            return typeahead;
+        }
+
+        /**
+         * In-memory index of the game names answering the searches, see {@link com.bgls.service.GameTypeaheadService}.
+         */
+        public static class Typeahead {
+
+            /**
+             * Whether the searches are answered from memory rather than by the database.
+             */
+            private boolean enabled = true;
+
+            /**
+             * Largest number of edits between a query and the names it finds, allowed to the longest queries only.
+             */
+            private int maxEdits = 2;
+
+            /**
+             * Delay between two rebuilds of the index from the database, which catch up with the writes of the other
+             * instances of the application.
+             */
+            private Duration rebuildInterval = Duration.ofMinutes(10);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getMaxEdits() {
+                return maxEdits;
+            }
+
+            public void setMaxEdits(int maxEdits) {
+                this.maxEdits = maxEdits;
+            }
+
+            public Duration getRebuildInterval() {
+                return rebuildInterval;
+            }
+
+            public void setRebuildInterval(Duration rebuildInterval) {
+                this.rebuildInterval = rebuildInterval;
+            }
+        }
+    }
+
+    /**
+     * Paginated lists, such as the items, the games and the users.
+     */
+    public static class Pagination {
+
+        /**
+         * How the total count of each list is obtained, by list: {@code items}, {@code games} or {@code users}.
+         * The lists not found here are counted exactly.
+         */
+        private final Map<String, TotalCount> totalCounts = new HashMap<>();
+
+        public Map<String, TotalCount> getTotalCounts() {
+            return totalCounts;
+        }
+
+        /**
+         * Total count of a list, see {@link com.bgls.service.TotalCountService}.
+         */
+        public static class TotalCount {
+
+            /**
+             * How the total count is obtained.
+             */
+            private CountStrategy strategy = CountStrategy.EXACT;
+
+            /**
+             * Time a cached count is reused for, when not invalidated by a write to the list before.
+             */
+            private Duration timeToLive = Duration.ofSeconds(30);
+
+            /**
+             * Largest number of filter combinations whose count is cached at once.
+             */
+            private int maxCachedCounts = 1000;
+
+            /**
+             * Estimate below which the list is counted exactly, the estimates of small lists being the least accurate and
+             * their exact count cheap.
+             */
+            private long exactBelow = 10_000;
+
+            public CountStrategy getStrategy() {
+                return strategy;
+            }
+
+            public void setStrategy(CountStrategy strategy) {
+                this.strategy = strategy;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public int getMaxCachedCounts() {
+                return maxCachedCounts;
+            }
+
+            public void setMaxCachedCounts(int maxCachedCounts) {
+                this.maxCachedCounts = maxCachedCounts;
+            }
+
+            public long getExactBelow() {
+                return exactBelow;
+            }
+
+            public void setExactBelow(long exactBelow) {
+                this.exactBelow = exactBelow;
+            }
+        }
+    }
+
+    /**
+     * Connections to the database.
+     */
+    public static class Database {
+
+        /**
+         * Number of prepared statements r2dbc-postgresql keeps per connection, the least recently used being closed
+         * first: 0 prepares the statements again on each run, -1 keeps them all.
+         */
+        private int preparedStatementCacheQueries = 256;
+
+        public int getPreparedStatementCacheQueries() {
+            return preparedStatementCacheQueries;
+        }
+
+        public void setPreparedStatementCacheQueries(int preparedStatementCacheQueries) {
+            this.preparedStatementCacheQueries = preparedStatementCacheQueries;
+        }
+
+        /**
+         * Number of rendered selects the repositories keep by shape, the least recently used being rendered again on
+         * their next use: 0 renders each select on every request.
+         */
+        private int renderedSelectCacheSize = 512;
+
+        public int getRenderedSelectCacheSize() {
+            return renderedSelectCacheSize;
+        }
+
+        public void setRenderedSelectCacheSize(int renderedSelectCacheSize) {
+            this.renderedSelectCacheSize = renderedSelectCacheSize;
+        }
+    }
+
+    /**
+     * Batching of the lookups of related entities issued by a request, see {@link com.bgls.service.RelationLoader}.
+     */
+    public static class RelationLoading {
+
+        /**
+         * Time the keys requested after the first one of a batch are collected for, before it is looked up.
+         */
+        private Duration window = Duration.ofMillis(1);
+
+        /**
+         * Largest number of distinct keys looked up by a batch, which is looked up as soon as it has them.
+         */
+        private int maxBatchSize = 500;
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+
+    /**
+     * In-memory caches of the entities read far more often than written.
+     */
+    public static class Cache {
+
+        private final Consoles consoles = new Consoles();
+
+        private final Games games = new Games();
+
+        private final Users users = new Users();
+
+        private final Tokens tokens = new Tokens();
+
+        public Consoles getConsoles() {
+            return consoles;
+        }
+
+        public Games getGames() {
+            return games;
+        }
+
+        public Users getUsers() {
+            return users;
+        }
+
+        public Tokens getTokens() {
+            return tokens;
+        }
+
+        /**
+         * Snapshot of all the consoles, invalidated by their writes.
+         */
+        public static class Consoles {
+
+            /**
+             * Time the snapshot is kept for when not invalidated by a write before, bounding how long the writes of the
+             * other instances of the application go unseen.
+             */
+            private Duration timeToLive = Duration.ofMinutes(10);
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+        }
+
+        /**
+         * Games read by their detail, see {@link com.bgls.service.impl.GameServiceImpl}.
+         */
+        public static class Games {
+
+            /**
+             * Estimated memory the cached games may take, the least recently used being evicted first.
+             */
+            private DataSize maxWeight = DataSize.ofMegabytes(4);
+
+            public DataSize getMaxWeight() {
+                return maxWeight;
+            }
+
+            public void setMaxWeight(DataSize maxWeight) {
+                this.maxWeight = maxWeight;
+            }
+        }
+
+        /**
+         * Users along with their authorities, read by login or by email for each authentication and account request.
+         */
+        public static class Users {
+
+            /**
+             * Time a user is kept for when not evicted by a write before, bounding how long the writes of the other
+             * instances of the application go unseen, such as a deactivation.
+             */
+            private Duration timeToLive = Duration.ofSeconds(30);
+
+            /**
+             * Largest number of users kept by login, and by email.
+             */
+            private int maxUsers = 1000;
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public int getMaxUsers() {
+                return maxUsers;
+            }
+
+            public void setMaxUsers(int maxUsers) {
+                this.maxUsers = maxUsers;
+            }
+        }
+
+        /**
+         * JWTs whose signature and claims were verified, each kept until it expires.
+         */
+        public static class Tokens {
+
+            /**
+             * Largest number of tokens kept.
+             */
+            private int maxTokens = 10000;
+
+            public int getMaxTokens() {
+                return maxTokens;
+            }
+
+            public void setMaxTokens(int maxTokens) {
+                this.maxTokens = maxTokens;
+            }
+        }
+    }
+
+    /**
+     * Hashing of the passwords, on the threads dedicated to it, see {@link com.bgls.security.PasswordHashing}.
+     */
+    public static class PasswordHashing {
+
+        /**
+         * BCrypt cost factor of the passwords hashed; the password of a user hashed with another one is hashed again
+         * when the user logs in.
+         */
+        private int strength = 10;
+
+        /**
+         * Number of threads hashing the passwords.
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Largest number of hashings waiting for a thread, beyond which the requests are answered with the status
+         * {@code 503 (Service Unavailable)}.
+         */
+        private int maxQueued = 100;
+
+        public int getStrength() {
+            return strength;
+        }
+
+        public void setStrength(int strength) {
+            this.strength = strength;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            this.maxQueued = maxQueued;
+        }
+    }
+
     // jhipster-needle-application-properties-property-class
 }
@@ -0,0 +1,30 @@
+package com.bgls.config;
+
+import com.bgls.cache.ReadThroughCache;
+import com.bgls.service.dto.GameDTO;
+import com.bgls.service.impl.GameServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configure the caches shared by several services and the management endpoints, see {@code application.cache}.
+ */
+@Configuration
+public class CacheConfiguration {
+
+    /**
+     * The games as their detail shows them, bounded by their estimated weight in memory and invalidated by their writes
+     * and those of their console.
+     */
+    @Bean
+    public ReadThroughCache<Long, GameDTO> gameDetailCache(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new ReadThroughCache<>(
+            "games",
+            applicationProperties.getCache().getGames().getMaxWeight().toBytes(),
+            GameServiceImpl::weigh,
+            null,
+            meterRegistry
+        );
+    }
+}
@@ -1,5 +1,7 @@
 package com.bgls.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.PostgresqlConnectionFactoryProvider;
 import io.r2dbc.spi.ConnectionFactory;
 import java.time.Duration;
 import java.time.Instant;
@@ -9,6 +11,9 @@ import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.BitSet;
 import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.r2dbc.ConnectionFactoryOptionsBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.convert.converter.Converter;
@@ -44,6 +49,38 @@ public class DatabaseConfiguration {
         return R2dbcCustomConversions.of(dialect, converters);
     }
 
+    /**
+     * Bounds the prepared statements r2dbc-postgresql keeps on each connection, which it otherwise never closes.
+     */
+    @Bean
+    public ConnectionFactoryOptionsBuilderCustomizer preparedStatementCacheCustomizer(ApplicationProperties applicationProperties) {
+        int cacheQueries = applicationProperties.getDatabase().getPreparedStatementCacheQueries();
+        return builder -> builder.option(PostgresqlConnectionFactoryProvider.PREPARED_STATEMENT_CACHE_QUERIES, cacheQueries);
+    }
+
+    /**
+     * Counts the reuses of the prepared statements, see {@link StatementCacheMetricsConnectionFactory}.
+     */
+    @Bean
+    public static BeanPostProcessor statementCacheMetricsPostProcessor(
+        ObjectProvider<ApplicationProperties> applicationProperties,
+        ObjectProvider<MeterRegistry> registry
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory connectionFactory && !(bean instanceof StatementCacheMetricsConnectionFactory)) {
+                    return new StatementCacheMetricsConnectionFactory(
+                        connectionFactory,
+                        applicationProperties.getObject().getDatabase().getPreparedStatementCacheQueries(),
+                        registry.getObject()
+                    );
+                }
+                return bean;
+            }
+        };
+    }
+
     @Bean
     public R2dbcDialect dialect(ConnectionFactory connectionFactory) {
         return DialectResolver.getDialect(connectionFactory);
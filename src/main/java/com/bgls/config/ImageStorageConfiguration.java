@@ -0,0 +1,27 @@
+package com.bgls.config;
+
+import com.bgls.service.ImageStorage;
+import com.bgls.service.impl.FileSystemImageStorage;
+import java.nio.file.Path;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configure the {@link ImageStorage} selected with {@code application.images.storage.type}.
+ */
+@Configuration
+public class ImageStorageConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "application.images.storage", name = "type", havingValue = "filesystem", matchIfMissing = true)
+    public ImageStorage fileSystemImageStorage(ApplicationProperties applicationProperties) {
+        Path root = Path.of(applicationProperties.getImages().getStorage().getRoot());
+        if (!root.isAbsolute()) {
+            throw new IllegalStateException(
+                "application.images.storage.root must be the absolute path of a persistent directory, not " + root
+            );
+        }
+        return new FileSystemImageStorage(root);
+    }
+}
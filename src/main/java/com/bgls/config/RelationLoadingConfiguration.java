@@ -0,0 +1,30 @@
+package com.bgls.config;
+
+import com.bgls.domain.Authority;
+import com.bgls.repository.AuthorityRepository;
+import com.bgls.service.RelationLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configure the {@link RelationLoader}s batching the lookups of related entities, see {@code application.relation-loading}.
+ */
+@Configuration
+public class RelationLoadingConfiguration {
+
+    @Bean
+    public RelationLoader<String, Authority> authorityLoader(
+        AuthorityRepository authorityRepository,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        return new RelationLoader<>(
+            "authority",
+            authorityRepository::findAllById,
+            Authority::getName,
+            applicationProperties.getRelationLoading(),
+            meterRegistry
+        );
+    }
+}
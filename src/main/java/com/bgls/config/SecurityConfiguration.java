@@ -4,16 +4,20 @@ import static org.springframework.security.config.Customizer.withDefaults;
 import static org.springframework.security.web.server.util.matcher.ServerWebExchangeMatchers.pathMatchers;
 
 import com.bgls.security.AuthoritiesConstants;
+import com.bgls.security.PasswordHashing;
+import com.bgls.web.filter.RelationLoaderScopeWebFilter;
 import com.bgls.web.filter.SpaWebFilter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.ReactiveAuthenticationManager;
 import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
 import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.header.ReferrerPolicyServerHttpHeadersWriter;
@@ -33,17 +37,29 @@ public class SecurityConfiguration {
     }
 
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordHashing passwordHashing(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        return new PasswordHashing(applicationProperties.getPasswordHashing(), meterRegistry);
     }
 
     @Bean
-    public ReactiveAuthenticationManager reactiveAuthenticationManager(ReactiveUserDetailsService userDetailsService) {
+    public PasswordEncoder passwordEncoder(PasswordHashing passwordHashing) {
+        return passwordHashing.passwordEncoder();
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(
+        ReactiveUserDetailsService userDetailsService,
+        PasswordHashing passwordHashing
+    ) {
         UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
             userDetailsService
         );
-        authenticationManager.setPasswordEncoder(passwordEncoder());
-        return authenticationManager;
+        authenticationManager.setPasswordEncoder(passwordHashing.passwordEncoder());
+        authenticationManager.setScheduler(passwordHashing.scheduler());
+        if (userDetailsService instanceof ReactiveUserDetailsPasswordService userDetailsPasswordService) {
+            authenticationManager.setUserDetailsPasswordService(userDetailsPasswordService);
+        }
+        return authentication -> authenticationManager.authenticate(authentication).onErrorMap(PasswordHashing::busyOnRejection);
     }
 
     @Bean
@@ -57,6 +73,7 @@ public class SecurityConfiguration {
             .cors(withDefaults())
             .csrf(csrf -> csrf.disable())
             .addFilterAfter(new SpaWebFilter(), SecurityWebFiltersOrder.HTTPS_REDIRECT)
+            .addFilterAfter(new RelationLoaderScopeWebFilter(), SecurityWebFiltersOrder.HTTPS_REDIRECT)
             .headers(
                 headers ->
                     headers
@@ -85,6 +102,9 @@ public class SecurityConfiguration {
                     .pathMatchers("/api/account/reset-password/init").permitAll()
                     .pathMatchers("/api/account/reset-password/finish").permitAll()
                     .pathMatchers("/api/admin/**").hasAuthority(AuthoritiesConstants.ADMIN)
+                    // loaded by <img> tags, which cannot send the bearer token; they only hold catalogue images, served
+                    // as PNG, JPEG, GIF or WebP only, see ImageResponseUtil
+                    .pathMatchers(HttpMethod.GET, "/api/games/*/cover", "/api/consoles/*/image").permitAll()
                     .pathMatchers("/api/**").authenticated()
                     .pathMatchers("/services/**").authenticated()
                     .pathMatchers("/v3/api-docs/**").hasAuthority(AuthoritiesConstants.ADMIN)
@@ -0,0 +1,222 @@
+package com.bgls.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.Closeable;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ConnectionMetadata;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.TransactionDefinition;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+
+/**
+ * Connection factory counting how the statements it runs use the prepared statement cache of r2dbc-postgresql.
+ * <p>
+ * The driver prepares the statements with parameters on the server, and keeps the last
+ * {@code application.database.prepared-statement-cache-queries} of them per connection, so that running one again skips
+ * its parsing and planning. The statements without parameters are sent as simple queries, parsed and planned each time.
+ * As the driver does not expose its cache, this mirrors it per physical connection, and counts the statements in the
+ * {@code r2dbc.statements} counter tagged {@code cache}: {@code hit}, {@code miss}, or {@code none} without parameters.
+ */
+class StatementCacheMetricsConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Closeable {
+
+    private static final String METER_NAME = "r2dbc.statements";
+
+    private static final String CACHE_TAG = "cache";
+
+    private final ConnectionFactory delegate;
+
+    private final int cacheQueries;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter unprepared;
+
+    /**
+     * The statements cached on each physical connection, by their SQL, dropped along with the connection.
+     */
+    private final Map<Object, Map<String, Boolean>> cachedStatements = Collections.synchronizedMap(new WeakHashMap<>());
+
+    StatementCacheMetricsConnectionFactory(ConnectionFactory delegate, int cacheQueries, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.cacheQueries = cacheQueries;
+        this.hits = counter(registry, "hit", "Statements whose prepared statement was reused from the cache of the connection");
+        this.misses = counter(registry, "miss", "Statements prepared on the server as not in the cache of the connection");
+        this.unprepared = counter(registry, "none", "Statements without parameters, sent as simple queries");
+    }
+
+    private static Counter counter(MeterRegistry registry, String result, String description) {
+        return Counter.builder(METER_NAME).description(description).tag(CACHE_TAG, result).register(registry);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.from(delegate.create()).map(MeteredConnection::new);
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public Publisher<Void> close() {
+        return delegate instanceof Closeable closeable ? closeable.close() : Mono.empty();
+    }
+
+    /**
+     * Records whether running a statement on a connection reuses a prepared statement.
+     */
+    void record(Object physicalConnection, String sql) {
+        if (!sql.contains("$1")) {
+            unprepared.increment();
+            return;
+        }
+        if (cacheQueries == 0) {
+            misses.increment();
+            return;
+        }
+        Map<String, Boolean> statements = cachedStatements.computeIfAbsent(physicalConnection, connection -> newCache());
+        boolean hit;
+        synchronized (statements) {
+            hit = statements.put(sql, Boolean.TRUE) != null;
+        }
+        (hit ? hits : misses).increment();
+    }
+
+    private Map<String, Boolean> newCache() {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return cacheQueries > 0 && size() > cacheQueries;
+            }
+        };
+    }
+
+    private final class MeteredConnection implements Connection, Wrapped<Connection> {
+
+        private final Connection connection;
+
+        private final Object physicalConnection;
+
+        private MeteredConnection(Connection connection) {
+            this.connection = connection;
+            this.physicalConnection = connection instanceof Wrapped<?> wrapped ? wrapped.unwrap() : connection;
+        }
+
+        @Override
+        public Statement createStatement(String sql) {
+            record(physicalConnection, sql);
+            return connection.createStatement(sql);
+        }
+
+        @Override
+        public Connection unwrap() {
+            return connection;
+        }
+
+        @Override
+        public Publisher<Void> beginTransaction() {
+            return connection.beginTransaction();
+        }
+
+        @Override
+        public Publisher<Void> beginTransaction(TransactionDefinition definition) {
+            return connection.beginTransaction(definition);
+        }
+
+        @Override
+        public Publisher<Void> close() {
+            return connection.close();
+        }
+
+        @Override
+        public Publisher<Void> commitTransaction() {
+            return connection.commitTransaction();
+        }
+
+        @Override
+        public Batch createBatch() {
+            return connection.createBatch();
+        }
+
+        @Override
+        public Publisher<Void> createSavepoint(String name) {
+            return connection.createSavepoint(name);
+        }
+
+        @Override
+        public boolean isAutoCommit() {
+            return connection.isAutoCommit();
+        }
+
+        @Override
+        public ConnectionMetadata getMetadata() {
+            return connection.getMetadata();
+        }
+
+        @Override
+        public IsolationLevel getTransactionIsolationLevel() {
+            return connection.getTransactionIsolationLevel();
+        }
+
+        @Override
+        public Publisher<Void> releaseSavepoint(String name) {
+            return connection.releaseSavepoint(name);
+        }
+
+        @Override
+        public Publisher<Void> rollbackTransaction() {
+            return connection.rollbackTransaction();
+        }
+
+        @Override
+        public Publisher<Void> rollbackTransactionToSavepoint(String name) {
+            return connection.rollbackTransactionToSavepoint(name);
+        }
+
+        @Override
+        public Publisher<Void> setAutoCommit(boolean autoCommit) {
+            return connection.setAutoCommit(autoCommit);
+        }
+
+        @Override
+        public Publisher<Void> setLockWaitTimeout(Duration timeout) {
+            return connection.setLockWaitTimeout(timeout);
+        }
+
+        @Override
+        public Publisher<Void> setStatementTimeout(Duration timeout) {
+            return connection.setStatementTimeout(timeout);
+        }
+
+        @Override
+        public Publisher<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+            return connection.setTransactionIsolationLevel(isolationLevel);
+        }
+
+        @Override
+        public Publisher<Boolean> validate(ValidationDepth depth) {
+            return connection.validate(depth);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.bgls.config.liquibase;
+
+import com.bgls.service.ImageStorage;
+import com.bgls.service.impl.FileSystemImageStorage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import liquibase.change.custom.CustomTaskChange;
+import liquibase.database.Database;
+import liquibase.database.jvm.JdbcConnection;
+import liquibase.exception.CustomChangeException;
+import liquibase.exception.ValidationErrors;
+import liquibase.resource.ResourceAccessor;
+
+/**
+ * Liquibase change moving the images stored in a {@code bytea} column to the {@link FileSystemImageStorage}, and filling
+ * the column holding their hash along the way.
+ * <p>
+ * The rows are read {@value #BATCH_SIZE} at a time, in the order of their ids, so that the images of a single batch only
+ * are held in memory. Running it again is harmless: the images already stored are found by their hash.
+ * <p>
+ * The change fails before moving anything unless the root of the storage is an absolute path to a writable directory,
+ * which must be persistent: the column is then the only other copy of the images.
+ */
+public class MoveImagesToStorageChange implements CustomTaskChange {
+
+    private static final int BATCH_SIZE = 50;
+
+    private String tableName;
+
+    private String columnName;
+
+    private String hashColumnName;
+
+    private String root;
+
+    private int movedCount;
+
+    @Override
+    public void execute(Database database) throws CustomChangeException {
+        Path rootPath = Path.of(root);
+        checkWritable(rootPath);
+        ImageStorage imageStorage = new FileSystemImageStorage(rootPath);
+        Connection connection = ((JdbcConnection) database.getConnection()).getUnderlyingConnection();
+        String select =
+            "SELECT id, " + columnName + " FROM " + tableName + " WHERE " + columnName + " IS NOT NULL AND id > ? ORDER BY id LIMIT ?";
+        String update = "UPDATE " + tableName + " SET " + hashColumnName + " = ? WHERE id = ?";
+        try (PreparedStatement selectStatement = connection.prepareStatement(select);
+            PreparedStatement updateStatement = connection.prepareStatement(update)) {
+            long lastId = 0;
+            int batchCount;
+            do {
+                batchCount = 0;
+                selectStatement.setLong(1, lastId);
+                selectStatement.setInt(2, BATCH_SIZE);
+                try (ResultSet resultSet = selectStatement.executeQuery()) {
+                    while (resultSet.next()) {
+                        lastId = resultSet.getLong(1);
+                        updateStatement.setString(1, imageStorage.store(resultSet.getBytes(2)).block());
+                        updateStatement.setLong(2, lastId);
+                        updateStatement.addBatch();
+                        batchCount++;
+                    }
+                }
+                updateStatement.executeBatch();
+                movedCount += batchCount;
+            } while (batchCount == BATCH_SIZE);
+        } catch (SQLException | RuntimeException e) {
+            throw new CustomChangeException("Could not move the images of " + tableName + "." + columnName + " to " + root, e);
+        }
+    }
+
+    private static void checkWritable(Path root) throws CustomChangeException {
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new CustomChangeException("Could not create the image storage directory " + root, e);
+        }
+        if (!Files.isWritable(root)) {
+            throw new CustomChangeException("The image storage directory " + root + " is not writable");
+        }
+    }
+
+    @Override
+    public String getConfirmationMessage() {
+        return "Moved " + movedCount + " images of " + tableName + "." + columnName + " to " + root;
+    }
+
+    @Override
+    public void setUp() {
+        // nothing to set up
+    }
+
+    @Override
+    public void setFileOpener(ResourceAccessor resourceAccessor) {
+        // no resources needed
+    }
+
+    @Override
+    public ValidationErrors validate(Database database) {
+        ValidationErrors errors = new ValidationErrors();
+        errors.checkRequiredField("tableName", tableName);
+        errors.checkRequiredField("columnName", columnName);
+        errors.checkRequiredField("hashColumnName", hashColumnName);
+        errors.checkRequiredField("root", root);
+        if (root != null && !Path.of(root).isAbsolute()) {
+            errors.addError("root must be the absolute path of a persistent directory, not " + root);
+        }
+        return errors;
+    }
+
+    public void setTableName(String tableName) {
+        this.tableName = tableName;
+    }
+
+    public void setColumnName(String columnName) {
+        this.columnName = columnName;
+    }
+
+    public void setHashColumnName(String hashColumnName) {
+        this.hashColumnName = hashColumnName;
+    }
+
+    public void setRoot(String root) {
+        this.root = root;
+    }
+}
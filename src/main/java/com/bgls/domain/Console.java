@@ -1,5 +1,6 @@
 package com.bgls.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -27,12 +28,22 @@ public class Console implements Serializable {
     @Column("name")
     private String name;
 
-    @Column("image")
+    /**
+     * An image sent along with the console, on its way to the {@link com.bgls.service.ImageStorage}: it is not read back.
+     */
+    @Transient
     private byte[] image;
 
     @Column("image_content_type")
     private String imageContentType;
 
+    /**
+     * SHA-256 of the image, hex encoded: the key of the image in the {@link com.bgls.service.ImageStorage}.
+     */
+    @JsonIgnore
+    @Column("image_hash")
+    private String imageHash;
+
     @Transient
     @JsonIgnoreProperties(value = { "console", "items" }, allowSetters = true)
     private Set<Game> games = new HashSet<>();
@@ -91,6 +102,29 @@ public class Console implements Serializable {
         this.imageContentType = imageContentType;
     }
 
+    public String getImageHash() {
+        return this.imageHash;
+    }
+
+    public Console imageHash(String imageHash) {
+        this.setImageHash(imageHash);
+        return this;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    /**
+     * @return the URL serving the image of this console, versioned by its hash, or {@code null} if it has none.
+     */
+    public String getImageUrl() {
+        if (this.id == null || (this.imageHash == null && this.image == null)) {
+            return null;
+        }
+        return "api/consoles/" + this.id + "/image" + (this.imageHash != null ? "?v=" + this.imageHash : "");
+    }
+
     public Set<Game> getGames() {
         return this.games;
     }
@@ -1,5 +1,6 @@
 package com.bgls.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -27,12 +28,22 @@ public class Game implements Serializable {
     @Column("name")
     private String name;
 
-    @Column("cover")
+    /**
+     * A cover sent along with the game, on its way to the {@link com.bgls.service.ImageStorage}: it is not read back.
+     */
+    @Transient
     private byte[] cover;
 
     @Column("cover_content_type")
     private String coverContentType;
 
+    /**
+     * SHA-256 of the cover, hex encoded: the key of the cover in the {@link com.bgls.service.ImageStorage}.
+     */
+    @JsonIgnore
+    @Column("cover_hash")
+    private String coverHash;
+
     @Transient
     @JsonIgnoreProperties(value = { "games" }, allowSetters = true)
     private Console console;
@@ -99,6 +110,29 @@ public class Game implements Serializable {
         this.coverContentType = coverContentType;
     }
 
+    public String getCoverHash() {
+        return this.coverHash;
+    }
+
+    public Game coverHash(String coverHash) {
+        this.setCoverHash(coverHash);
+        return this;
+    }
+
+    public void setCoverHash(String coverHash) {
+        this.coverHash = coverHash;
+    }
+
+    /**
+     * @return the URL serving the cover of this game, versioned by its hash, or {@code null} if it has none.
+     */
+    public String getCoverUrl() {
+        if (this.id == null || (this.coverHash == null && this.cover == null)) {
+            return null;
+        }
+        return "api/games/" + this.id + "/cover" + (this.coverHash != null ? "?v=" + this.coverHash : "");
+    }
+
     public Console getConsole() {
         return this.console;
     }
@@ -0,0 +1,153 @@
+package com.bgls.domain;
+
+import java.io.Serializable;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * A thumbnail of the cover of a {@link Game}, generated from it in one of the configured sizes.
+ */
+@Table("game_cover_thumbnail")
+public class GameCoverThumbnail implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("game_id")
+    private Long gameId;
+
+    /**
+     * The largest dimension of the thumbnail, in pixels, or 0 for the row without hash recording that the cover gives no
+     * thumbnail.
+     */
+    @Column("size")
+    private Integer size;
+
+    /**
+     * The hash of the thumbnail, which is its key in the {@link com.bgls.service.ImageStorage}, or {@code null} for the
+     * row recording that the cover gives no thumbnail.
+     */
+    @Column("hash")
+    private String hash;
+
+    @Column("content_type")
+    private String contentType;
+
+    /**
+     * The {@link Game#getCoverHash() hash} of the cover this thumbnail was generated from.
+     */
+    @Column("source_hash")
+    private String sourceHash;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public GameCoverThumbnail id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getGameId() {
+        return this.gameId;
+    }
+
+    public GameCoverThumbnail gameId(Long gameId) {
+        this.setGameId(gameId);
+        return this;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public Integer getSize() {
+        return this.size;
+    }
+
+    public GameCoverThumbnail size(Integer size) {
+        this.setSize(size);
+        return this;
+    }
+
+    public void setSize(Integer size) {
+        this.size = size;
+    }
+
+    public String getHash() {
+        return this.hash;
+    }
+
+    public GameCoverThumbnail hash(String hash) {
+        this.setHash(hash);
+        return this;
+    }
+
+    public void setHash(String hash) {
+        this.hash = hash;
+    }
+
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    public GameCoverThumbnail contentType(String contentType) {
+        this.setContentType(contentType);
+        return this;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getSourceHash() {
+        return this.sourceHash;
+    }
+
+    public GameCoverThumbnail sourceHash(String sourceHash) {
+        this.setSourceHash(sourceHash);
+        return this;
+    }
+
+    public void setSourceHash(String sourceHash) {
+        this.sourceHash = sourceHash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GameCoverThumbnail)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((GameCoverThumbnail) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GameCoverThumbnail{" +
+            "id=" + getId() +
+            ", gameId=" + getGameId() +
+            ", size=" + getSize() +
+            ", hash='" + getHash() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", sourceHash='" + getSourceHash() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,131 @@
+package com.bgls.domain.criteria;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Filters of the {@link com.bgls.domain.Item} listing, as received by {@link com.bgls.web.rest.ItemResource}.
+ * Every filter is optional; a {@code null} value means the listing is not restricted on that field.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ItemFilter implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long ownerId;
+
+    private Long lendedToId;
+
+    private Long gameId;
+
+    private String gameName;
+
+    private Long consoleId;
+
+    public Long getOwnerId() {
+        return ownerId;
+    }
+
+    public ItemFilter ownerId(Long ownerId) {
+        this.setOwnerId(ownerId);
+        return this;
+    }
+
+    public void setOwnerId(Long ownerId) {
+        this.ownerId = ownerId;
+    }
+
+    public Long getLendedToId() {
+        return lendedToId;
+    }
+
+    public ItemFilter lendedToId(Long lendedToId) {
+        this.setLendedToId(lendedToId);
+        return this;
+    }
+
+    public void setLendedToId(Long lendedToId) {
+        this.lendedToId = lendedToId;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public ItemFilter gameId(Long gameId) {
+        this.setGameId(gameId);
+        return this;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public String getGameName() {
+        return gameName;
+    }
+
+    public ItemFilter gameName(String gameName) {
+        this.setGameName(gameName);
+        return this;
+    }
+
+    public void setGameName(String gameName) {
+        this.gameName = gameName;
+    }
+
+    public Long getConsoleId() {
+        return consoleId;
+    }
+
+    public ItemFilter consoleId(Long consoleId) {
+        this.setConsoleId(consoleId);
+        return this;
+    }
+
+    public void setConsoleId(Long consoleId) {
+        this.consoleId = consoleId;
+    }
+
+    /**
+     * @return whether the filter needs the game of the item to be joined.
+     */
+    public boolean filtersOnGame() {
+        return gameName != null || consoleId != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final ItemFilter that = (ItemFilter) o;
+        return (
+            Objects.equals(ownerId, that.ownerId) &&
+            Objects.equals(lendedToId, that.lendedToId) &&
+            Objects.equals(gameId, that.gameId) &&
+            Objects.equals(gameName, that.gameName) &&
+            Objects.equals(consoleId, that.consoleId)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(ownerId, lendedToId, gameId, gameName, consoleId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ItemFilter{" +
+            "ownerId=" + getOwnerId() +
+            ", lendedToId=" + getLendedToId() +
+            ", gameId=" + getGameId() +
+            ", gameName='" + getGameName() + "'" +
+            ", consoleId=" + getConsoleId() +
+            "}";
+    }
+}
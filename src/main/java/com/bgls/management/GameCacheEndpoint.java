@@ -0,0 +1,32 @@
+package com.bgls.management;
+
+import com.bgls.cache.ReadThroughCache;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Management endpoint of the cache of the games read by their detail: {@code GET /management/gamecache} shows its
+ * statistics, and {@code DELETE /management/gamecache} flushes it.
+ */
+@Component
+@Endpoint(id = "gamecache")
+public class GameCacheEndpoint {
+
+    private final ReadThroughCache<?, ?> gameDetailCache;
+
+    public GameCacheEndpoint(ReadThroughCache<?, ?> gameDetailCache) {
+        this.gameDetailCache = gameDetailCache;
+    }
+
+    @ReadOperation
+    public ReadThroughCache.Stats stats() {
+        return gameDetailCache.stats();
+    }
+
+    @DeleteOperation
+    public void flush() {
+        gameDetailCache.invalidateAll();
+    }
+}
@@ -0,0 +1,131 @@
+package com.bgls.repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.relational.core.sql.BindMarker;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.SQL;
+import tech.jhipster.service.filter.Filter;
+import tech.jhipster.service.filter.RangeFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Builds the where clause of JHipster criteria as {@link tech.jhipster.service.ConditionBuilder} does, but with every
+ * value passed as a bind parameter rather than inlined as a literal.
+ * <p>
+ * Criteria differing only by their values therefore render the same SQL, which {@link #getShape()} identifies for
+ * {@link EntityManager#createSelect(Object, java.util.function.Supplier, Class, org.springframework.data.domain.Pageable,
+ * java.util.function.Supplier)} to cache it.
+ */
+class BoundConditionBuilder {
+
+    private enum Operator {
+        EQUALS,
+        NOT_EQUALS,
+        IN,
+        NOT_IN,
+        SPECIFIED,
+        NOT_SPECIFIED,
+        GREATER_THAN,
+        LESS_THAN,
+        GREATER_THAN_OR_EQUAL,
+        LESS_THAN_OR_EQUAL,
+        CONTAINS,
+        DOES_NOT_CONTAIN,
+    }
+
+    private record Predicate(Column column, Operator operator, String marker) {}
+
+    /**
+     * One predicate of the where clause, without its value.
+     */
+    private record PredicateShape(String column, Operator operator) {}
+
+    private final List<Predicate> predicates = new ArrayList<>();
+    private final List<PredicateShape> shape = new ArrayList<>();
+    private final Map<String, Object> bindings = new LinkedHashMap<>();
+
+    /**
+     * Adds the predicates of the set operations of a filter on a column.
+     */
+    void buildFilterConditionForField(Filter<?> filter, Column column) {
+        add(column, Operator.EQUALS, filter.getEquals());
+        add(column, Operator.NOT_EQUALS, filter.getNotEquals());
+        if (filter.getIn() != null && !filter.getIn().isEmpty()) {
+            add(column, Operator.IN, filter.getIn());
+        }
+        if (filter.getNotIn() != null && !filter.getNotIn().isEmpty()) {
+            add(column, Operator.NOT_IN, filter.getNotIn());
+        }
+        if (filter.getSpecified() != null) {
+            add(column, filter.getSpecified() ? Operator.SPECIFIED : Operator.NOT_SPECIFIED, null);
+        }
+        if (filter instanceof RangeFilter<?> range) {
+            add(column, Operator.GREATER_THAN, range.getGreaterThan());
+            add(column, Operator.LESS_THAN, range.getLessThan());
+            add(column, Operator.GREATER_THAN_OR_EQUAL, range.getGreaterThanOrEqual());
+            add(column, Operator.LESS_THAN_OR_EQUAL, range.getLessThanOrEqual());
+        } else if (filter instanceof StringFilter string) {
+            add(column, Operator.CONTAINS, string.getContains());
+            add(column, Operator.DOES_NOT_CONTAIN, string.getDoesNotContain());
+        }
+    }
+
+    /**
+     * @return the conjunction of the predicates, or {@code null} if there is none.
+     */
+    Condition buildConditions() {
+        return predicates.stream().map(BoundConditionBuilder::toCondition).reduce(Condition::and).orElse(null);
+    }
+
+    /**
+     * @return the values of the bind markers of the predicates.
+     */
+    Map<String, Object> getBindings() {
+        return Collections.unmodifiableMap(bindings);
+    }
+
+    /**
+     * @return the columns and operations of the predicates, equal for all the criteria rendering the same where clause.
+     */
+    List<?> getShape() {
+        return List.copyOf(shape);
+    }
+
+    private void add(Column column, Operator operator, Object value) {
+        boolean unary = operator == Operator.SPECIFIED || operator == Operator.NOT_SPECIFIED;
+        if (value == null && !unary) {
+            return;
+        }
+        String marker = "criterion" + predicates.size();
+        predicates.add(new Predicate(column, operator, marker));
+        shape.add(new PredicateShape(column.getTable().getReferenceName() + "." + column.getReferenceName(), operator));
+        if (!unary) {
+            bindings.put(marker, value);
+        }
+    }
+
+    private static Condition toCondition(Predicate predicate) {
+        Column column = predicate.column();
+        BindMarker value = SQL.bindMarker(":" + predicate.marker());
+        return switch (predicate.operator()) {
+            case EQUALS -> Conditions.isEqual(column, value);
+            case NOT_EQUALS -> Conditions.isNotEqual(column, value);
+            case IN -> Conditions.in(column, value);
+            case NOT_IN -> Conditions.notIn(column, value);
+            case SPECIFIED -> Conditions.isNull(column).not();
+            case NOT_SPECIFIED -> Conditions.isNull(column);
+            case GREATER_THAN -> Conditions.isGreater(column, value);
+            case LESS_THAN -> Conditions.isLess(column, value);
+            case GREATER_THAN_OR_EQUAL -> Conditions.isGreaterOrEqualTo(column, value);
+            case LESS_THAN_OR_EQUAL -> Conditions.isLessOrEqualTo(column, value);
+            case CONTAINS -> Conditions.like(column, value);
+            case DOES_NOT_CONTAIN -> Conditions.notLike(column, value);
+        };
+    }
+}
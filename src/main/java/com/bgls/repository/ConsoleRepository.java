@@ -1,7 +1,10 @@
 package com.bgls.repository;
 
 import com.bgls.domain.Console;
+import java.util.Collection;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -13,6 +16,13 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("unused")
 @Repository
 public interface ConsoleRepository extends ReactiveCrudRepository<Console, Long>, ConsoleRepositoryInternal {
+    @Query("SELECT entity.id, entity.image_content_type, entity.image_hash FROM console entity WHERE entity.id = :id")
+    Mono<Console> findImageById(Long id);
+
+    @Modifying
+    @Query("UPDATE console SET image_content_type = :imageContentType, image_hash = :imageHash WHERE id = :id")
+    Mono<Integer> updateImage(Long id, String imageContentType, String imageHash);
+
     @Override
     <S extends Console> Mono<S> save(S entity);
 
@@ -34,6 +44,8 @@ interface ConsoleRepositoryInternal {
     Flux<Console> findAll();
 
     Mono<Console> findById(Long id);
+
+    Flux<Console> findAllByIds(Collection<Long> ids);
     // this is not supported at the moment because of https://github.com/jhipster/generator-jhipster/issues/18269
     // Flux<Console> findAllBy(Pageable pageable, Criteria criteria);
 }
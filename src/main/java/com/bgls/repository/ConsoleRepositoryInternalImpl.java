@@ -2,18 +2,17 @@ package com.bgls.repository;
 
 import com.bgls.domain.Console;
 import com.bgls.repository.rowmapper.ConsoleRowMapper;
-import io.r2dbc.spi.Row;
-import io.r2dbc.spi.RowMetadata;
-import java.util.List;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Supplier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
-import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
-import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -57,15 +56,23 @@ class ConsoleRepositoryInternalImpl extends SimpleR2dbcRepository<Console, Long>
 
     @Override
     public Flux<Console> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, () -> null, Map.of()).all();
     }
 
-    RowsFetchSpec<Console> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = ConsoleSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+    /**
+     * @param query the shape of the select, identifying its SQL once rendered.
+     * @param whereClause builds the where clause, whose values are all bind markers.
+     */
+    RowsFetchSpec<Console> createQuery(Object query, Pageable pageable, Supplier<Condition> whereClause, Map<String, Object> bindings) {
+        Supplier<SelectFromAndJoin> selectFrom = () ->
+            Select.builder().select(ConsoleSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS)).from(entityTable);
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Console.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        String select = entityManager.createSelect(query, selectFrom, Console.class, pageable, whereClause);
+        DatabaseClient.GenericExecuteSpec spec = EntityManager.bindPage(db.sql(select), pageable);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(consoleMapper.withPrefix("e"));
     }
 
     @Override
@@ -75,13 +82,21 @@ class ConsoleRepositoryInternalImpl extends SimpleR2dbcRepository<Console, Long>
 
     @Override
     public Mono<Console> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Supplier<Condition> whereClause = () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("findById", null, whereClause, Map.of("id", id)).one();
     }
 
-    private Console process(Row row, RowMetadata metadata) {
-        Console entity = consoleMapper.apply(row, "e");
-        return entity;
+    /**
+     * Consoles with the given ids, looked up by batches of {@value EntityManager#ID_BATCH_SIZE}, in the order of the ids.
+     */
+    @Override
+    public Flux<Console> findAllByIds(Collection<Long> ids) {
+        Supplier<Condition> whereClause = () -> EntityManager.idIsAny(entityTable.column("id"));
+        return EntityManager.findAllByIds(
+            ids,
+            batch -> createQuery("findAllByIds", null, whereClause, Map.of(EntityManager.IDS_MARKER, batch)).all(),
+            Console::getId
+        );
     }
 
     @Override
@@ -1,9 +1,16 @@
 package com.bgls.repository;
 
+import com.bgls.config.ApplicationProperties;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
@@ -13,18 +20,24 @@ import org.springframework.data.relational.core.mapping.RelationalPersistentEnti
 import org.springframework.data.relational.core.query.Criteria;
 import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
 import org.springframework.data.relational.core.sql.OrderByField;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.Parameter;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
 /**
  * Helper class to create SQL selects based on the entity, paging parameters and criteria.
@@ -35,6 +48,24 @@ public class EntityManager {
 
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
+    public static final String TOTAL_COUNT_ALIAS = "total_count";
+    public static final String LIMIT_MARKER = "limit";
+    public static final String OFFSET_MARKER = "offset";
+    public static final String IDS_MARKER = "ids";
+
+    /**
+     * Largest number of ids looked up by a single {@link #idIsAny(Column)} statement.
+     */
+    public static final int ID_BATCH_SIZE = 500;
+
+    /**
+     * Identifies the SQL rendered for a select.
+     * @param entityType the entity type whose properties the sort is on, or null if the select orders its rows itself.
+     * @param query the shape of the select as a value: its joins and the filters of its where clause, but not their values.
+     * @param sort the sort of the select.
+     * @param paged whether the select is limited to a page, see {@link #bindPage(DatabaseClient.GenericExecuteSpec, Pageable)}.
+     */
+    private record SelectShape(Class<?> entityType, Object query, Sort sort, boolean paged) {}
 
     public static class LinkTable {
 
@@ -56,12 +87,20 @@ public class EntityManager {
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final RenderedSelectCache renderedSelects;
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
+        this.renderedSelects = new RenderedSelectCache(applicationProperties.getDatabase().getRenderedSelectCacheSize(), meterRegistry);
     }
 
     /**
@@ -128,6 +167,70 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Creates an SQL select statement of the given shape, only building and rendering it the first time the shape is used.
+     * All the values of the select must be bind parameters, including the page, whose values {@link #bindPage} binds.
+     * @param query the shape of the select, such as the name of the repository method along with the filters it has.
+     * @param selectFrom builds a representation of the select statement, without its where clause and sort.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param where builds the condition to apply as where clause, or returns null.
+     * @return sql select statement
+     */
+    public String createSelect(
+        Object query,
+        Supplier<? extends SelectWhere> selectFrom,
+        Class<?> entityType,
+        Pageable pageable,
+        Supplier<Condition> where
+    ) {
+        Sort sort = pageable != null ? pageable.getSort() : Sort.unsorted();
+        boolean paged = pageable != null && pageable.isPaged();
+        return renderedSelects.get(new SelectShape(entityType, query, sort, paged), () -> {
+            SelectWhere select = selectFrom.get();
+            Condition condition = where.get();
+            String sql = createSelectImpl(condition != null ? select.where(condition) : select, entityType, sort);
+            return paged ? withPage(sql) : sql;
+        });
+    }
+
+    /**
+     * Creates an SQL select statement of the given shape, only building and rendering it the first time the shape is used.
+     * All the values of the select must be bind parameters, including the page, whose values {@link #bindPage} binds.
+     * @param query the shape of the select, such as the name of the repository method along with the filters it has.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param select builds a representation of the select statement, sorted as the page but without limit and offset.
+     * @return sql select statement
+     */
+    public String createSelect(Object query, Pageable pageable, Supplier<Select> select) {
+        Sort sort = pageable != null ? pageable.getSort() : Sort.unsorted();
+        boolean paged = pageable != null && pageable.isPaged();
+        return renderedSelects.get(new SelectShape(null, query, sort, paged), () -> {
+            String sql = createSelect(select.get());
+            return paged ? withPage(sql) : sql;
+        });
+    }
+
+    /**
+     * Binds the limit and offset of a select created as paged by {@link #createSelect(Object, Pageable, Supplier)}.
+     * @param spec the select to execute.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @return the select, with the page bound.
+     */
+    public static DatabaseClient.GenericExecuteSpec bindPage(DatabaseClient.GenericExecuteSpec spec, Pageable pageable) {
+        if (pageable == null || pageable.isUnpaged()) {
+            return spec;
+        }
+        return spec.bind(LIMIT_MARKER, pageable.getPageSize()).bind(OFFSET_MARKER, pageable.getOffset());
+    }
+
+    /**
+     * Limits a rendered select to a page, as the PostgreSQL dialect renders it, but with bound values.
+     */
+    private static String withPage(String sql) {
+        return sql + " LIMIT :" + LIMIT_MARKER + " OFFSET :" + OFFSET_MARKER;
+    }
+
     /**
      * Generate an actual SQL from the given {@link Select}.
      * @param select a representation of a select statement.
@@ -258,6 +361,66 @@ public class EntityManager {
         );
     }
 
+    /**
+     * Creates a column holding, on every row, the number of rows the select would return without its limit and offset,
+     * so that a page and its total count are read by a single statement.
+     * @return the {@code COUNT(*) OVER ()} window function, aliased {@value #TOTAL_COUNT_ALIAS}.
+     */
+    public static Expression totalCountColumn() {
+        return Expressions.just("COUNT(*) OVER () AS " + TOTAL_COUNT_ALIAS);
+    }
+
+    /**
+     * Collects the rows of a select holding the {@link #totalCountColumn()} into a page.
+     * @param rows the entities read from the rows, each with the total count of its row.
+     * @param pageable the page which was read.
+     * @param count counts the rows when the page is past the last one, and holds no row to read the total count from.
+     * @param <T> the entity type.
+     * @return the page.
+     */
+    public static <T> Mono<Page<T>> collectPage(Flux<Tuple2<T, Long>> rows, Pageable pageable, Mono<Long> count) {
+        return rows
+            .collectList()
+            .flatMap(read -> {
+                List<T> content = read.stream().map(Tuple2::getT1).toList();
+                if (!read.isEmpty()) {
+                    return Mono.just(new PageImpl<>(content, pageable, read.get(0).getT2()));
+                }
+                if (pageable.isPaged() && pageable.getOffset() > 0) {
+                    return count.map(total -> new PageImpl<>(content, pageable, total));
+                }
+                return Mono.just(new PageImpl<>(content, pageable, 0));
+            });
+    }
+
+    /**
+     * Creates the condition on the id column matching any of the ids bound to {@value #IDS_MARKER} as a single array, so
+     * that the statement is the same whatever the number of ids, see {@link #findAllByIds(Collection, Function, Function)}.
+     * @param idColumn the id column.
+     * @return the {@code = ANY(:ids)} condition.
+     */
+    public static Condition idIsAny(Column idColumn) {
+        String column = idColumn.getTable().getReferenceName() + "." + idColumn.getReferenceName();
+        return Conditions.just(column + " = ANY(:" + IDS_MARKER + ")");
+    }
+
+    /**
+     * Looks up entities by id, {@value #ID_BATCH_SIZE} ids at most per statement, and returns them in the order of the ids.
+     * @param ids the ids to look up, in the order of the caller.
+     * @param lookUp runs the statement selecting the entities whose id is in the given array, see {@link #idIsAny(Column)}.
+     * @param idOf reads the id of an entity.
+     * @param <T> the entity type.
+     * @return the entities in the order of the ids, the missing ones being skipped and each being returned once.
+     */
+    public static <T> Flux<T> findAllByIds(Collection<Long> ids, Function<Long[], Flux<T>> lookUp, Function<T, Long> idOf) {
+        List<Long> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        return Flux.fromIterable(distinctIds)
+            .buffer(ID_BATCH_SIZE)
+            .concatMap(batch -> lookUp.apply(batch.toArray(Long[]::new)))
+            .collectMap(idOf)
+            .flatMapIterable(byId -> distinctIds.stream().map(byId::get).filter(Objects::nonNull).toList());
+    }
+
     /**
      * Converts a camel case string to snake case.
      *
@@ -0,0 +1,65 @@
+package com.bgls.repository;
+
+import com.bgls.domain.GameCoverThumbnail;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the GameCoverThumbnail entity.
+ * <p>
+ * The thumbnails themselves are kept in the {@link com.bgls.service.ImageStorage}, the rows only holding their hash. A
+ * thumbnail is only read while its source hash matches the hash of the current cover of its game. A cover giving no
+ * thumbnail is recorded by a row of size 0 without hash, which is never read as a thumbnail.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface GameCoverThumbnailRepository extends ReactiveCrudRepository<GameCoverThumbnail, Long> {
+    /**
+     * Finds the smallest up-to-date thumbnail of a game which is at least as large as the requested size.
+     */
+    @Query(
+        "SELECT entity.* FROM game_cover_thumbnail entity JOIN game game ON game.id = entity.game_id " +
+        "AND game.cover_hash = entity.source_hash WHERE entity.game_id = :gameId AND entity.size >= :size " +
+        "AND entity.hash IS NOT NULL ORDER BY entity.size LIMIT 1"
+    )
+    Mono<GameCoverThumbnail> findFittingThumbnail(Long gameId, int size);
+
+    @Modifying
+    @Query(
+        "INSERT INTO game_cover_thumbnail (game_id, size, hash, content_type, source_hash) " +
+        "VALUES (:gameId, :size, :hash, :contentType, :sourceHash) ON CONFLICT (game_id, size) DO UPDATE " +
+        "SET hash = EXCLUDED.hash, content_type = EXCLUDED.content_type, source_hash = EXCLUDED.source_hash"
+    )
+    Mono<Integer> upsert(Long gameId, int size, String hash, String contentType, String sourceHash);
+
+    /**
+     * Records that the given cover of a game gives no thumbnail, so that it is not processed again.
+     */
+    @Modifying
+    @Query(
+        "INSERT INTO game_cover_thumbnail (game_id, size, hash, content_type, source_hash) " +
+        "VALUES (:gameId, 0, NULL, NULL, :sourceHash) ON CONFLICT (game_id, size) DO UPDATE SET source_hash = EXCLUDED.source_hash"
+    )
+    Mono<Integer> markWithoutThumbnails(Long gameId, String sourceHash);
+
+    /**
+     * Deletes the thumbnails of a game which were not generated from the given cover, including every thumbnail when it is {@code null}.
+     */
+    @Modifying
+    @Query("DELETE FROM game_cover_thumbnail WHERE game_id = :gameId AND source_hash IS DISTINCT FROM :sourceHash")
+    Mono<Integer> deleteOutdated(Long gameId, String sourceHash);
+
+    /**
+     * Finds, in id order, the games after {@code afterId} having a cover neither processed nor giving a thumbnail.
+     */
+    @Query(
+        "SELECT game.id FROM game game WHERE game.cover_hash IS NOT NULL AND game.id > :afterId AND NOT EXISTS " +
+        "(SELECT 1 FROM game_cover_thumbnail entity WHERE entity.game_id = game.id AND entity.source_hash = game.cover_hash) " +
+        "ORDER BY game.id LIMIT :limit"
+    )
+    Flux<Long> findGameIdsWithoutThumbnails(long afterId, int limit);
+}
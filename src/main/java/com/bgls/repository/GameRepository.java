@@ -2,7 +2,10 @@ package com.bgls.repository;
 
 import com.bgls.domain.Game;
 import com.bgls.domain.criteria.GameCriteria;
+import java.util.Collection;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
@@ -32,6 +35,13 @@ public interface GameRepository extends ReactiveCrudRepository<Game, Long>, Game
     @Query("SELECT * FROM game entity WHERE entity.console_id IS NULL")
     Flux<Game> findAllWhereConsoleIsNull();
 
+    @Query("SELECT entity.id, entity.cover_content_type, entity.cover_hash FROM game entity WHERE entity.id = :id")
+    Mono<Game> findCoverById(Long id);
+
+    @Modifying
+    @Query("UPDATE game SET cover_content_type = :coverContentType, cover_hash = :coverHash WHERE id = :id")
+    Mono<Integer> updateCover(Long id, String coverContentType, String coverHash);
+
     @Override
     <S extends Game> Mono<S> save(S entity);
 
@@ -54,17 +64,25 @@ interface GameRepositoryInternal {
 
     Mono<Game> findById(Long id);
 
+    Flux<Game> findAllByIds(Collection<Long> ids);
+
     Flux<Game> findByCriteria(GameCriteria criteria, Pageable pageable);
 
+    Flux<Game> findByCriteria(GameCriteria criteria, Pageable pageable, SeekCursor after);
+
+    Mono<Page<Game>> findPageByCriteria(GameCriteria criteria, Pageable pageable);
+
     Mono<Long> countByCriteria(GameCriteria criteria);
 
+    Mono<Long> estimateCountByCriteria(GameCriteria criteria);
+
     Mono<Game> findOneWithEagerRelationships(Long id);
 
     Flux<Game> findAllWithEagerRelationships();
 
     Flux<Game> findAllWithEagerRelationships(Pageable page);
 
-    Flux<Game> findByNameContainingIgnoreCaseWithEagerRelationships(String name);
+    Flux<Game> searchByName(String term, Long consoleId, int limit);
 
     Mono<Void> deleteById(Long id);
 }
@@ -1,15 +1,21 @@
 package com.bgls.repository;
 
+import com.bgls.domain.Console;
 import com.bgls.domain.Game;
 import com.bgls.domain.criteria.GameCriteria;
-import com.bgls.repository.rowmapper.ColumnConverter;
 import com.bgls.repository.rowmapper.ConsoleRowMapper;
 import com.bgls.repository.rowmapper.GameRowMapper;
 import com.bgls.service.AliasesUtil;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
-import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -17,13 +23,16 @@ import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.repository.support.SimpleR2dbcRepository;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
 import org.springframework.data.relational.core.sql.*;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import tech.jhipster.service.ConditionBuilder;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Spring Data R2DBC custom repository implementation for the Game entity.
@@ -37,7 +46,7 @@ class GameRepositoryInternalImpl extends SimpleR2dbcRepository<Game, Long> imple
 
     private final ConsoleRowMapper consoleMapper;
     private final GameRowMapper gameMapper;
-    private final ColumnConverter columnConverter;
+    private final RowCountEstimator rowCountEstimator;
 
     private static final Table entityTable = Table.aliased(AliasesUtil.GAME, EntityManager.ENTITY_ALIAS);
     private static final Table consoleTable = Table.aliased(AliasesUtil.CONSOLE, AliasesUtil.CONSOLE);
@@ -49,7 +58,7 @@ class GameRepositoryInternalImpl extends SimpleR2dbcRepository<Game, Long> imple
         GameRowMapper gameMapper,
         R2dbcEntityOperations entityOperations,
         R2dbcConverter converter,
-        ColumnConverter columnConverter
+        RowCountEstimator rowCountEstimator
     ) {
         super(
             new MappingRelationalEntityInformation<>(
@@ -63,26 +72,43 @@ class GameRepositoryInternalImpl extends SimpleR2dbcRepository<Game, Long> imple
         this.entityManager = entityManager;
         this.consoleMapper = consoleMapper;
         this.gameMapper = gameMapper;
-        this.columnConverter = columnConverter;
+        this.rowCountEstimator = rowCountEstimator;
     }
 
     @Override
     public Flux<Game> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, () -> null, Map.of()).all();
     }
 
-    RowsFetchSpec<Game> createQuery(Pageable pageable, Condition whereClause) {
+    /**
+     * @param query the shape of the select, identifying its SQL once rendered.
+     * @param whereClause builds the where clause, whose values are all bind markers.
+     */
+    RowsFetchSpec<Game> createQuery(Object query, Pageable pageable, Supplier<Condition> whereClause, Map<String, Object> bindings) {
+        String select = entityManager.createSelect(query, () -> selectFrom(columns()), Game.class, pageable, whereClause);
+        return bind(EntityManager.bindPage(db.sql(select), pageable), bindings).map(process());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, Map<String, Object> bindings) {
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private static List<Expression> columns() {
         List<Expression> columns = GameSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(ConsoleSqlHelper.getColumns(consoleTable, "console"));
-        SelectFromAndJoinCondition selectFrom = Select.builder()
+        return columns;
+    }
+
+    private static SelectFromAndJoinCondition selectFrom(List<Expression> columns) {
+        return Select.builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(consoleTable)
             .on(Column.create("console_id", entityTable))
             .equals(Column.create("id", consoleTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Game.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -92,8 +118,21 @@ class GameRepositoryInternalImpl extends SimpleR2dbcRepository<Game, Long> imple
 
     @Override
     public Mono<Game> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        Supplier<Condition> whereClause = () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+        return createQuery("findById", null, whereClause, Map.of("id", id)).one();
+    }
+
+    /**
+     * Games with the given ids, looked up by batches of {@value EntityManager#ID_BATCH_SIZE}, in the order of the ids.
+     */
+    @Override
+    public Flux<Game> findAllByIds(Collection<Long> ids) {
+        Supplier<Condition> whereClause = () -> EntityManager.idIsAny(entityTable.column("id"));
+        return EntityManager.findAllByIds(
+            ids,
+            batch -> createQuery("findAllByIds", null, whereClause, Map.of(EntityManager.IDS_MARKER, batch)).all(),
+            Game::getId
+        );
     }
 
     @Override
@@ -111,37 +150,179 @@ class GameRepositoryInternalImpl extends SimpleR2dbcRepository<Game, Long> imple
         return findAllBy(page);
     }
 
+    /**
+     * Games whose lowercased name contains the term, or holds a word similar to it according to {@code pg_trgm}, both
+     * served by the {@code idx_game__name_trgm} index.
+     * <p>
+     * The names starting with the term come first, then the closest ones by word similarity. Only the id, the name and
+     * the console of the games are read.
+     */
     @Override
-    public Flux<Game> findByNameContainingIgnoreCaseWithEagerRelationships(String name) {
-        Condition whereClause = createNameLikeCondition(name);
-        return createQuery(null, whereClause).all();
+    public Flux<Game> searchByName(String term, Long consoleId, int limit) {
+        String normalizedTerm = term.trim().toLowerCase(Locale.ROOT);
+        StringBuilder sql = new StringBuilder(
+            "SELECT e.id, e.name, c.id AS console_id, c.name AS console_name FROM game e LEFT JOIN console c ON c.id = e.console_id" +
+            " WHERE (lower(e.name) LIKE :contains OR :term <% lower(e.name))"
+        );
+        if (consoleId != null) {
+            sql.append(" AND e.console_id = :consoleId");
+        }
+        sql.append(" ORDER BY lower(e.name) LIKE :startsWith DESC, word_similarity(:term, lower(e.name)) DESC, e.name, e.id LIMIT :limit");
+        String escapedTerm = escapeLike(normalizedTerm);
+        DatabaseClient.GenericExecuteSpec spec = db
+            .sql(sql.toString())
+            .bind("term", normalizedTerm)
+            .bind("contains", "%" + escapedTerm + "%")
+            .bind("startsWith", escapedTerm + "%")
+            .bind("limit", limit);
+        if (consoleId != null) {
+            spec = spec.bind("consoleId", consoleId);
+        }
+        return spec
+            .map(row -> {
+                Game game = new Game().id(row.get("id", Long.class)).name(row.get("name", String.class));
+                Long gameConsoleId = row.get("console_id", Long.class);
+                if (gameConsoleId != null) {
+                    game.setConsole(new Console().id(gameConsoleId).name(row.get("console_name", String.class)));
+                }
+                return game;
+            })
+            .all();
     }
 
-    private Condition createNameLikeCondition(String name) {
-        return Conditions.like(Functions.lower(entityTable.column("name")), Conditions.just("'%" + name.toLowerCase() + "%'"));
+    /**
+     * Escapes the wildcards of a {@code LIKE} pattern, backslash being the default escape character of PostgreSQL.
+     */
+    static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 
-    private Game process(Row row, RowMetadata metadata) {
-        Game entity = gameMapper.apply(row, "e");
-        entity.setConsole(consoleMapper.apply(row, "console"));
-        return entity;
+    /**
+     * Creates the mapper of the rows of one statement, the console being null for the games without one.
+     */
+    private BiFunction<Row, RowMetadata, Game> process() {
+        BiFunction<Row, RowMetadata, Game> games = gameMapper.withPrefix("e");
+        BiFunction<Row, RowMetadata, Console> consoles = consoleMapper.withPrefix("console");
+        return (row, metadata) -> {
+            Game entity = games.apply(row, metadata);
+            entity.setConsole(consoles.apply(row, metadata));
+            return entity;
+        };
     }
 
     @Override
     public Flux<Game> findByCriteria(GameCriteria gameCriteria, Pageable page) {
-        return createQuery(page, buildConditions(gameCriteria)).all();
+        BoundConditionBuilder criteria = buildConditions(gameCriteria);
+        return createQuery(List.of("findByCriteria", criteria.getShape()), page, criteria::buildConditions, criteria.getBindings()).all();
+    }
+
+    @Override
+    public Flux<Game> findByCriteria(GameCriteria gameCriteria, Pageable page, SeekCursor after) {
+        if (after == null) {
+            // the first page is read as any other, but the cursor of the next one needs a column to seek on
+            seekColumn(SeekCursor.seekOrder(page.getSort()).getProperty());
+            return findByCriteria(gameCriteria, page);
+        }
+        BoundConditionBuilder criteria = buildConditions(gameCriteria);
+        Map<String, Object> bindings = new HashMap<>(criteria.getBindings());
+        Condition seekCondition = after.toCondition(seekColumn(after.getProperty()), false, entityTable.column("id"), bindings);
+        Supplier<Condition> whereClause = () -> {
+            Condition criteriaCondition = criteria.buildConditions();
+            return criteriaCondition != null ? Conditions.nest(criteriaCondition).and(seekCondition) : seekCondition;
+        };
+        // the seek condition differs by sort property and direction, and when the cursor is on a null sort key
+        Object query = List.of(
+            "findByCriteriaAfter",
+            criteria.getShape(),
+            after.getProperty(),
+            after.getDirection(),
+            after.getValue() == null
+        );
+        return createQuery(query, page, whereClause, bindings).all();
+    }
+
+    /**
+     * Reads a page of the matching games along with their number, in a single statement.
+     */
+    @Override
+    public Mono<Page<Game>> findPageByCriteria(GameCriteria gameCriteria, Pageable page) {
+        BoundConditionBuilder criteria = buildConditions(gameCriteria);
+        Supplier<SelectFromAndJoinCondition> selectFrom = () -> {
+            List<Expression> columns = columns();
+            columns.add(EntityManager.totalCountColumn());
+            return selectFrom(columns);
+        };
+        Object query = List.of("findPageByCriteria", criteria.getShape());
+        String select = entityManager.createSelect(query, selectFrom, Game.class, page, criteria::buildConditions);
+        BiFunction<Row, RowMetadata, Game> mapper = process();
+        Flux<Tuple2<Game, Long>> rows = bind(EntityManager.bindPage(db.sql(select), page), criteria.getBindings())
+            .map((row, metadata) -> Tuples.of(mapper.apply(row, metadata), row.get(EntityManager.TOTAL_COUNT_ALIAS, Long.class)))
+            .all();
+        return EntityManager.collectPage(rows, page, countByCriteria(gameCriteria));
+    }
+
+    /**
+     * Returns the column backing one of the sort properties supported by keyset pagination.
+     */
+    private Column seekColumn(String property) {
+        return switch (property) {
+            case SeekCursor.ID_PROPERTY -> entityTable.column("id");
+            case "name" -> entityTable.column("name");
+            case "console.name" -> consoleTable.column("name");
+            default -> throw new IllegalArgumentException("Keyset pagination is not supported for sort property " + property);
+        };
     }
 
     @Override
     public Mono<Long> countByCriteria(GameCriteria criteria) {
-        return findByCriteria(criteria, null)
-            .collectList()
-            .map(collectedList -> collectedList != null ? (long) collectedList.size() : (long) 0);
+        BoundConditionBuilder conditions = buildConditions(criteria);
+        String count = entityManager.createSelect(matchingQuery("countByCriteria", criteria, conditions), null, () ->
+            selectMatching(Functions.count(entityTable.column("id")), criteria, conditions)
+        );
+        return bind(db.sql(count), conditions.getBindings()).map(row -> row.get(0, Long.class)).one();
+    }
+
+    /**
+     * Estimates the number of matching games from the table statistics when there is no criterion, or from the plan of
+     * the query selecting them otherwise.
+     */
+    @Override
+    public Mono<Long> estimateCountByCriteria(GameCriteria criteria) {
+        BoundConditionBuilder conditions = buildConditions(criteria);
+        if (conditions.getShape().isEmpty()) {
+            return rowCountEstimator.estimateTable(AliasesUtil.GAME);
+        }
+        String select = entityManager.createSelect(matchingQuery("estimateCountByCriteria", criteria, conditions), null, () ->
+            selectMatching(entityTable.column("id"), criteria, conditions)
+        );
+        return rowCountEstimator.estimateRows(select, conditions.getBindings());
+    }
+
+    private static Object matchingQuery(String method, GameCriteria criteria, BoundConditionBuilder conditions) {
+        return List.of(method, conditions.getShape(), joinsConsole(criteria));
+    }
+
+    private static boolean joinsConsole(GameCriteria criteria) {
+        return criteria != null && criteria.getConsoleId() != null;
+    }
+
+    /**
+     * Selects the given expression from the matching games, joining the console only when a criterion is on it.
+     */
+    private static Select selectMatching(Expression selected, GameCriteria criteria, BoundConditionBuilder conditions) {
+        SelectFromAndJoin select = Select.builder().select(selected).from(entityTable);
+        SelectWhere from = joinsConsole(criteria)
+            ? select.leftOuterJoin(consoleTable).on(Column.create("console_id", entityTable)).equals(Column.create("id", consoleTable))
+            : select;
+        Condition whereClause = conditions.buildConditions();
+        return whereClause != null ? from.where(whereClause).build() : from.build();
     }
 
-    private Condition buildConditions(GameCriteria criteria) {
-        ConditionBuilder builder = new ConditionBuilder(this.columnConverter);
-        List<Condition> allConditions = new ArrayList<>();
+    /**
+     * Builds the where clause of the criteria, with their values as bind parameters.
+     */
+    private static BoundConditionBuilder buildConditions(GameCriteria criteria) {
+        BoundConditionBuilder builder = new BoundConditionBuilder();
         if (criteria != null) {
             if (criteria.getId() != null) {
                 builder.buildFilterConditionForField(criteria.getId(), entityTable.column("id"));
@@ -153,6 +334,6 @@ class GameRepositoryInternalImpl extends SimpleR2dbcRepository<Game, Long> imple
                 builder.buildFilterConditionForField(criteria.getConsoleId(), consoleTable.column("id"));
             }
         }
-        return builder.buildConditions();
+        return builder;
     }
 }
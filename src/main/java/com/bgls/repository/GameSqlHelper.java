@@ -1,7 +1,5 @@
 package com.bgls.repository;
 
-import com.bgls.domain.Game;
-import io.r2dbc.spi.Row;
 import java.util.ArrayList;
 import java.util.List;
 import org.springframework.data.relational.core.sql.Column;
@@ -16,24 +14,10 @@ public class GameSqlHelper {
         List<Expression> columns = new ArrayList<>();
         columns.add(Column.aliased("id", table, columnPrefix + "_id"));
         columns.add(Column.aliased("name", table, columnPrefix + "_name"));
-        columns.add(Column.aliased("cover", table, columnPrefix + "_cover"));
         columns.add(Column.aliased("cover_content_type", table, columnPrefix + "_cover_content_type"));
+        columns.add(Column.aliased("cover_hash", table, columnPrefix + "_cover_hash"));
 
         columns.add(Column.aliased("console_id", table, columnPrefix + "_console_id"));
         return columns;
     }
-
-    public static Game extract(Row row, String columnPrefix) {
-        if (row.get(columnPrefix + "_id", Long.class) == null) {
-            return null;
-        }
-
-        Game game = new Game();
-        game.setId(row.get(columnPrefix + "_id", Long.class));
-        game.setName(row.get(columnPrefix + "_name", String.class));
-        game.cover(row.get(columnPrefix + "_cover", byte[].class));
-        game.setCoverContentType(row.get(columnPrefix + "_cover_content_type", String.class));
-        game.setConsoleId(row.get(columnPrefix + "_console_id", Long.class));
-        return game;
-    }
 }
@@ -0,0 +1,264 @@
+package com.bgls.repository;
+
+import static com.bgls.repository.ItemRepositoryInternalImpl.CONSOLE;
+import static com.bgls.repository.ItemRepositoryInternalImpl.GAME;
+import static com.bgls.repository.ItemRepositoryInternalImpl.LENDED_TO;
+import static com.bgls.repository.ItemRepositoryInternalImpl.OWNER;
+import static com.bgls.repository.ItemRepositoryInternalImpl.consoleTable;
+import static com.bgls.repository.ItemRepositoryInternalImpl.entityTable;
+import static com.bgls.repository.ItemRepositoryInternalImpl.gameTable;
+import static com.bgls.repository.ItemRepositoryInternalImpl.lendedToTable;
+import static com.bgls.repository.ItemRepositoryInternalImpl.ownerTable;
+
+import com.bgls.domain.criteria.ItemFilter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Functions;
+import org.springframework.data.relational.core.sql.OrderByField;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectJoin;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
+
+/**
+ * Builds the count and page statements of the filtered {@link com.bgls.domain.Item} listing.
+ * <p>
+ * Only the predicates of the filters that are set, the joins that the filters, the sort or the eager loading need, and the
+ * requested ORDER BY are emitted, with every value passed as a bind parameter. Each filter combination therefore renders
+ * its own statement, which PostgreSQL can plan against the matching indexes, instead of one catch-all
+ * {@code (:x IS NULL OR col = :x)} statement sharing a generic plan.
+ */
+class ItemQueryBuilder {
+
+    private enum Relation {
+        OWNER,
+        LENDED_TO,
+        GAME,
+        CONSOLE,
+    }
+
+    private static final String LENDED_TO_LOGIN = "lendedTo.login";
+
+    /**
+     * Identifies the SQL of a statement of the builder, along with the sort and paging of the page.
+     */
+    private record Shape(
+        String statement,
+        Set<String> parameters,
+        boolean eager,
+        boolean withTotalCount,
+        String seekProperty,
+        Sort.Direction seekDirection
+    ) {}
+
+    private final List<Condition> filterConditions = new ArrayList<>();
+    private final Map<String, Object> bindings = new LinkedHashMap<>();
+    private final EnumSet<Relation> filterRelations = EnumSet.noneOf(Relation.class);
+    private boolean eager;
+    private boolean withTotalCount;
+    private Condition seekCondition;
+    private String seekProperty;
+    private Sort.Direction seekDirection;
+
+    ItemQueryBuilder(ItemFilter filter) {
+        if (filter.getOwnerId() != null) {
+            addFilter(entityTable.column("owner_id"), "ownerId", filter.getOwnerId());
+        }
+        if (filter.getLendedToId() != null) {
+            addFilter(entityTable.column("lended_to_id"), "lendedToId", filter.getLendedToId());
+        }
+        if (filter.getGameId() != null) {
+            addFilter(entityTable.column("game_id"), "gameId", filter.getGameId());
+        }
+        if (filter.getGameName() != null) {
+            // the escape character is explicit, the wildcards of the name being escaped to match literally
+            filterConditions.add(Conditions.just("LOWER(" + GAME + ".name) LIKE :gameName ESCAPE '\\'"));
+            bindings.put("gameName", "%" + GameRepositoryInternalImpl.escapeLike(filter.getGameName().toLowerCase(Locale.ROOT)) + "%");
+        }
+        if (filter.getConsoleId() != null) {
+            addFilter(gameTable.column("console_id"), "consoleId", filter.getConsoleId());
+        }
+        if (filter.filtersOnGame()) {
+            filterRelations.add(Relation.GAME);
+        }
+    }
+
+    /**
+     * Selects the owner, borrower, game and console of each item along with it.
+     */
+    ItemQueryBuilder eager(boolean eager) {
+        this.eager = eager;
+        return this;
+    }
+
+    /**
+     * Selects the number of matching items along with each item of the page, see {@link EntityManager#totalCountColumn()}.
+     */
+    ItemQueryBuilder withTotalCount(boolean withTotalCount) {
+        this.withTotalCount = withTotalCount;
+        return this;
+    }
+
+    /**
+     * Restricts the page to the rows following the given keyset cursor.
+     */
+    ItemQueryBuilder after(SeekCursor after) {
+        if (after != null) {
+            boolean nullable = LENDED_TO_LOGIN.equals(after.getProperty());
+            this.seekCondition = after.toCondition(sortColumn(after.getProperty()), nullable, entityTable.column("id"), bindings);
+            this.seekProperty = after.getProperty();
+            this.seekDirection = after.getDirection();
+        }
+        return this;
+    }
+
+    boolean isEager() {
+        return eager;
+    }
+
+    Map<String, Object> getBindings() {
+        return Collections.unmodifiableMap(bindings);
+    }
+
+    /**
+     * The shape of a statement: the filters set, which the names of the bound values tell, the eager loading, the total
+     * count and the keyset cursor, but none of their values.
+     *
+     * @param statement the name of the statement, such as {@code count} or {@code page}.
+     * @return the shape, as a value.
+     */
+    Object shape(String statement) {
+        return new Shape(statement, Set.copyOf(bindings.keySet()), eager, withTotalCount, seekProperty, seekDirection);
+    }
+
+    /**
+     * @return the statement counting all the items matching the filters, joining the game only when a filter is on it.
+     */
+    Select buildCount() {
+        return buildMatching(Functions.count(entityTable.column("id")));
+    }
+
+    /**
+     * @return the statement selecting the ids of all the items matching the filters, whose plan estimates their number.
+     */
+    Select buildIds() {
+        return buildMatching(entityTable.column("id"));
+    }
+
+    /**
+     * @return whether any filter is set.
+     */
+    boolean isFiltered() {
+        return !filterConditions.isEmpty();
+    }
+
+    /**
+     * @param pageable the page to read; rows sharing a sort key are ordered by id.
+     * @return the statement selecting the page, whose limit and offset {@link EntityManager#bindPage} binds.
+     * @throws IllegalArgumentException if the sort is on an unsupported property.
+     */
+    Select buildPage(Pageable pageable) {
+        Set<Relation> relations = eager ? EnumSet.allOf(Relation.class) : EnumSet.copyOf(filterRelations);
+        List<OrderByField> orderBy = new ArrayList<>();
+        Sort sort = pageable.getSort();
+        for (Sort.Order order : sort) {
+            relations.addAll(sortRelations(order.getProperty()));
+            orderBy.add(OrderByField.from(sortColumn(order.getProperty()), order.getDirection()));
+        }
+        if (sort.getOrderFor(SeekCursor.ID_PROPERTY) == null) {
+            orderBy.add(OrderByField.from(entityTable.column("id"), Sort.Direction.ASC));
+        }
+
+        SelectFromAndJoin from = Select.builder().select(columns()).from(entityTable);
+        SelectWhere joined = joinAll(from, relations);
+        List<Condition> conditions = new ArrayList<>(filterConditions);
+        if (seekCondition != null) {
+            conditions.add(seekCondition);
+        }
+        return finish(joined, conditions, orderBy);
+    }
+
+    private Select buildMatching(Expression selected) {
+        SelectWhere from = joinAll(Select.builder().select(selected).from(entityTable), filterRelations);
+        return finish(from, filterConditions, List.of());
+    }
+
+    private void addFilter(Column column, String name, Object value) {
+        filterConditions.add(Conditions.isEqual(column, SQL.bindMarker(":" + name)));
+        bindings.put(name, value);
+    }
+
+    private List<Expression> columns() {
+        List<Expression> columns = ItemSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        if (eager) {
+            columns.addAll(UserSqlHelper.getColumns(ownerTable, OWNER));
+            columns.addAll(UserSqlHelper.getColumns(lendedToTable, LENDED_TO));
+            columns.addAll(GameSqlHelper.getColumns(gameTable, GAME));
+            columns.addAll(ConsoleSqlHelper.getColumns(consoleTable, CONSOLE));
+        }
+        if (withTotalCount) {
+            columns.add(EntityManager.totalCountColumn());
+        }
+        return columns;
+    }
+
+    private static SelectWhere joinAll(SelectFromAndJoin from, Set<Relation> relations) {
+        SelectJoin select = from;
+        SelectFromAndJoinCondition joined = null;
+        // EnumSet iterates in declaration order, so the game is always joined before its console
+        for (Relation relation : relations) {
+            joined = switch (relation) {
+                case OWNER -> select.leftOuterJoin(ownerTable).on(entityTable.column("owner_id")).equals(ownerTable.column("id"));
+                case LENDED_TO -> select
+                    .leftOuterJoin(lendedToTable)
+                    .on(entityTable.column("lended_to_id"))
+                    .equals(lendedToTable.column("id"));
+                case GAME -> select.leftOuterJoin(gameTable).on(entityTable.column("game_id")).equals(gameTable.column("id"));
+                case CONSOLE -> select.leftOuterJoin(consoleTable).on(gameTable.column("console_id")).equals(consoleTable.column("id"));
+            };
+            select = joined;
+        }
+        return joined != null ? joined : from;
+    }
+
+    private static Select finish(SelectWhere select, List<Condition> conditions, List<OrderByField> orderBy) {
+        SelectOrdered ordered = conditions.isEmpty() ? select : select.where(conditions.stream().reduce(Condition::and).orElseThrow());
+        return orderBy.isEmpty() ? ordered.build() : ordered.orderBy(orderBy).build();
+    }
+
+    private static Column sortColumn(String property) {
+        return switch (property) {
+            case SeekCursor.ID_PROPERTY -> entityTable.column("id");
+            case "owner.login" -> ownerTable.column("login");
+            case LENDED_TO_LOGIN -> lendedToTable.column("login");
+            case "game.name" -> gameTable.column("name");
+            case "game.console.name" -> consoleTable.column("name");
+            default -> throw new IllegalArgumentException("Unsupported sort property " + property);
+        };
+    }
+
+    private static Set<Relation> sortRelations(String property) {
+        return switch (property) {
+            case "owner.login" -> EnumSet.of(Relation.OWNER);
+            case LENDED_TO_LOGIN -> EnumSet.of(Relation.LENDED_TO);
+            case "game.name" -> EnumSet.of(Relation.GAME);
+            case "game.console.name" -> EnumSet.of(Relation.GAME, Relation.CONSOLE);
+            default -> EnumSet.noneOf(Relation.class);
+        };
+    }
+}
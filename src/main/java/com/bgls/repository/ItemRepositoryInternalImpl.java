@@ -3,14 +3,21 @@ package com.bgls.repository;
 import com.bgls.domain.Console;
 import com.bgls.domain.Game;
 import com.bgls.domain.Item;
+import com.bgls.domain.User;
+import com.bgls.domain.criteria.ItemFilter;
+import com.bgls.repository.rowmapper.ConsoleRowMapper;
 import com.bgls.repository.rowmapper.GameRowMapper;
 import com.bgls.repository.rowmapper.ItemRowMapper;
 import com.bgls.repository.rowmapper.UserRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
@@ -26,6 +33,8 @@ import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.r2dbc.core.RowsFetchSpec;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Spring Data R2DBC custom repository implementation for the Item entity.
@@ -40,25 +49,29 @@ class ItemRepositoryInternalImpl extends SimpleR2dbcRepository<Item, Long> imple
 
     private final UserRowMapper userMapper;
     private final GameRowMapper gameMapper;
+    private final ConsoleRowMapper consoleMapper;
     private final ItemRowMapper itemMapper;
+    private final RowCountEstimator rowCountEstimator;
 
-    private static final Table entityTable = Table.aliased("item", EntityManager.ENTITY_ALIAS);
+    static final Table entityTable = Table.aliased("item", EntityManager.ENTITY_ALIAS);
     public static final String OWNER = "owner";
-    private static final Table ownerTable = Table.aliased("jhi_user", OWNER);
+    static final Table ownerTable = Table.aliased("jhi_user", OWNER);
     public static final String LENDED_TO = "lendedTo";
-    private static final Table lendedToTable = Table.aliased("jhi_user", LENDED_TO);
+    static final Table lendedToTable = Table.aliased("jhi_user", LENDED_TO);
     public static final String GAME = "game";
-    private static final Table gameTable = Table.aliased(GAME, GAME);
-    private final Table consoleTable = Table.aliased(CONSOLE, CONSOLE);
+    static final Table gameTable = Table.aliased(GAME, GAME);
+    static final Table consoleTable = Table.aliased(CONSOLE, CONSOLE);
 
     public ItemRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
         UserRowMapper userMapper,
         GameRowMapper gameMapper,
+        ConsoleRowMapper consoleMapper,
         ItemRowMapper itemMapper,
         R2dbcEntityOperations entityOperations,
-        R2dbcConverter converter
+        R2dbcConverter converter,
+        RowCountEstimator rowCountEstimator
     ) {
         super(
             new MappingRelationalEntityInformation<>(
@@ -72,36 +85,21 @@ class ItemRepositoryInternalImpl extends SimpleR2dbcRepository<Item, Long> imple
         this.entityManager = entityManager;
         this.userMapper = userMapper;
         this.gameMapper = gameMapper;
+        this.consoleMapper = consoleMapper;
         this.itemMapper = itemMapper;
+        this.rowCountEstimator = rowCountEstimator;
     }
 
     @Override
     public Flux<Item> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery("findAllBy", pageable, () -> null, Map.of()).all();
     }
 
-    RowsFetchSpec<Item> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = ItemSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(UserSqlHelper.getColumns(ownerTable, OWNER));
-        columns.addAll(UserSqlHelper.getColumns(lendedToTable, LENDED_TO));
-        columns.addAll(GameSqlHelper.getColumns(gameTable, GAME));
-        columns.addAll(ConsoleSqlHelper.getColumns(consoleTable, CONSOLE));
-        SelectFromAndJoinCondition selectFrom = Select.builder()
-            .select(columns)
-            .from(entityTable)
-            .leftOuterJoin(ownerTable)
-            .on(Column.create("owner_id", entityTable))
-            .equals(Column.create("id", ownerTable))
-            .leftOuterJoin(lendedToTable)
-            .on(Column.create("lended_to_id", entityTable))
-            .equals(Column.create("id", lendedToTable))
-            .leftOuterJoin(gameTable)
-            .on(Column.create("game_id", entityTable))
-            .equals(Column.create("id", gameTable))
-            .leftOuterJoin(consoleTable)
-            .on(Column.create("console_id", gameTable))
-            .equals(Column.create("id", consoleTable));
-
+    /**
+     * @param query the shape of the select, identifying its SQL once rendered.
+     * @param whereClause builds the where clause, whose values are all bind markers.
+     */
+    RowsFetchSpec<Item> createQuery(Object query, Pageable pageable, Supplier<Condition> whereClause, Map<String, Object> bindings) {
         if (pageable == null) {
             pageable = Pageable.unpaged();
         }
@@ -124,11 +122,35 @@ class ItemRepositoryInternalImpl extends SimpleR2dbcRepository<Item, Long> imple
         if (pageable.isPaged()) {
             modifiedPageable = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), modifiedSort);
         } else {
-            modifiedPageable = PageRequest.of(0, Integer.MAX_VALUE, modifiedSort);
+            modifiedPageable = Pageable.unpaged(modifiedSort);
         }
 
-        String select = entityManager.createSelect(selectFrom, Item.class, modifiedPageable, whereClause);
-        return db.sql(select).map(this::process);
+        Supplier<SelectFromAndJoinCondition> selectFrom = ItemRepositoryInternalImpl::selectFrom;
+        String select = entityManager.createSelect(query, selectFrom, Item.class, modifiedPageable, whereClause);
+        return bind(EntityManager.bindPage(db.sql(select), modifiedPageable), bindings).map(process());
+    }
+
+    private static SelectFromAndJoinCondition selectFrom() {
+        List<Expression> columns = ItemSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(UserSqlHelper.getColumns(ownerTable, OWNER));
+        columns.addAll(UserSqlHelper.getColumns(lendedToTable, LENDED_TO));
+        columns.addAll(GameSqlHelper.getColumns(gameTable, GAME));
+        columns.addAll(ConsoleSqlHelper.getColumns(consoleTable, CONSOLE));
+        return Select.builder()
+            .select(columns)
+            .from(entityTable)
+            .leftOuterJoin(ownerTable)
+            .on(Column.create("owner_id", entityTable))
+            .equals(Column.create("id", ownerTable))
+            .leftOuterJoin(lendedToTable)
+            .on(Column.create("lended_to_id", entityTable))
+            .equals(Column.create("id", lendedToTable))
+            .leftOuterJoin(gameTable)
+            .on(Column.create("game_id", entityTable))
+            .equals(Column.create("id", gameTable))
+            .leftOuterJoin(consoleTable)
+            .on(Column.create("console_id", gameTable))
+            .equals(Column.create("id", consoleTable));
     }
 
     @Override
@@ -138,9 +160,9 @@ class ItemRepositoryInternalImpl extends SimpleR2dbcRepository<Item, Long> imple
 
     @Override
     public Mono<Item> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
+        Supplier<Condition> whereClause = () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
         Pageable singleItemPageable = PageRequest.of(0, 1);
-        return createQuery(singleItemPageable, whereClause).one();
+        return createQuery("findById", singleItemPageable, whereClause, Map.of("id", id)).one();
     }
 
     @Override
@@ -159,48 +181,94 @@ class ItemRepositoryInternalImpl extends SimpleR2dbcRepository<Item, Long> imple
     }
 
     @Override
-    public Flux<Item> findAllWithEagerRelationshipsByIds(Flux<Long> ids) {
-        return ids.flatMap(this::findOneWithEagerRelationships).filter(Objects::nonNull);
+    public Mono<Long> countWithFilters(ItemFilter filter) {
+        ItemQueryBuilder query = new ItemQueryBuilder(filter);
+        String count = entityManager.createSelect(query.shape("count"), null, query::buildCount);
+        return bind(db.sql(count), query.getBindings()).map(row -> row.get(0, Long.class)).one();
     }
 
-    private Item process(Row row, RowMetadata metadata) {
-        Item entity = itemMapper.apply(row, "e");
-
-        try {
-            entity.setOwner(userMapper.apply(row, OWNER));
-        } catch (Exception e) {
-            entity.setOwner(null);
+    /**
+     * Estimates the number of matching items from the table statistics when there is no filter, or from the plan of the
+     * query selecting them otherwise.
+     */
+    @Override
+    public Mono<Long> estimateCountWithFilters(ItemFilter filter) {
+        ItemQueryBuilder query = new ItemQueryBuilder(filter);
+        if (!query.isFiltered()) {
+            return rowCountEstimator.estimateTable("item");
         }
+        return rowCountEstimator.estimateRows(entityManager.createSelect(query.shape("ids"), null, query::buildIds), query.getBindings());
+    }
 
-        try {
-            entity.setLendedTo(userMapper.apply(row, LENDED_TO));
-        } catch (Exception e) {
-            entity.setLendedTo(null);
-        }
+    @Override
+    public Flux<Item> findAllWithFilters(ItemFilter filter, Pageable pageable, SeekCursor after, boolean eagerload) {
+        ItemQueryBuilder query = new ItemQueryBuilder(filter).eager(eagerload).after(after);
+        Pageable page = pageable != null ? pageable : Pageable.unpaged();
+        String select = entityManager.createSelect(query.shape("page"), page, () -> query.buildPage(page));
+        BiFunction<Row, RowMetadata, Item> mapper = query.isEager() ? process() : itemMapper.withPrefix("e");
+        return bind(EntityManager.bindPage(db.sql(select), page), query.getBindings()).map(mapper).all();
+    }
 
-        try {
-            Game game = GameSqlHelper.extract(row, GAME);
-            if (game != null && game.getId() != null) {
-                extractConsole(row, game);
-                entity.setGame(game);
-            } else {
-                entity.setGame(null);
-            }
-        } catch (Exception e) {
-            entity.setGame(null);
+    /**
+     * Reads a page of the matching items along with their number, in a single statement.
+     */
+    @Override
+    public Mono<Page<Item>> findPageWithFilters(ItemFilter filter, Pageable pageable, boolean eagerload) {
+        ItemQueryBuilder query = new ItemQueryBuilder(filter).eager(eagerload).withTotalCount(true);
+        String select = entityManager.createSelect(query.shape("page"), pageable, () -> query.buildPage(pageable));
+        BiFunction<Row, RowMetadata, Item> mapper = query.isEager() ? process() : itemMapper.withPrefix("e");
+        Flux<Tuple2<Item, Long>> rows = bind(EntityManager.bindPage(db.sql(select), pageable), query.getBindings())
+            .map((row, metadata) -> Tuples.of(mapper.apply(row, metadata), row.get(EntityManager.TOTAL_COUNT_ALIAS, Long.class)))
+            .all();
+        return EntityManager.collectPage(rows, pageable, countWithFilters(filter));
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, Map<String, Object> bindings) {
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
         }
+        return spec;
+    }
 
-        return entity;
+    @Override
+    public Flux<Item> findAllWithEagerRelationshipsByIds(Flux<Long> ids) {
+        return ids.collectList().flatMapMany(this::findAllByIds);
     }
 
-    private static void extractConsole(Row row, Game game) {
-        try {
-            Console console = ConsoleSqlHelper.extract(row, CONSOLE);
-            if (console != null && console.getId() != null) {
-                game.setConsole(console);
+    /**
+     * Items with the given ids and their relations, looked up by batches of {@value EntityManager#ID_BATCH_SIZE}, in the
+     * order of the ids.
+     */
+    @Override
+    public Flux<Item> findAllByIds(Collection<Long> ids) {
+        Supplier<Condition> whereClause = () -> EntityManager.idIsAny(entityTable.column("id"));
+        return EntityManager.findAllByIds(
+            ids,
+            batch -> createQuery("findAllByIds", null, whereClause, Map.of(EntityManager.IDS_MARKER, batch)).all(),
+            Item::getId
+        );
+    }
+
+    /**
+     * Creates the mapper of the rows of one statement selecting the relations of the items, each relation being null
+     * when the item has none.
+     */
+    private BiFunction<Row, RowMetadata, Item> process() {
+        BiFunction<Row, RowMetadata, Item> items = itemMapper.withPrefix("e");
+        BiFunction<Row, RowMetadata, User> owners = userMapper.withPrefix(OWNER);
+        BiFunction<Row, RowMetadata, User> borrowers = userMapper.withPrefix(LENDED_TO);
+        BiFunction<Row, RowMetadata, Game> games = gameMapper.withPrefix(GAME);
+        BiFunction<Row, RowMetadata, Console> consoles = consoleMapper.withPrefix(CONSOLE);
+        return (row, metadata) -> {
+            Item entity = items.apply(row, metadata);
+            entity.setOwner(owners.apply(row, metadata));
+            entity.setLendedTo(borrowers.apply(row, metadata));
+            Game game = games.apply(row, metadata);
+            if (game != null) {
+                game.setConsole(consoles.apply(row, metadata));
             }
-        } catch (Exception ignored) {
-            // Ignoring
-        }
+            entity.setGame(game);
+            return entity;
+        };
     }
 }
@@ -0,0 +1,87 @@
+package com.bgls.repository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of the SQL rendered for each shape of select, the least recently used being dropped first.
+ * <p>
+ * A shape identifies everything the rendered SQL depends on, such as the entity, its joins, the filters of its where
+ * clause, its sort and whether it is paged, but none of the values, which are passed as bind parameters. The number of
+ * shapes is therefore bounded by the combinations of filters and sorts the repositories support, and each of them is only
+ * built and rendered once. The {@code sql.selects} counter, tagged {@code cache}, tells the {@code hit} from the
+ * {@code miss} renders, and {@code sql.selects.evictions} the shapes dropped to make room for others.
+ */
+class RenderedSelectCache {
+
+    private static final String METER_NAME = "sql.selects";
+
+    private final int maximumSize;
+
+    private final Map<Object, String> selects;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter evictions;
+
+    RenderedSelectCache(int maximumSize, MeterRegistry registry) {
+        this.maximumSize = maximumSize;
+        this.selects = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Object, String> eldest) {
+                boolean evict = size() > RenderedSelectCache.this.maximumSize;
+                if (evict) {
+                    evictions.increment();
+                }
+                return evict;
+            }
+        };
+        this.hits = Counter.builder(METER_NAME).description("Selects whose SQL was cached").tag("cache", "hit").register(registry);
+        this.misses = Counter.builder(METER_NAME).description("Selects built and rendered").tag("cache", "miss").register(registry);
+        this.evictions = Counter.builder(METER_NAME + ".evictions")
+            .description("Rendered selects dropped from the cache to make room for others")
+            .register(registry);
+        Gauge.builder(METER_NAME + ".cached", this, RenderedSelectCache::size)
+            .description("Rendered selects in the cache")
+            .register(registry);
+    }
+
+    /**
+     * Returns the SQL of a select, rendering it only if its shape is not cached.
+     *
+     * @param shape the shape of the select, as a value with {@code equals} and {@code hashCode}.
+     * @param render renders the SQL of the select.
+     * @return the SQL.
+     */
+    String get(Object shape, Supplier<String> render) {
+        String sql;
+        synchronized (selects) {
+            sql = selects.get(shape);
+        }
+        if (sql != null) {
+            hits.increment();
+            return sql;
+        }
+        misses.increment();
+        // rendered outside of the lock: two requests missing the same shape at once both render it, to the same SQL
+        sql = render.get();
+        if (maximumSize > 0) {
+            synchronized (selects) {
+                selects.put(shape, sql);
+            }
+        }
+        return sql;
+    }
+
+    int size() {
+        synchronized (selects) {
+            return selects.size();
+        }
+    }
+}
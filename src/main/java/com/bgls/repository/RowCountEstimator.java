@@ -0,0 +1,72 @@
+package com.bgls.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Map;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Estimates the number of rows of a table or a query from the statistics of PostgreSQL, without reading the rows.
+ * <p>
+ * The estimates are as fresh as the last {@code ANALYZE} of the tables, which autovacuum runs as they change.
+ */
+@Component
+class RowCountEstimator {
+
+    private final DatabaseClient db;
+
+    private final ObjectMapper objectMapper;
+
+    RowCountEstimator(DatabaseClient db, ObjectMapper objectMapper) {
+        this.db = db;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Estimates the number of rows of a table from {@code pg_class.reltuples}.
+     *
+     * @param table the name of the table.
+     * @return the estimate, or empty if the table was never analyzed.
+     */
+    Mono<Long> estimateTable(String table) {
+        return db
+            .sql("SELECT reltuples::bigint FROM pg_class WHERE oid = to_regclass(:table)")
+            .bind("table", table)
+            .map(row -> row.get(0, Long.class))
+            .one()
+            .filter(estimate -> estimate >= 0);
+    }
+
+    /**
+     * Estimates the number of rows a query returns from the plan of {@code EXPLAIN}.
+     *
+     * @param select the query.
+     * @param bindings the values of its bind markers.
+     * @return the estimate.
+     */
+    Mono<Long> estimateRows(String select, Map<String, Object> bindings) {
+        DatabaseClient.GenericExecuteSpec spec = db.sql("EXPLAIN (FORMAT JSON) " + select);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(row -> row.get(0, String.class)).one().mapNotNull(this::planRows);
+    }
+
+    /**
+     * Reads the number of rows the top node of a plan returns.
+     *
+     * @param plan the plan, as output by {@code EXPLAIN (FORMAT JSON)}.
+     * @return the number of rows, or {@code null} if the plan has none.
+     */
+    Long planRows(String plan) {
+        try {
+            JsonNode rows = objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows");
+            return rows.isNumber() ? rows.asLong() : null;
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+    }
+}
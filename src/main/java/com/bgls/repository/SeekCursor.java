@@ -0,0 +1,247 @@
+package com.bgls.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Objects;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.Column;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.SQL;
+
+/**
+ * Opaque position in a keyset (seek) paginated listing: the sort key and the id of the last row that was returned.
+ * <p>
+ * The next page is read with a {@code WHERE (key, id) > (:key, :id)} style predicate instead of an {@code OFFSET}, so it
+ * costs the same whatever the depth, and concurrent writes cannot make rows repeat or disappear between pages.
+ * Rows are ordered by the sort key and then by id, both in the requested direction.
+ */
+public final class SeekCursor {
+
+    public static final String ID_PROPERTY = "id";
+
+    private static final char SEPARATOR = ':';
+    private static final char LONG_TYPE = 'l';
+    private static final char STRING_TYPE = 's';
+    private static final char NULL_TYPE = 'n';
+
+    private final String property;
+    private final Sort.Direction direction;
+    private final Object value;
+    private final long id;
+
+    private SeekCursor(String property, Sort.Direction direction, Object value, long id) {
+        this.property = property;
+        this.direction = direction;
+        this.value = value;
+        this.id = id;
+    }
+
+    /**
+     * Creates the cursor pointing after the given row.
+     *
+     * @param row the last row of the current page.
+     * @param id the id of that row.
+     * @param order the sort order of the listing; its property is read from the row, following nested paths like {@code game.name}.
+     * @return the cursor of the next page.
+     * @throws IllegalArgumentException if the property cannot be read from the row, or is neither a {@code Long} nor a {@code String}.
+     */
+    public static SeekCursor after(Object row, Long id, Sort.Order order) {
+        Objects.requireNonNull(id, "id is null");
+        return new SeekCursor(order.getProperty(), order.getDirection(), readProperty(row, order.getProperty()), id);
+    }
+
+    /**
+     * Decodes a cursor previously produced by {@link #encode()}.
+     *
+     * @param token the opaque cursor.
+     * @return the decoded cursor.
+     * @throws IllegalArgumentException if the token is not a valid cursor.
+     */
+    public static SeekCursor decode(String token) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+        // <direction>:<property>:<id>:<type><value>, the value goes last as it may contain the separator
+        String[] parts = raw.split(String.valueOf(SEPARATOR), 4);
+        if (parts.length != 4 || parts[3].isEmpty()) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        Sort.Direction direction = Sort.Direction.fromString(parts[0]);
+        long id = Long.parseLong(parts[2]);
+        String encodedValue = parts[3].substring(1);
+        Object value = switch (parts[3].charAt(0)) {
+            case LONG_TYPE -> Long.valueOf(encodedValue);
+            case STRING_TYPE -> encodedValue;
+            case NULL_TYPE -> null;
+            default -> throw new IllegalArgumentException("Malformed cursor");
+        };
+        return new SeekCursor(parts[1], direction, value, id);
+    }
+
+    /**
+     * @return the opaque, URL-safe representation of this cursor.
+     */
+    public String encode() {
+        String encodedValue;
+        if (value == null) {
+            encodedValue = String.valueOf(NULL_TYPE);
+        } else if (value instanceof Long longValue) {
+            encodedValue = LONG_TYPE + longValue.toString();
+        } else {
+            encodedValue = STRING_TYPE + value.toString();
+        }
+        String raw = direction.name() + SEPARATOR + property + SEPARATOR + id + SEPARATOR + encodedValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the sort of the listing this cursor belongs to, with the id tie-breaker.
+     */
+    public Sort getSort() {
+        return sortFor(new Sort.Order(direction, property));
+    }
+
+    /**
+     * Checks that this cursor was produced for the given sort, so it can't be replayed against another ordering.
+     *
+     * @param sort the sort of the current request.
+     * @throws IllegalArgumentException if the sort doesn't match.
+     */
+    public void verifySort(Sort sort) {
+        if (sort.isSorted() && !sortFor(seekOrder(sort)).equals(getSort())) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+    }
+
+    /**
+     * Builds the predicate selecting the rows after this cursor, and registers its bind values.
+     *
+     * @param sortColumn the column backing the sort property.
+     * @param nullable whether the sort column may be null; PostgreSQL sorts nulls last ascending and first descending.
+     * @param idColumn the id column used as tie-breaker.
+     * @param bindings the bind values of the statement.
+     * @return the seek condition.
+     */
+    public Condition toCondition(Column sortColumn, boolean nullable, Column idColumn, Map<String, Object> bindings) {
+        boolean ascending = direction.isAscending();
+        bindings.put("seekId", id);
+        Condition afterId = ascending
+            ? Conditions.isGreater(idColumn, SQL.bindMarker(":seekId"))
+            : Conditions.isLess(idColumn, SQL.bindMarker(":seekId"));
+        if (ID_PROPERTY.equals(property)) {
+            return afterId;
+        }
+        if (value == null) {
+            Condition sameKey = Conditions.nest(Conditions.isNull(sortColumn).and(afterId));
+            return ascending ? sameKey : Conditions.nest(sameKey.or(sortColumn.isNotNull()));
+        }
+        bindings.put("seekValue", value);
+        Condition afterValue = ascending
+            ? Conditions.isGreater(sortColumn, SQL.bindMarker(":seekValue"))
+            : Conditions.isLess(sortColumn, SQL.bindMarker(":seekValue"));
+        Condition sameKey = Conditions.nest(Conditions.isEqual(sortColumn, SQL.bindMarker(":seekValue")).and(afterId));
+        Condition condition = afterValue.or(sameKey);
+        if (nullable && ascending) {
+            condition = condition.or(Conditions.isNull(sortColumn));
+        }
+        return Conditions.nest(condition);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Returns the sort a seek listing uses for the requested sort: its first order, falling back to the id, followed by the id tie-breaker.
+     *
+     * @param sort the requested sort.
+     * @return the sort to apply.
+     */
+    public static Sort seekSort(Sort sort) {
+        return sortFor(seekOrder(sort));
+    }
+
+    /**
+     * Returns the order a cursor is built from for the requested sort.
+     *
+     * @param sort the requested sort.
+     * @return the first order of the sort, or {@code id ASC} when unsorted.
+     */
+    public static Sort.Order seekOrder(Sort sort) {
+        return sort.stream().findFirst().orElse(Sort.Order.asc(ID_PROPERTY));
+    }
+
+    private static Sort sortFor(Sort.Order order) {
+        if (ID_PROPERTY.equals(order.getProperty())) {
+            return Sort.by(order);
+        }
+        return Sort.by(order, new Sort.Order(order.getDirection(), ID_PROPERTY));
+    }
+
+    private static Object readProperty(Object row, String propertyPath) {
+        Object current = row;
+        for (String property : propertyPath.split("\\.")) {
+            if (current == null) {
+                return null;
+            }
+            try {
+                current = PropertyAccessorFactory.forBeanPropertyAccess(current).getPropertyValue(property);
+            } catch (BeansException e) {
+                throw new IllegalArgumentException("Unsupported seek property " + propertyPath, e);
+            }
+        }
+        if (current != null && !(current instanceof Long) && !(current instanceof String)) {
+            throw new IllegalArgumentException("Unsupported seek property type for " + propertyPath);
+        }
+        return current;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SeekCursor)) {
+            return false;
+        }
+        SeekCursor that = (SeekCursor) o;
+        return (
+            id == that.id && property.equals(that.property) && direction == that.direction && Objects.equals(value, that.value)
+        );
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(property, direction, value, id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SeekCursor{" +
+            "property='" + property + "'" +
+            ", direction=" + direction +
+            ", value=" + value +
+            ", id=" + id +
+            "}";
+    }
+}
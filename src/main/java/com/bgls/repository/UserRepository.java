@@ -3,10 +3,15 @@ package com.bgls.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 import static org.springframework.data.relational.core.query.Query.query;
 
+import com.bgls.cache.ReadThroughCache;
+import com.bgls.config.ApplicationProperties;
 import com.bgls.domain.Authority;
 import com.bgls.domain.User;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.commons.beanutils.BeanComparator;
@@ -64,28 +69,81 @@ interface UserRepositoryInternal extends DeleteExtended<User> {
     Mono<User> findOneWithAuthoritiesByEmailIgnoreCase(String email);
 
     Flux<User> findAllWithAuthorities(Pageable pageable);
+
+    Flux<User> findAllWithAuthoritiesByIds(Collection<Long> ids);
+
+    Mono<Long> estimateCount();
+
+    void clearCaches(User user);
 }
 
 class UserRepositoryInternalImpl implements UserRepositoryInternal {
 
+    private static final String SELECT_WITH_AUTHORITIES = "SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id";
+
+    private static final String SELECT_WITH_AUTHORITIES_BY_LOGIN = SELECT_WITH_AUTHORITIES + " WHERE u.login = :login";
+
+    private static final String SELECT_WITH_AUTHORITIES_BY_EMAIL = SELECT_WITH_AUTHORITIES + " WHERE u.email = :email";
+
     private final DatabaseClient db;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final R2dbcConverter r2dbcConverter;
-
-    public UserRepositoryInternalImpl(DatabaseClient db, R2dbcEntityTemplate r2dbcEntityTemplate, R2dbcConverter r2dbcConverter) {
+    private final RowCountEstimator rowCountEstimator;
+    private final ReadThroughCache<String, User> usersByLogin;
+    private final ReadThroughCache<String, User> usersByEmail;
+
+    public UserRepositoryInternalImpl(
+        DatabaseClient db,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcConverter r2dbcConverter,
+        RowCountEstimator rowCountEstimator,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
         this.db = db;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.r2dbcConverter = r2dbcConverter;
+        this.rowCountEstimator = rowCountEstimator;
+        ApplicationProperties.Cache.Users users = applicationProperties.getCache().getUsers();
+        this.usersByLogin = new ReadThroughCache<>("usersByLogin", users.getMaxUsers(), user -> 1, users.getTimeToLive(), meterRegistry);
+        this.usersByEmail = new ReadThroughCache<>("usersByEmail", users.getMaxUsers(), user -> 1, users.getTimeToLive(), meterRegistry);
     }
 
+    /**
+     * The user is read from a short-lived cache, which the writes of the users must clear through
+     * {@link #clearCaches(User)}. The cached users are shared by all the requests, which must not modify them.
+     */
     @Override
     public Mono<User> findOneWithAuthoritiesByLogin(String login) {
-        return findOneWithAuthoritiesBy("login", login);
+        return usersByLogin.get(login, findOneWithAuthoritiesBy(SELECT_WITH_AUTHORITIES_BY_LOGIN, "login", login));
     }
 
+    /**
+     * The user is read from a short-lived cache, which the writes of the users must clear through
+     * {@link #clearCaches(User)}. The cached users are shared by all the requests, which must not modify them.
+     */
     @Override
     public Mono<User> findOneWithAuthoritiesByEmailIgnoreCase(String email) {
-        return findOneWithAuthoritiesBy("email", email.toLowerCase());
+        String lowercaseEmail = email.toLowerCase();
+        return usersByEmail.get(lowercaseEmail, findOneWithAuthoritiesBy(SELECT_WITH_AUTHORITIES_BY_EMAIL, "email", lowercaseEmail));
+    }
+
+    @Override
+    public void clearCaches(User user) {
+        clearCache(usersByLogin, user.getLogin(), user);
+        clearCache(usersByEmail, user.getEmail(), user);
+    }
+
+    /**
+     * Evicts a user by its current key as well as by the one it had when cached.
+     */
+    private static void clearCache(ReadThroughCache<String, User> users, String key, User user) {
+        if (key != null) {
+            users.invalidate(key.toLowerCase());
+        }
+        if (user.getId() != null) {
+            users.invalidateIf(cached -> Objects.equals(cached.getId(), user.getId()));
+        }
     }
 
     @Override
@@ -98,7 +156,7 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
         long size = pageable.getPageSize();
 
         return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id")
+            .sql(SELECT_WITH_AUTHORITIES)
             .map(
                 (row, metadata) ->
                     Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
@@ -115,6 +173,33 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
             .take(size);
     }
 
+    /**
+     * Users with the given ids and their authorities, looked up by batches of {@value EntityManager#ID_BATCH_SIZE}, in the
+     * order of the ids.
+     */
+    @Override
+    public Flux<User> findAllWithAuthoritiesByIds(Collection<Long> ids) {
+        return EntityManager.findAllByIds(ids, this::findAllWithAuthoritiesByIds, User::getId);
+    }
+
+    private Flux<User> findAllWithAuthoritiesByIds(Long[] ids) {
+        return db
+            .sql(SELECT_WITH_AUTHORITIES + " WHERE u.id = ANY(:ids)")
+            .bind(EntityManager.IDS_MARKER, ids)
+            .map(
+                (row, metadata) ->
+                    Tuples.of(r2dbcConverter.read(User.class, row, metadata), Optional.ofNullable(row.get("authority_name", String.class)))
+            )
+            .all()
+            .groupBy(t -> t.getT1().getId())
+            .flatMap(l -> l.collectList().map(t -> updateUserWithAuthorities(t.get(0).getT1(), t)));
+    }
+
+    @Override
+    public Mono<Long> estimateCount() {
+        return rowCountEstimator.estimateTable("jhi_user");
+    }
+
     @Override
     public Mono<Void> delete(User user) {
         return db
@@ -124,9 +209,9 @@ class UserRepositoryInternalImpl implements UserRepositoryInternal {
             .then(r2dbcEntityTemplate.delete(User.class).matching(query(where("id").is(user.getId()))).all().then());
     }
 
-    private Mono<User> findOneWithAuthoritiesBy(String fieldName, Object fieldValue) {
+    private Mono<User> findOneWithAuthoritiesBy(String sql, String fieldName, Object fieldValue) {
         return db
-            .sql("SELECT * FROM jhi_user u LEFT JOIN jhi_user_authority ua ON u.id=ua.user_id WHERE u." + fieldName + " = :" + fieldName)
+            .sql(sql)
             .bind(fieldName, fieldValue)
             .map(
                 (row, metadata) ->
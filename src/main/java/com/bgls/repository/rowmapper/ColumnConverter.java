@@ -1,6 +1,17 @@
 package com.bgls.repository.rowmapper;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.r2dbc.spi.Row;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
@@ -11,16 +22,56 @@ import tech.jhipster.service.ColumnConverterReactive;
 
 /**
  * This service provides helper function dealing with the low level {@link Row} and Spring's {@link R2dbcCustomConversions}, so type conversions can be applied.
+ * <p>
+ * How to convert a value is resolved once per source and target types, and cached; the {@code r2dbc.column.converters}
+ * counter, tagged {@code cache}, tells the {@code hit} from the {@code miss} lookups.
  */
 @Component
 public class ColumnConverter implements ColumnConverterReactive {
 
+    /**
+     * Types r2dbc-postgresql decodes the columns of this schema to, which are read from the row without conversion.
+     */
+    private static final Set<Class<?>> DRIVER_TYPES = Set.of(
+        Long.class,
+        Integer.class,
+        Short.class,
+        String.class,
+        Boolean.class,
+        Instant.class,
+        LocalDate.class,
+        LocalDateTime.class,
+        UUID.class,
+        byte[].class
+    );
+
+    private static final String METER_NAME = "r2dbc.column.converters";
+
+    /**
+     * The types of a conversion.
+     */
+    private record ConversionTypes(Class<?> source, Class<?> target) {}
+
     private final ConversionService conversionService;
     private final R2dbcCustomConversions conversions;
+    private final Map<ConversionTypes, Function<Object, Object>> converters = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
 
-    public ColumnConverter(R2dbcCustomConversions conversions, R2dbcConverter r2dbcConverter) {
+    public ColumnConverter(R2dbcCustomConversions conversions, R2dbcConverter r2dbcConverter, MeterRegistry meterRegistry) {
         this.conversionService = r2dbcConverter.getConversionService();
         this.conversions = conversions;
+        this.hits = Counter.builder(METER_NAME)
+            .description("Conversions of a column value whose converter was cached")
+            .tag("cache", "hit")
+            .register(meterRegistry);
+        this.misses = Counter.builder(METER_NAME)
+            .description("Conversions of a column value whose converter was resolved")
+            .tag("cache", "miss")
+            .register(meterRegistry);
+        Gauge.builder(METER_NAME + ".cached", converters, Map::size)
+            .description("Converters resolved for a source and a target type")
+            .register(meterRegistry);
     }
 
     /**
@@ -33,19 +84,39 @@ public class ColumnConverter implements ColumnConverterReactive {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T convert(@Nullable Object value, @Nullable Class<T> target) {
-        if (value == null || target == null || ClassUtils.isAssignableValue(target, value)) {
+        if (value == null || target == null) {
             return (T) value;
         }
+        ConversionTypes types = new ConversionTypes(value.getClass(), target);
+        Function<Object, Object> converter = converters.get(types);
+        if (converter != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            converter = converters.computeIfAbsent(types, this::resolve);
+        }
+        return (T) converter.apply(value);
+    }
 
-        if (conversions.hasCustomReadTarget(value.getClass(), target)) {
-            return conversionService.convert(value, target);
+    /**
+     * Resolves how to convert the values of a type to another.
+     */
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private Function<Object, Object> resolve(ConversionTypes types) {
+        Class<?> target = types.target();
+        if (ClassUtils.isAssignable(target, types.source())) {
+            return Function.identity();
+        }
+
+        if (conversions.hasCustomReadTarget(types.source(), target)) {
+            return value -> conversionService.convert(value, target);
         }
 
         if (Enum.class.isAssignableFrom(target)) {
-            return (T) Enum.valueOf((Class<Enum>) target, value.toString());
+            return value -> Enum.valueOf((Class<Enum>) target, value.toString());
         }
 
-        return conversionService.convert(value, target);
+        return value -> conversionService.convert(value, target);
     }
 
     /**
@@ -57,12 +128,24 @@ public class ColumnConverter implements ColumnConverterReactive {
      * @return the value which can be constructed from the input.
      */
     public <T> T fromRow(Row row, String columnName, Class<T> target) {
-        try {
-            // try, directly the driver
+        if (DRIVER_TYPES.contains(target)) {
             return row.get(columnName, target);
-        } catch (Exception e) {
-            Object obj = row.get(columnName);
-            return convert(obj, target);
         }
+        return convert(row.get(columnName), target);
+    }
+
+    /**
+     * Convert a value from the {@link Row} to a type - throws an exception, if it's impossible.
+     * @param row which contains the column values.
+     * @param target class.
+     * @param index the position of the column which to convert.
+     * @param <T> the parameter for the intended type.
+     * @return the value which can be constructed from the input.
+     */
+    public <T> T fromRow(Row row, int index, Class<T> target) {
+        if (DRIVER_TYPES.contains(target)) {
+            return row.get(index, target);
+        }
+        return convert(row.get(index), target);
     }
 }
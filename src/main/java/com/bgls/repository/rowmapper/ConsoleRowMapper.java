@@ -2,32 +2,33 @@ package com.bgls.repository.rowmapper;
 
 import com.bgls.domain.Console;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Console}, with proper type conversions.
  */
 @Service
-public class ConsoleRowMapper implements BiFunction<Row, String, Console> {
+public class ConsoleRowMapper extends PrefixedRowMapper<Console> {
 
-    private final ColumnConverter converter;
+    private static final int NAME = 1;
+    private static final int IMAGE_CONTENT_TYPE = 2;
+    private static final int IMAGE_HASH = 3;
 
     public ConsoleRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        super(converter, "id", "name", "image_content_type", "image_hash");
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and the positions of its columns, and extract all the fields.
      * @return the {@link Console} stored in the database.
      */
     @Override
-    public Console apply(Row row, String prefix) {
+    protected Console map(Row row, RowColumns columns, Long id) {
         Console entity = new Console();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setImageContentType(converter.fromRow(row, prefix + "_image_content_type", String.class));
-        entity.setImage(converter.fromRow(row, prefix + "_image", byte[].class));
+        entity.setId(id);
+        entity.setName(columns.getString(row, NAME));
+        entity.setImageContentType(columns.getString(row, IMAGE_CONTENT_TYPE));
+        entity.setImageHash(columns.getString(row, IMAGE_HASH));
         return entity;
     }
 }
@@ -2,33 +2,35 @@ package com.bgls.repository.rowmapper;
 
 import com.bgls.domain.Game;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Game}, with proper type conversions.
  */
 @Service
-public class GameRowMapper implements BiFunction<Row, String, Game> {
+public class GameRowMapper extends PrefixedRowMapper<Game> {
 
-    private final ColumnConverter converter;
+    private static final int NAME = 1;
+    private static final int COVER_CONTENT_TYPE = 2;
+    private static final int COVER_HASH = 3;
+    private static final int CONSOLE_ID = 4;
 
     public GameRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        super(converter, "id", "name", "cover_content_type", "cover_hash", "console_id");
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and the positions of its columns, and extract all the fields.
      * @return the {@link Game} stored in the database.
      */
     @Override
-    public Game apply(Row row, String prefix) {
+    protected Game map(Row row, RowColumns columns, Long id) {
         Game entity = new Game();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setCoverContentType(converter.fromRow(row, prefix + "_cover_content_type", String.class));
-        entity.setCover(converter.fromRow(row, prefix + "_cover", byte[].class));
-        entity.setConsoleId(converter.fromRow(row, prefix + "_console_id", Long.class));
+        entity.setId(id);
+        entity.setName(columns.getString(row, NAME));
+        entity.setCoverContentType(columns.getString(row, COVER_CONTENT_TYPE));
+        entity.setCoverHash(columns.getString(row, COVER_HASH));
+        entity.setConsoleId(columns.getLong(row, CONSOLE_ID));
         return entity;
     }
 }
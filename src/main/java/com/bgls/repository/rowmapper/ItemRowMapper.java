@@ -2,32 +2,33 @@ package com.bgls.repository.rowmapper;
 
 import com.bgls.domain.Item;
 import io.r2dbc.spi.Row;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link Item}, with proper type conversions.
  */
 @Service
-public class ItemRowMapper implements BiFunction<Row, String, Item> {
+public class ItemRowMapper extends PrefixedRowMapper<Item> {
 
-    private final ColumnConverter converter;
+    private static final int OWNER_ID = 1;
+    private static final int LENDED_TO_ID = 2;
+    private static final int GAME_ID = 3;
 
     public ItemRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        super(converter, "id", "owner_id", "lended_to_id", "game_id");
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and the positions of its columns, and extract all the fields.
      * @return the {@link Item} stored in the database.
      */
     @Override
-    public Item apply(Row row, String prefix) {
+    protected Item map(Row row, RowColumns columns, Long id) {
         Item entity = new Item();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setOwnerId(converter.fromRow(row, prefix + "_owner_id", Long.class));
-        entity.setLendedToId(converter.fromRow(row, prefix + "_lended_to_id", Long.class));
-        entity.setGameId(converter.fromRow(row, prefix + "_game_id", Long.class));
+        entity.setId(id);
+        entity.setOwnerId(columns.getLong(row, OWNER_ID));
+        entity.setLendedToId(columns.getLong(row, LENDED_TO_ID));
+        entity.setGameId(columns.getLong(row, GAME_ID));
         return entity;
     }
 }
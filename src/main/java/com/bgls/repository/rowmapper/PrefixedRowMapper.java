@@ -0,0 +1,80 @@
+package com.bgls.repository.rowmapper;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Base class of the converters from a {@link Row} to an entity whose columns are aliased with a prefix, such as
+ * {@code e_id} or {@code owner_login}.
+ * <p>
+ * The aliases of each prefix are built once, and the positions of the columns once per result, see {@link RowColumns}.
+ * The first column is the id: a row whose id is {@code null}, such as an absent relation read through a left join, maps
+ * to {@code null}.
+ *
+ * @param <T> the type of the entity.
+ */
+public abstract class PrefixedRowMapper<T> {
+
+    static final int ID = 0;
+
+    private final ColumnConverter converter;
+    private final String[] columns;
+    private final Map<String, String[]> aliasesByPrefix = new ConcurrentHashMap<>();
+
+    /**
+     * @param converter converts the values the driver does not decode to their type.
+     * @param columns the names of the columns, without prefix, the id first.
+     */
+    protected PrefixedRowMapper(ColumnConverter converter, String... columns) {
+        this.converter = converter;
+        this.columns = columns;
+    }
+
+    /**
+     * Creates the mapper of the rows of one result holding the columns aliased with the given prefix.
+     * <p>
+     * The mapper keeps the positions resolved from the metadata of the last result it read, and should be created for
+     * each statement executed.
+     *
+     * @param prefix the prefix of the aliases of the columns.
+     * @return the mapper, returning {@code null} for the rows with a {@code null} id.
+     */
+    public BiFunction<Row, RowMetadata, T> withPrefix(String prefix) {
+        String[] aliases = aliasesByPrefix.computeIfAbsent(prefix, this::aliases);
+        return new BiFunction<>() {
+            private RowColumns resolved;
+
+            @Override
+            public T apply(Row row, RowMetadata metadata) {
+                RowColumns positions = resolved;
+                if (positions == null || !positions.isResolvedFrom(metadata)) {
+                    positions = RowColumns.resolve(metadata, aliases, converter);
+                    resolved = positions;
+                }
+                Long id = positions.getLong(row, ID);
+                return id != null ? map(row, positions, id) : null;
+            }
+        };
+    }
+
+    /**
+     * Reads the entity from a row.
+     *
+     * @param row the row.
+     * @param columns the positions of the columns, numbered in the order given to the constructor.
+     * @param id the id of the entity, read from the first column.
+     * @return the entity.
+     */
+    protected abstract T map(Row row, RowColumns columns, Long id);
+
+    private String[] aliases(String prefix) {
+        String[] aliases = new String[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            aliases[i] = prefix + "_" + columns[i];
+        }
+        return aliases;
+    }
+}
@@ -0,0 +1,83 @@
+package com.bgls.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Positions of the columns of an entity in the rows of one result, resolved once from its {@link RowMetadata} so that
+ * each row is read by index rather than by name.
+ * <p>
+ * The columns are numbered as listed by the mapper; a column missing from the result reads as {@code null}.
+ */
+public final class RowColumns {
+
+    private final RowMetadata metadata;
+    private final int[] positions;
+    private final ColumnConverter converter;
+
+    private RowColumns(RowMetadata metadata, int[] positions, ColumnConverter converter) {
+        this.metadata = metadata;
+        this.positions = positions;
+        this.converter = converter;
+    }
+
+    /**
+     * Resolves the positions of the given columns in a result.
+     *
+     * @param metadata the metadata of the result.
+     * @param aliases the names of the columns in the result, as aliased by the select.
+     * @param converter converts the values the driver does not decode to their type.
+     * @return the positions.
+     */
+    static RowColumns resolve(RowMetadata metadata, String[] aliases, ColumnConverter converter) {
+        List<? extends ColumnMetadata> columns = metadata.getColumnMetadatas();
+        // PostgreSQL folds the unquoted aliases to lower case
+        Map<String, Integer> positionsByName = new HashMap<>(columns.size() * 2);
+        for (int i = 0; i < columns.size(); i++) {
+            positionsByName.putIfAbsent(columns.get(i).getName().toLowerCase(Locale.ROOT), i);
+        }
+        int[] positions = new int[aliases.length];
+        for (int i = 0; i < aliases.length; i++) {
+            positions[i] = positionsByName.getOrDefault(aliases[i].toLowerCase(Locale.ROOT), -1);
+        }
+        return new RowColumns(metadata, positions, converter);
+    }
+
+    boolean isResolvedFrom(RowMetadata metadata) {
+        return this.metadata == metadata;
+    }
+
+    public Long getLong(Row row, int column) {
+        int position = positions[column];
+        return position < 0 ? null : row.get(position, Long.class);
+    }
+
+    public String getString(Row row, int column) {
+        int position = positions[column];
+        return position < 0 ? null : row.get(position, String.class);
+    }
+
+    public Boolean getBoolean(Row row, int column) {
+        int position = positions[column];
+        return position < 0 ? null : row.get(position, Boolean.class);
+    }
+
+    public Instant getInstant(Row row, int column) {
+        int position = positions[column];
+        return position < 0 ? null : row.get(position, Instant.class);
+    }
+
+    /**
+     * Reads a column of a type which may need a conversion, see {@link ColumnConverter#fromRow(Row, int, Class)}.
+     */
+    public <T> T get(Row row, int column, Class<T> type) {
+        int position = positions[column];
+        return position < 0 ? null : converter.fromRow(row, position, type);
+    }
+}
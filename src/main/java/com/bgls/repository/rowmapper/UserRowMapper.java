@@ -2,41 +2,63 @@ package com.bgls.repository.rowmapper;
 
 import com.bgls.domain.User;
 import io.r2dbc.spi.Row;
-import java.time.Instant;
-import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
 /**
  * Converter between {@link Row} to {@link User}, with proper type conversions.
  */
 @Service
-public class UserRowMapper implements BiFunction<Row, String, User> {
+public class UserRowMapper extends PrefixedRowMapper<User> {
 
-    private final ColumnConverter converter;
+    private static final int LOGIN = 1;
+    private static final int PASSWORD = 2;
+    private static final int FIRST_NAME = 3;
+    private static final int LAST_NAME = 4;
+    private static final int EMAIL = 5;
+    private static final int ACTIVATED = 6;
+    private static final int LANG_KEY = 7;
+    private static final int IMAGE_URL = 8;
+    private static final int ACTIVATION_KEY = 9;
+    private static final int RESET_KEY = 10;
+    private static final int RESET_DATE = 11;
 
     public UserRowMapper(ColumnConverter converter) {
-        this.converter = converter;
+        super(
+            converter,
+            "id",
+            "login",
+            "password",
+            "first_name",
+            "last_name",
+            "email",
+            "activated",
+            "lang_key",
+            "image_url",
+            "activation_key",
+            "reset_key",
+            "reset_date"
+        );
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
+     * Take a {@link Row} and the positions of its columns, and extract all the fields.
      * @return the {@link User} stored in the database.
      */
     @Override
-    public User apply(Row row, String prefix) {
+    protected User map(Row row, RowColumns columns, Long id) {
         User entity = new User();
-        entity.setId(row.get(prefix + "_id", Long.class));
-        entity.setLogin(converter.fromRow(row, prefix + "_login", String.class));
-        entity.setPassword(converter.fromRow(row, prefix + "_password", String.class));
-        entity.setFirstName(converter.fromRow(row, prefix + "_first_name", String.class));
-        entity.setLastName(converter.fromRow(row, prefix + "_last_name", String.class));
-        entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
-        entity.setActivated(Boolean.TRUE.equals(converter.fromRow(row, prefix + "_activated", Boolean.class)));
-        entity.setLangKey(converter.fromRow(row, prefix + "_lang_key", String.class));
-        entity.setImageUrl(converter.fromRow(row, prefix + "_image_url", String.class));
-        entity.setActivationKey(converter.fromRow(row, prefix + "_activation_key", String.class));
-        entity.setResetKey(converter.fromRow(row, prefix + "_reset_key", String.class));
-        entity.setResetDate(converter.fromRow(row, prefix + "_reset_date", Instant.class));
+        entity.setId(id);
+        entity.setLogin(columns.getString(row, LOGIN));
+        entity.setPassword(columns.getString(row, PASSWORD));
+        entity.setFirstName(columns.getString(row, FIRST_NAME));
+        entity.setLastName(columns.getString(row, LAST_NAME));
+        entity.setEmail(columns.getString(row, EMAIL));
+        entity.setActivated(Boolean.TRUE.equals(columns.getBoolean(row, ACTIVATED)));
+        entity.setLangKey(columns.getString(row, LANG_KEY));
+        entity.setImageUrl(columns.getString(row, IMAGE_URL));
+        entity.setActivationKey(columns.getString(row, ACTIVATION_KEY));
+        entity.setResetKey(columns.getString(row, RESET_KEY));
+        entity.setResetDate(columns.getInstant(row, RESET_DATE));
         return entity;
     }
 }
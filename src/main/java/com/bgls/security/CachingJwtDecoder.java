@@ -0,0 +1,124 @@
+package com.bgls.security;
+
+import com.bgls.management.SecurityMetersService;
+import com.nimbusds.jose.proc.BadJWSException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidationException;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+/**
+ * Decoder of the JWTs keeping those it verified until they expire, as the clients present the same token with each of
+ * their requests.
+ * <p>
+ * The tokens are parsed and their signature and claims verified by the decoder this one delegates to, once: each token
+ * verified is then kept under its SHA-256 digest until its {@code exp} claim, the least recently used being evicted first
+ * once {@code application.cache.tokens.max-tokens} are kept. The tokens which do not expire are not kept. The invalid
+ * tokens are counted by cause, told from the type of the exception thrown by the delegate, whose only validator must be
+ * the {@link org.springframework.security.oauth2.jwt.JwtTimestampValidator}.
+ */
+public final class CachingJwtDecoder implements ReactiveJwtDecoder {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingJwtDecoder.class);
+
+    private final ReactiveJwtDecoder delegate;
+
+    private final SecurityMetersService metersService;
+
+    private final Clock clock;
+
+    private final Map<String, Jwt> verifiedTokens;
+
+    /**
+     * @param delegate parses and verifies the tokens not kept.
+     * @param maxTokens the largest number of tokens kept.
+     * @param metersService the meters of the tokens.
+     */
+    public CachingJwtDecoder(ReactiveJwtDecoder delegate, int maxTokens, SecurityMetersService metersService) {
+        this(delegate, maxTokens, metersService, Clock.systemUTC());
+    }
+
+    CachingJwtDecoder(ReactiveJwtDecoder delegate, int maxTokens, SecurityMetersService metersService, Clock clock) {
+        this.delegate = delegate;
+        this.metersService = metersService;
+        this.clock = clock;
+        this.verifiedTokens = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Jwt> eldest) {
+                return size() > maxTokens;
+            }
+        };
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        return Mono.defer(() -> {
+            String key = digest(token);
+            Jwt verified = getVerified(key, token);
+            if (verified != null) {
+                metersService.trackTokenCacheHit();
+                return Mono.just(verified);
+            }
+            metersService.trackTokenCacheMiss();
+            long start = System.nanoTime();
+            return Mono.defer(() -> delegate.decode(token))
+                .doOnNext(jwt -> putVerified(key, jwt))
+                .doOnError(this::trackInvalidToken)
+                .doFinally(signal -> metersService.recordTokenDecode(System.nanoTime() - start));
+        });
+    }
+
+    private synchronized Jwt getVerified(String key, String token) {
+        Jwt jwt = verifiedTokens.get(key);
+        if (jwt == null) {
+            return null;
+        }
+        if (!jwt.getExpiresAt().isAfter(clock.instant())) {
+            verifiedTokens.remove(key);
+            return null;
+        }
+        return jwt.getTokenValue().equals(token) ? jwt : null;
+    }
+
+    private synchronized void putVerified(String key, Jwt jwt) {
+        Instant expiresAt = jwt.getExpiresAt();
+        if (expiresAt != null && expiresAt.isAfter(clock.instant())) {
+            verifiedTokens.put(key, jwt);
+        }
+    }
+
+    private void trackInvalidToken(Throwable e) {
+        if (e instanceof JwtValidationException) {
+            metersService.trackTokenExpired();
+        } else if (e.getCause() instanceof ParseException) {
+            metersService.trackTokenMalformed();
+        } else if (e.getCause() instanceof BadJWSException) {
+            metersService.trackTokenInvalidSignature();
+        } else if (e instanceof BadJwtException) {
+            metersService.trackTokenUnsupported();
+        } else {
+            log.error("Unknown JWT error {}", e.getMessage());
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
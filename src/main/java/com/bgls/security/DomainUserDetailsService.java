@@ -8,6 +8,7 @@ import org.hibernate.validator.internal.constraintvalidators.hv.EmailValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
 import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -16,10 +17,10 @@ import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
 /**
- * Authenticate a user from the database.
+ * Authenticate a user from the database, and store the password of the users hashed again when they log in.
  */
 @Component("userDetailsService")
-public class DomainUserDetailsService implements ReactiveUserDetailsService {
+public class DomainUserDetailsService implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
 
     private static final Logger log = LoggerFactory.getLogger(DomainUserDetailsService.class);
 
@@ -48,6 +49,22 @@ public class DomainUserDetailsService implements ReactiveUserDetailsService {
             .map(user -> createSpringSecurityUser(lowercaseLogin, user));
     }
 
+    /**
+     * Stores the password of a user hashed again, such as with another cost factor, once the user logged in with it.
+     */
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails userDetails, String newPassword) {
+        log.debug("Hashing again the password of {}", userDetails.getUsername());
+        return userRepository
+            .findOneByLogin(userDetails.getUsername())
+            .flatMap(user -> {
+                user.setPassword(newPassword);
+                return userRepository.save(user);
+            })
+            .doOnNext(userRepository::clearCaches)
+            .thenReturn(org.springframework.security.core.userdetails.User.withUserDetails(userDetails).password(newPassword).build());
+    }
+
     private org.springframework.security.core.userdetails.User createSpringSecurityUser(String lowercaseLogin, User user) {
         if (!user.isActivated()) {
             throw new UserNotActivatedException("User " + lowercaseLogin + " was not activated");
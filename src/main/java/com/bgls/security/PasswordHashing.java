@@ -0,0 +1,167 @@
+package com.bgls.security;
+
+import com.bgls.config.ApplicationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Hashes the passwords with BCrypt on threads of their own, so that a burst of logins neither competes with nor exhausts
+ * the threads shared by the other blocking tasks.
+ * <p>
+ * The hashings run on {@code application.password-hashing.threads}, at most {@code max-queued} of them waiting for one:
+ * the next ones fail with a {@link PasswordHashingBusyException}, answered with the status
+ * {@code 503 (Service Unavailable)}. The {@link #passwordEncoder() encoder} hashes with the cost factor
+ * {@code strength}, and asks for the passwords hashed with another one to be hashed again. The
+ * {@code security.password.hashing} timer, tagged with the {@code operation}, records the time taken by each hashing, the
+ * {@code security.password.hashing.queued} gauge the hashings waiting for a thread, and the
+ * {@code security.password.hashing.rejected} counter those failed for want of one.
+ */
+public class PasswordHashing {
+
+    private static final String METER_NAME = "security.password.hashing";
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$");
+
+    private final int strength;
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Scheduler scheduler;
+
+    public PasswordHashing(ApplicationProperties.PasswordHashing properties, MeterRegistry registry) {
+        this.strength = properties.getStrength();
+        this.passwordEncoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(strength), registry);
+        int threads = Math.max(1, properties.getThreads());
+        Counter rejected = Counter.builder(METER_NAME + ".rejected")
+            .description("Hashings of passwords failed as too many were waiting for a thread")
+            .register(registry);
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+            threads,
+            threads,
+            0,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, properties.getMaxQueued())),
+            runnable -> {
+                Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            (runnable, executor) -> {
+                rejected.increment();
+                throw new RejectedExecutionException("Too many passwords waiting to be hashed");
+            }
+        );
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hashing");
+        Gauge.builder(METER_NAME + ".queued", executor, pool -> pool.getQueue().size())
+            .description("Hashings of passwords waiting for a thread")
+            .register(registry);
+    }
+
+    /**
+     * The encoder of the passwords, whose hashings must run on the {@link #scheduler()}.
+     */
+    public PasswordEncoder passwordEncoder() {
+        return passwordEncoder;
+    }
+
+    /**
+     * The scheduler of the hashings, which fails them with a {@link RejectedExecutionException} once too many are waiting.
+     */
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    /**
+     * Hashes a password.
+     *
+     * @param rawPassword the password.
+     * @return the hash, or a {@link PasswordHashingBusyException} if too many are waiting.
+     */
+    public Mono<String> encode(CharSequence rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against its hash.
+     *
+     * @param rawPassword the password.
+     * @param encodedPassword the hash.
+     * @return whether they match, or a {@link PasswordHashingBusyException} if too many hashings are waiting.
+     */
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * Maps the rejections of the {@link #scheduler()} to a {@link PasswordHashingBusyException}.
+     */
+    public static Throwable busyOnRejection(Throwable error) {
+        return error instanceof RejectedExecutionException ? new PasswordHashingBusyException(error) : error;
+    }
+
+    /**
+     * Stops the threads, once the application context is closed.
+     */
+    public void shutdown() {
+        scheduler.dispose();
+    }
+
+    private <T> Mono<T> run(Callable<T> hashing) {
+        return Mono.fromCallable(hashing).subscribeOn(scheduler).onErrorMap(PasswordHashing::busyOnRejection);
+    }
+
+    /**
+     * The BCrypt encoder, timed, asking for the passwords hashed with another cost factor to be hashed again.
+     */
+    private final class TimedPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate;
+
+        private final Timer encodes;
+
+        private final Timer matches;
+
+        private TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry registry) {
+            this.delegate = delegate;
+            this.encodes = Timer.builder(METER_NAME).description("Hashings of passwords").tag("operation", "encode").register(registry);
+            this.matches = Timer.builder(METER_NAME).description("Hashings of passwords").tag("operation", "matches").register(registry);
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return encodes.record(() -> delegate.encode(rawPassword));
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return matches.record(() -> delegate.matches(rawPassword, encodedPassword));
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            if (encodedPassword == null) {
+                return false;
+            }
+            Matcher cost = BCRYPT_COST.matcher(encodedPassword);
+            return cost.find() && Integer.parseInt(cost.group(1)) != strength;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.bgls.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * This exception is thrown when too many passwords are waiting to be hashed.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingBusyException(Throwable cause) {
+        super("Too many passwords are waiting to be hashed, try again later", cause);
+    }
+}
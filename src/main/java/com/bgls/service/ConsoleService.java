@@ -1,6 +1,7 @@
 package com.bgls.service;
 
 import com.bgls.service.dto.ConsoleDTO;
+import java.util.List;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -8,6 +9,14 @@ import reactor.core.publisher.Mono;
  * Service Interface for managing {@link com.bgls.domain.Console}.
  */
 public interface ConsoleService {
+    /**
+     * All the consoles, along with the version of their current state.
+     *
+     * @param consoles the consoles.
+     * @param version the hash of the consoles, changing along with any of them, which serves as their ETag.
+     */
+    record Consoles(List<ConsoleDTO> consoles, String version) {}
+
     /**
      * Save a console.
      *
@@ -39,6 +48,13 @@ public interface ConsoleService {
      */
     Flux<ConsoleDTO> findAll();
 
+    /**
+     * Get all the consoles, along with their version.
+     *
+     * @return the list of entities and its version.
+     */
+    Mono<Consoles> findAllWithVersion();
+
     /**
      * Returns the number of consoles available.
      * @return the number of entities in the database.
@@ -54,6 +70,23 @@ public interface ConsoleService {
      */
     Mono<ConsoleDTO> findOne(Long id);
 
+    /**
+     * Get the image of the "id" console, without reading its other fields.
+     *
+     * @param id the id of the entity.
+     * @return the entity, with only its id, image and image content type.
+     */
+    Mono<ConsoleDTO> findImage(Long id);
+
+    /**
+     * Replace the image of the "id" console.
+     *
+     * @param id the id of the entity.
+     * @param image the uploaded image.
+     * @return the updated entity, or empty if there is no such console.
+     */
+    Mono<ConsoleDTO> updateImage(Long id, ImageUploadService.ImageUpload image);
+
     /**
      * Delete the "id" console.
      *
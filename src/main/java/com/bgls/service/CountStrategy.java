@@ -0,0 +1,27 @@
+package com.bgls.service;
+
+/**
+ * How the total count sent along with a page of a list is obtained, see {@link TotalCountService}.
+ */
+public enum CountStrategy {
+    /**
+     * Counted by the database for every page.
+     */
+    EXACT,
+
+    /**
+     * Counted by the database, then reused for the following pages until it expires or the list is written to.
+     */
+    CACHED,
+
+    /**
+     * Counted by the database along with the page, in the same statement, with the {@code COUNT(*) OVER ()} window
+     * function. Lists whose page is not read that way are counted {@linkplain #EXACT exactly}.
+     */
+    WINDOW,
+
+    /**
+     * Estimated by the query planner from the table statistics, without reading the rows.
+     */
+    ESTIMATED,
+}
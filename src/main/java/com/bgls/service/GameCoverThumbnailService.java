@@ -0,0 +1,179 @@
+package com.bgls.service;
+
+import com.bgls.config.ApplicationProperties;
+import com.bgls.domain.GameCoverThumbnail;
+import com.bgls.repository.GameCoverThumbnailRepository;
+import com.bgls.repository.GameRepository;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service generating and serving the thumbnails of the game covers.
+ * <p>
+ * Decoding and resizing a cover is CPU bound and blocking, so it runs on a dedicated scheduler whose threads are capped
+ * by {@code application.thumbnails.concurrency}, away from the event loop. The thumbnails are generated in the background
+ * whenever a cover changes, and until they are the cover itself is served instead. A cover giving no thumbnail, being
+ * unsupported, declaring more than {@code application.thumbnails.max-pixels} pixels or already small enough, is recorded
+ * as such, so that the backfill does not process it again.
+ * <p>
+ * The thumbnails are kept in the {@link ImageStorage} like the covers, so that they are served from it the same way and
+ * identical thumbnails are stored once.
+ */
+@Service
+public class GameCoverThumbnailService implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(GameCoverThumbnailService.class);
+
+    private final GameRepository gameRepository;
+
+    private final GameCoverThumbnailRepository gameCoverThumbnailRepository;
+
+    private final ImageStorage imageStorage;
+
+    private final ApplicationProperties.Thumbnails properties;
+
+    private final Scheduler scheduler;
+
+    public GameCoverThumbnailService(
+        GameRepository gameRepository,
+        GameCoverThumbnailRepository gameCoverThumbnailRepository,
+        ImageStorage imageStorage,
+        ApplicationProperties applicationProperties
+    ) {
+        this.gameRepository = gameRepository;
+        this.gameCoverThumbnailRepository = gameCoverThumbnailRepository;
+        this.imageStorage = imageStorage;
+        this.properties = applicationProperties.getThumbnails();
+        this.scheduler = Schedulers.newBoundedElastic(
+            properties.getConcurrency(),
+            Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE,
+            "thumbnails"
+        );
+    }
+
+    /**
+     * Finds the thumbnail to serve for a requested size: the smallest one at least as large, generated from the current cover.
+     *
+     * @param gameId the id of the game.
+     * @param size the requested size, in pixels.
+     * @return the thumbnail, or empty if none fits: the cover itself should then be served.
+     */
+    public Mono<GameCoverThumbnail> findThumbnail(Long gameId, int size) {
+        return gameCoverThumbnailRepository.findFittingThumbnail(gameId, size);
+    }
+
+    /**
+     * Generates the thumbnails of a game whose cover was just saved, or deletes them if it has none anymore, in the background.
+     * <p>
+     * A failure is only logged: the thumbnails left behind no longer match the cover, so they are not served and the next
+     * backfill generates them again.
+     *
+     * @param gameId the id of the saved game.
+     * @param coverHash the hash of its cover in the {@link ImageStorage}, or {@code null} if it has none.
+     */
+    public void refreshInBackground(Long gameId, String coverHash) {
+        refresh(gameId, coverHash).subscribe(
+            count -> log.debug("Generated {} thumbnails for Game : {}", count, gameId),
+            e -> log.warn("Could not generate the thumbnails of Game {}: {}", gameId, e.getMessage())
+        );
+    }
+
+    /**
+     * Generates the thumbnails of every game whose cover has none, {@code application.thumbnails.backfill-batch-size}
+     * games at a time, each batch being processed by at most {@code application.thumbnails.concurrency} workers.
+     *
+     * @return the number of games processed.
+     */
+    public Mono<Long> backfill() {
+        int batchSize = properties.getBackfillBatchSize();
+        return findBatch(0L, batchSize)
+            .expand(ids -> ids.size() < batchSize ? Mono.empty() : findBatch(ids.get(ids.size() - 1), batchSize))
+            .concatMap(ids -> Flux.fromIterable(ids).flatMap(this::refresh, properties.getConcurrency()).count())
+            .reduce(0L, Long::sum);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        if (!properties.isBackfillOnStartup()) {
+            return;
+        }
+        backfill().subscribe(
+            count -> log.info("Backfilled the cover thumbnails of {} games", count),
+            e -> log.warn("Could not backfill the cover thumbnails: {}", e.getMessage())
+        );
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private Mono<List<Long>> findBatch(long afterId, int batchSize) {
+        return gameCoverThumbnailRepository.findGameIdsWithoutThumbnails(afterId, batchSize).collectList().filter(ids -> !ids.isEmpty());
+    }
+
+    private Mono<Integer> refresh(Long gameId) {
+        return gameRepository.findCoverById(gameId).flatMap(game -> refresh(gameId, game.getCoverHash()));
+    }
+
+    private Mono<Integer> refresh(Long gameId, String coverHash) {
+        if (coverHash == null) {
+            return gameCoverThumbnailRepository.deleteOutdated(gameId, null).thenReturn(0);
+        }
+        return imageStorage
+            .find(coverHash)
+            .flatMap(cover -> Mono.fromCallable(() -> generate(gameId, cover)).subscribeOn(scheduler))
+            .flatMap(thumbnails -> store(gameId, coverHash, thumbnails))
+            .defaultIfEmpty(0)
+            .flatMap(count -> gameCoverThumbnailRepository.deleteOutdated(gameId, coverHash).thenReturn(count));
+    }
+
+    private Mono<Integer> store(Long gameId, String coverHash, List<ThumbnailUtil.Thumbnail> thumbnails) {
+        if (thumbnails.isEmpty()) {
+            return gameCoverThumbnailRepository.markWithoutThumbnails(gameId, coverHash).thenReturn(0);
+        }
+        return Flux.fromIterable(thumbnails)
+            .concatMap(thumbnail ->
+                imageStorage
+                    .store(thumbnail.content())
+                    .flatMap(hash ->
+                        gameCoverThumbnailRepository.upsert(gameId, thumbnail.size(), hash, thumbnail.contentType(), coverHash)
+                    )
+            )
+            .count()
+            .map(Long::intValue);
+    }
+
+    private List<ThumbnailUtil.Thumbnail> generate(Long gameId, Resource cover) throws IOException {
+        List<ThumbnailUtil.Thumbnail> thumbnails = new ArrayList<>();
+        BufferedImage image;
+        try (InputStream content = cover.getInputStream()) {
+            image = ThumbnailUtil.read(content, properties.getMaxPixels());
+        }
+        if (image == null) {
+            log.debug("The cover of Game {} is not a supported image of at most {} pixels", gameId, properties.getMaxPixels());
+            return thumbnails;
+        }
+        for (Integer size : properties.getSizes()) {
+            ThumbnailUtil.Thumbnail thumbnail = ThumbnailUtil.thumbnail(image, size);
+            if (thumbnail != null) {
+                thumbnails.add(thumbnail);
+            }
+        }
+        return thumbnails;
+    }
+}
@@ -1,7 +1,11 @@
 package com.bgls.service;
 
 import com.bgls.domain.criteria.GameCriteria;
+import com.bgls.repository.SeekCursor;
 import com.bgls.service.dto.GameDTO;
+import com.bgls.service.dto.GameSearchResultDTO;
+import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,6 +45,24 @@ public interface GameService {
      */
     Flux<GameDTO> findByCriteria(GameCriteria criteria, Pageable pageable);
 
+    /**
+     * Find games by criteria, reading the page after the given keyset cursor.
+     *
+     * @param criteria filtering criteria.
+     * @param pageable the pagination information; its sort must be the cursor's one.
+     * @param after the cursor of the last row already read, or {@code null} for the first page.
+     * @return the list of entities.
+     */
+    Flux<GameDTO> findByCriteria(GameCriteria criteria, Pageable pageable, SeekCursor after);
+
+    /**
+     * Find a page of games by criteria along with their count, in a single statement.
+     * @param criteria filtering criteria
+     * @param pageable the pagination information
+     * @return the page of games
+     */
+    Mono<Page<GameDTO>> findPageByCriteria(GameCriteria criteria, Pageable pageable);
+
     /**
      * Find the count of games by criteria.
      * @param criteria filtering criteria
@@ -48,6 +70,13 @@ public interface GameService {
      */
     public Mono<Long> countByCriteria(GameCriteria criteria);
 
+    /**
+     * Get the total count of games by criteria sent along with a page, as configured for the {@link TotalCountService#GAMES} list.
+     * @param criteria filtering criteria
+     * @return the total count of games
+     */
+    Mono<TotalCountService.TotalCount> totalCountByCriteria(GameCriteria criteria);
+
     /**
      * Get all the games with eager load of many-to-many relationships.
      *
@@ -71,6 +100,31 @@ public interface GameService {
      */
     Mono<GameDTO> findOne(Long id);
 
+    /**
+     * Get the games with the given ids.
+     *
+     * @param ids the ids of the entities.
+     * @return the entities found, in the order of the ids.
+     */
+    Flux<GameDTO> findAllByIds(List<Long> ids);
+
+    /**
+     * Get the cover of the "id" game, without reading its other fields.
+     *
+     * @param id the id of the entity.
+     * @return the entity, with only its id, cover and cover content type.
+     */
+    Mono<GameDTO> findCover(Long id);
+
+    /**
+     * Replace the cover of the "id" game.
+     *
+     * @param id the id of the entity.
+     * @param cover the uploaded cover.
+     * @return the updated entity, or empty if there is no such game.
+     */
+    Mono<GameDTO> updateCover(Long id, ImageUploadService.ImageUpload cover);
+
     /**
      * Delete the "id" game.
      *
@@ -79,5 +133,13 @@ public interface GameService {
      */
     Mono<Void> delete(Long id);
 
-    Flux<GameDTO> findByNameContainingIgnoreCase(String name);
+    /**
+     * Search the games by name, the closest matches first.
+     *
+     * @param name the searched name, or part of it.
+     * @param consoleId the id of the console of the games, if only games of one console are searched.
+     * @param limit the number of results, if not the default one: capped by {@code application.search.max-results}.
+     * @return the list of matching games.
+     */
+    Flux<GameSearchResultDTO> search(String name, Long consoleId, Integer limit);
 }
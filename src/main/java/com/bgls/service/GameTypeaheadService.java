@@ -0,0 +1,218 @@
+package com.bgls.service;
+
+import com.bgls.config.ApplicationProperties;
+import com.bgls.domain.Game;
+import com.bgls.repository.GameRepository;
+import com.bgls.service.dto.ConsoleDTO;
+import com.bgls.service.dto.GameSearchResultDTO;
+import com.bgls.service.mapper.GameMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service answering the game name searches from a {@link TypeaheadIndex} held in memory, without a database round trip.
+ * <p>
+ * The index is built once the application has started, then kept up to date by the writes of {@link GameService}, and
+ * rebuilt every {@code application.search.typeahead.rebuild-interval} to catch up with the writes of the other instances.
+ * Until it is first built, {@link #isReady()} is {@code false} and the searches go to the database.
+ */
+@Service
+public class GameTypeaheadService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameTypeaheadService.class);
+
+    private static final String INDEX_TAG = "index";
+
+    private static final String INDEX_NAME = "games";
+
+    private final GameRepository gameRepository;
+
+    private final GameMapper gameMapper;
+
+    private final ApplicationProperties.Search.Typeahead properties;
+
+    private final Timer rebuildTimer;
+
+    private volatile TypeaheadIndex<GameSearchResultDTO> index;
+
+    /**
+     * The updates applied while the index is rebuilt, applied again to the rebuilt one; {@code null} when not rebuilding.
+     */
+    private List<UnaryOperator<TypeaheadIndex<GameSearchResultDTO>>> pendingUpdates;
+
+    public GameTypeaheadService(
+        GameRepository gameRepository,
+        GameMapper gameMapper,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.gameRepository = gameRepository;
+        this.gameMapper = gameMapper;
+        this.properties = applicationProperties.getSearch().getTypeahead();
+        Gauge.builder("typeahead.index.size", this, service -> service.index != null ? service.index.size() : 0)
+            .description("Number of values held by a typeahead index")
+            .tag(INDEX_TAG, INDEX_NAME)
+            .register(registry);
+        Gauge.builder("typeahead.index.keys", this, service -> service.index != null ? service.index.keyCount() : 0)
+            .description("Number of keys the values of a typeahead index are found by")
+            .tag(INDEX_TAG, INDEX_NAME)
+            .register(registry);
+        this.rebuildTimer = Timer.builder("typeahead.index.rebuild")
+            .description("Time taken to rebuild a typeahead index from the database")
+            .tag(INDEX_TAG, INDEX_NAME)
+            .register(registry);
+    }
+
+    /**
+     * @return whether the index is built and enabled, and can answer the searches.
+     */
+    public boolean isReady() {
+        return properties.isEnabled() && index != null;
+    }
+
+    /**
+     * Searches the games by name in the index.
+     *
+     * @param name the searched name, or the beginning of one of its words.
+     * @param consoleId the id of the console of the games, if only games of one console are searched.
+     * @param limit the largest number of results.
+     * @return the matching games, the closest first, or an empty list if the index is not {@linkplain #isReady() ready}.
+     */
+    public List<GameSearchResultDTO> search(String name, Long consoleId, int limit) {
+        TypeaheadIndex<GameSearchResultDTO> current = index;
+        if (current == null) {
+            return List.of();
+        }
+        return current.search(name, limit, properties.getMaxEdits(), game -> consoleId == null || isOfConsole(game, consoleId));
+    }
+
+    /**
+     * Adds a saved game to the index, or updates it.
+     *
+     * @param game the saved game, along with its console.
+     */
+    public void put(Game game) {
+        GameSearchResultDTO result = gameMapper.toSearchResultDto(game);
+        update(current -> current.with(result));
+    }
+
+    /**
+     * Removes a deleted game from the index.
+     *
+     * @param id the id of the deleted game.
+     */
+    public void remove(Long id) {
+        update(current -> current.without(id));
+    }
+
+    /**
+     * Updates the name of a console shown along with its games.
+     *
+     * @param consoleId the id of the renamed console.
+     * @param name the new name of the console.
+     */
+    public void renameConsole(Long consoleId, String name) {
+        ConsoleDTO console = new ConsoleDTO();
+        console.setId(consoleId);
+        console.setName(name);
+        update(current ->
+            current.withUpdatedValues(
+                game -> isOfConsole(game, consoleId) && !Objects.equals(name, game.getConsole().getName()),
+                game -> {
+                    GameSearchResultDTO renamed = new GameSearchResultDTO();
+                    renamed.setId(game.getId());
+                    renamed.setName(game.getName());
+                    renamed.setConsole(console);
+                    return renamed;
+                }
+            )
+        );
+    }
+
+    /**
+     * Rebuilds the index from the database.
+     *
+     * @return the number of indexed games, or empty if the index is already being rebuilt.
+     */
+    public Mono<Integer> rebuild() {
+        return Mono.defer(() -> {
+            synchronized (this) {
+                if (pendingUpdates != null) {
+                    return Mono.empty();
+                }
+                pendingUpdates = new ArrayList<>();
+            }
+            long start = System.nanoTime();
+            return gameRepository
+                .findAllWithEagerRelationships()
+                .map(gameMapper::toSearchResultDto)
+                .collectList()
+                .map(games -> {
+                    TypeaheadIndex<GameSearchResultDTO> rebuilt = TypeaheadIndex.of(
+                        games,
+                        GameSearchResultDTO::getId,
+                        GameSearchResultDTO::getName
+                    );
+                    synchronized (this) {
+                        for (UnaryOperator<TypeaheadIndex<GameSearchResultDTO>> pendingUpdate : pendingUpdates) {
+                            rebuilt = pendingUpdate.apply(rebuilt);
+                        }
+                        pendingUpdates = null;
+                        index = rebuilt;
+                    }
+                    rebuildTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    return rebuilt.size();
+                })
+                .doOnError(e -> {
+                    synchronized (this) {
+                        pendingUpdates = null;
+                    }
+                });
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildInBackground();
+    }
+
+    @Scheduled(
+        initialDelayString = "${application.search.typeahead.rebuild-interval:PT10M}",
+        fixedDelayString = "${application.search.typeahead.rebuild-interval:PT10M}"
+    )
+    public void rebuildInBackground() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        rebuild().subscribe(
+            count -> log.debug("Rebuilt the typeahead index of {} games", count),
+            e -> log.warn("Could not rebuild the typeahead index of the games: {}", e.getMessage())
+        );
+    }
+
+    private static boolean isOfConsole(GameSearchResultDTO game, Long consoleId) {
+        return game.getConsole() != null && consoleId.equals(game.getConsole().getId());
+    }
+
+    private synchronized void update(UnaryOperator<TypeaheadIndex<GameSearchResultDTO>> update) {
+        if (pendingUpdates != null) {
+            pendingUpdates.add(update);
+        }
+        if (index != null) {
+            index = update.apply(index);
+        }
+    }
+}
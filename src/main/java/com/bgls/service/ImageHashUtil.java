@@ -0,0 +1,47 @@
+package com.bgls.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Computes the hash stored along with the game covers and console images, which versions their URLs and serves as their ETag.
+ */
+public final class ImageHashUtil {
+
+    private ImageHashUtil() {}
+
+    /**
+     * @param content the bytes of an image, if any.
+     * @return the SHA-256 of the content, hex encoded, or {@code null} if there is no content.
+     */
+    public static String hash(byte[] content) {
+        if (content == null) {
+            return null;
+        }
+        return hex(newDigest().digest(content));
+    }
+
+    /**
+     * @return a digest computing the hash of an image whose content is read in chunks.
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * @param digest the digest of {@link #newDigest()}, once the whole content has been read.
+     * @return the hash of the content, hex encoded.
+     */
+    public static String toHash(MessageDigest digest) {
+        return hex(digest.digest());
+    }
+
+    private static String hex(byte[] digest) {
+        return HexFormat.of().formatHex(digest);
+    }
+}
@@ -0,0 +1,46 @@
+package com.bgls.service;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Storage of the images stored with the entities, such as game covers and console images.
+ * <p>
+ * Images are addressed by their content: the key of an image is its hash, as computed by {@link ImageHashUtil}, so the same
+ * image uploaded twice is only stored once. The entities only keep that hash, never the image itself. An image may therefore
+ * be shared by several entities, and is never deleted along with one of them.
+ * <p>
+ * The implementation is selected with {@code application.images.storage.type}.
+ */
+public interface ImageStorage {
+    /**
+     * Stores an image.
+     * <p>
+     * Nothing is stored if the content ends with an error, which the returned {@link Mono} then signals.
+     *
+     * @param content the content of the image.
+     * @return the hash of the image, which finds it back.
+     */
+    Mono<String> store(Flux<DataBuffer> content);
+
+    /**
+     * Stores an image held in memory.
+     *
+     * @param content the bytes of the image.
+     * @return the hash of the image, which finds it back.
+     */
+    default Mono<String> store(byte[] content) {
+        return store(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(content)));
+    }
+
+    /**
+     * Finds an image.
+     *
+     * @param hash the hash of the image.
+     * @return the image, or empty if none is stored with this hash.
+     */
+    Mono<Resource> find(String hash);
+}
@@ -0,0 +1,73 @@
+package com.bgls.service;
+
+import java.util.Set;
+
+/**
+ * Detects the type of an image from its first bytes as it is uploaded, rather than trusting the content type sent by the
+ * client, so that the content type stored with the image can be served as is.
+ */
+public final class ImageTypeUtil {
+
+    /**
+     * The number of leading bytes needed to tell the supported types apart.
+     */
+    public static final int SIGNATURE_LENGTH = 12;
+
+    private static final byte[] PNG = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    private static final byte[] JPEG = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF };
+
+    private static final byte[] GIF87A = { 'G', 'I', 'F', '8', '7', 'a' };
+
+    private static final byte[] GIF89A = { 'G', 'I', 'F', '8', '9', 'a' };
+
+    private static final byte[] RIFF = { 'R', 'I', 'F', 'F' };
+
+    private static final byte[] WEBP = { 'W', 'E', 'B', 'P' };
+
+    private static final Set<String> SUPPORTED = Set.of("image/png", "image/jpeg", "image/gif", "image/webp");
+
+    private ImageTypeUtil() {}
+
+    /**
+     * @param head the first bytes of an image.
+     * @param length the number of bytes of {@code head} holding the image, at most {@link #SIGNATURE_LENGTH} are read.
+     * @return the content type of the image, or {@code null} if it is not a PNG, JPEG, GIF or WebP image.
+     */
+    public static String detect(byte[] head, int length) {
+        if (startsWith(head, length, 0, PNG)) {
+            return "image/png";
+        }
+        if (startsWith(head, length, 0, JPEG)) {
+            return "image/jpeg";
+        }
+        if (startsWith(head, length, 0, GIF87A) || startsWith(head, length, 0, GIF89A)) {
+            return "image/gif";
+        }
+        if (startsWith(head, length, 0, RIFF) && startsWith(head, length, 8, WEBP)) {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    /**
+     * @param contentType the content type stored with an image.
+     * @return the content type, if it is one that {@link #detect(byte[], int)} gives, or {@code null}: the images stored
+     * before their type was detected on upload carry the content type sent by the client.
+     */
+    public static String supported(String contentType) {
+        return contentType != null && SUPPORTED.contains(contentType) ? contentType : null;
+    }
+
+    private static boolean startsWith(byte[] head, int length, int offset, byte[] signature) {
+        if (length < offset + signature.length) {
+            return false;
+        }
+        for (int i = 0; i < signature.length; i++) {
+            if (head[offset + i] != signature[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
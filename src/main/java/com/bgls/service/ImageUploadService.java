@@ -0,0 +1,123 @@
+package com.bgls.service;
+
+import com.bgls.config.ApplicationProperties;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service storing the images uploaded as a stream of {@link DataBuffer}s, such as the content of a multipart file part.
+ * <p>
+ * The buffers are streamed to the {@link ImageStorage} as they arrive, and checked on their way: the upload is rejected,
+ * and the rest of it left unread, as soon as it grows past {@code application.images.max-upload-size} or its first bytes
+ * are not those of a supported image. Nothing is stored for a rejected upload.
+ */
+@Service
+public class ImageUploadService {
+
+    /**
+     * An uploaded image.
+     *
+     * @param contentType the content type detected from the first bytes of the image.
+     * @param hash the hash of the image, which finds it back in the {@link ImageStorage}.
+     */
+    public record ImageUpload(String contentType, String hash) {}
+
+    private final long maxSize;
+
+    private final ImageStorage imageStorage;
+
+    public ImageUploadService(ApplicationProperties applicationProperties, ImageStorage imageStorage) {
+        this.maxSize = applicationProperties.getImages().getMaxUploadSize().toBytes();
+        this.imageStorage = imageStorage;
+    }
+
+    /**
+     * Stores an uploaded image.
+     *
+     * @param content the content of the upload.
+     * @return the image, or an {@link InvalidImageException} if it is empty, too large or not a supported image.
+     */
+    public Mono<ImageUpload> read(Flux<DataBuffer> content) {
+        return Mono.defer(() -> {
+            UploadCheck check = new UploadCheck(maxSize);
+            Flux<DataBuffer> checked = content
+                .doOnNext(dataBuffer -> {
+                    try {
+                        check.append(dataBuffer);
+                    } catch (InvalidImageException e) {
+                        DataBufferUtils.release(dataBuffer);
+                        throw e;
+                    }
+                })
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .concatWith(Mono.<DataBuffer>fromRunnable(check::complete));
+            return imageStorage.store(checked).map(hash -> new ImageUpload(check.contentType, hash));
+        });
+    }
+
+    /**
+     * Stores an image sent as bytes, such as within a JSON request, checked as an upload.
+     *
+     * @param content the bytes of the image.
+     * @return the image, or an {@link InvalidImageException} if it is empty, too large or not a supported image.
+     */
+    public Mono<ImageUpload> read(byte[] content) {
+        return read(Flux.just(content).map(DefaultDataBufferFactory.sharedInstance::wrap));
+    }
+
+    /**
+     * The size and the first bytes of the upload read so far.
+     */
+    private static final class UploadCheck {
+
+        private final long maxSize;
+
+        private final byte[] head = new byte[ImageTypeUtil.SIGNATURE_LENGTH];
+
+        private long size;
+
+        private String contentType;
+
+        private UploadCheck(long maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        private void append(DataBuffer dataBuffer) {
+            int readable = dataBuffer.readableByteCount();
+            if (readable > maxSize - size) {
+                throw new InvalidImageException(InvalidImageException.Reason.TOO_LARGE, "The image is larger than " + maxSize + " bytes");
+            }
+            for (int i = 0; size + i < head.length && i < readable; i++) {
+                head[(int) size + i] = dataBuffer.getByte(dataBuffer.readPosition() + i);
+            }
+            size += readable;
+            if (contentType == null && size >= head.length) {
+                contentType = detectContentType();
+            }
+        }
+
+        private void complete() {
+            if (size == 0) {
+                throw new InvalidImageException(InvalidImageException.Reason.EMPTY, "The image is empty");
+            }
+            if (contentType == null) {
+                contentType = detectContentType();
+            }
+        }
+
+        private String detectContentType() {
+            String detected = ImageTypeUtil.detect(head, (int) Math.min(size, head.length));
+            if (detected == null) {
+                throw new InvalidImageException(
+                    InvalidImageException.Reason.UNSUPPORTED_TYPE,
+                    "The image is not a PNG, JPEG, GIF or WebP image"
+                );
+            }
+            return detected;
+        }
+    }
+}
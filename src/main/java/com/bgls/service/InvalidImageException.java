@@ -0,0 +1,26 @@
+package com.bgls.service;
+
+/**
+ * Thrown when an uploaded image is rejected.
+ */
+public class InvalidImageException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason {
+        EMPTY,
+        TOO_LARGE,
+        UNSUPPORTED_TYPE,
+    }
+
+    private final Reason reason;
+
+    public InvalidImageException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,221 @@
+package com.bgls.service;
+
+import com.bgls.config.ApplicationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+/**
+ * Loads the entities related to others by key, coalescing the lookups a request issues at once into a single batched
+ * query, in the manner of a DataLoader.
+ * <p>
+ * The lookups of a request are collected in a scope bound to its Reactor {@link Context} by {@link #withRequestScope}:
+ * the keys requested within {@code application.relation-loading.window} of the first one, such as those of a
+ * {@code flatMap} over a collection, are deduplicated and looked up together, once {@code max-batch-size} of them are
+ * collected at most; each load then completes with the entity of its key, or empty if there is none. Outside of a scope,
+ * each key is looked up on its own.
+ * <p>
+ * The batches are subscribed with the context of their first load, so that they take part in its transaction. The
+ * {@code relations.batch.size} summary, tagged with the {@code relation}, records the distinct keys of each batch, and
+ * {@code relations.batch.coalescing} the number of loads served by each of its keys.
+ *
+ * @param <K> the type of the keys.
+ * @param <V> the type of the entities.
+ */
+public final class RelationLoader<K, V> {
+
+    private static final Object SCOPE_KEY = RelationLoader.class;
+
+    private static final String METER_NAME = "relations.batch";
+
+    private final Function<Collection<K>, Flux<V>> lookUp;
+
+    private final Function<V, K> keyOf;
+
+    private final long windowNanos;
+
+    private final int maxBatchSize;
+
+    private final Scheduler scheduler;
+
+    private final DistributionSummary batchSizes;
+
+    private final DistributionSummary coalescing;
+
+    /**
+     * @param relation the name of the relation, tagging the meters.
+     * @param lookUp looks up the entities of some keys, in a single query.
+     * @param keyOf reads the key of an entity.
+     * @param properties the window and size of the batches.
+     * @param registry the registry of the meters.
+     */
+    public RelationLoader(
+        String relation,
+        Function<Collection<K>, Flux<V>> lookUp,
+        Function<V, K> keyOf,
+        ApplicationProperties.RelationLoading properties,
+        MeterRegistry registry
+    ) {
+        this(relation, lookUp, keyOf, properties, registry, Schedulers.parallel());
+    }
+
+    RelationLoader(
+        String relation,
+        Function<Collection<K>, Flux<V>> lookUp,
+        Function<V, K> keyOf,
+        ApplicationProperties.RelationLoading properties,
+        MeterRegistry registry,
+        Scheduler scheduler
+    ) {
+        this.lookUp = lookUp;
+        this.keyOf = keyOf;
+        this.windowNanos = properties.getWindow().toNanos();
+        this.maxBatchSize = Math.max(1, properties.getMaxBatchSize());
+        this.scheduler = scheduler;
+        this.batchSizes = DistributionSummary.builder(METER_NAME + ".size")
+            .description("Distinct keys looked up by each batch of relations")
+            .baseUnit("keys")
+            .tag("relation", relation)
+            .register(registry);
+        this.coalescing = DistributionSummary.builder(METER_NAME + ".coalescing")
+            .description("Loads served by each key looked up by a batch of relations")
+            .tag("relation", relation)
+            .register(registry);
+    }
+
+    /**
+     * Binds a new scope to the context of a request, collecting the lookups issued while serving it.
+     *
+     * @param context the context of the request.
+     * @return the context with its scope.
+     */
+    public static Context withRequestScope(Context context) {
+        return context.put(SCOPE_KEY, new Scope());
+    }
+
+    /**
+     * Loads the entity of a key, along with the other keys requested at the same time by the same request.
+     *
+     * @param key the key.
+     * @return the entity, or empty if there is none.
+     */
+    public Mono<V> load(K key) {
+        return Mono.deferContextual(context ->
+            context.<Scope>getOrEmpty(SCOPE_KEY).map(scope -> scope.load(this, key, context)).orElseGet(() -> lookUp(List.of(key)).next())
+        );
+    }
+
+    private Flux<V> lookUp(Collection<K> keys) {
+        return Flux.defer(() -> lookUp.apply(keys));
+    }
+
+    /**
+     * The batches of a request still collecting keys, by loader.
+     */
+    private static final class Scope {
+
+        private final Map<RelationLoader<?, ?>, Batch<?, ?>> openBatches = new HashMap<>();
+
+        @SuppressWarnings("unchecked")
+        private <K, V> Mono<V> load(RelationLoader<K, V> loader, K key, ContextView context) {
+            Batch<K, V> batch;
+            Mono<V> value;
+            boolean full;
+            synchronized (this) {
+                batch = (Batch<K, V>) openBatches.get(loader);
+                if (batch == null) {
+                    batch = new Batch<>(this, loader, context);
+                    openBatches.put(loader, batch);
+                    loader.scheduler.schedule(batch::dispatch, loader.windowNanos, TimeUnit.NANOSECONDS);
+                }
+                value = batch.add(key);
+                full = batch.size() >= loader.maxBatchSize;
+                if (full) {
+                    openBatches.remove(loader);
+                }
+            }
+            if (full) {
+                batch.dispatch();
+            }
+            return value;
+        }
+
+        private synchronized boolean close(RelationLoader<?, ?> loader, Batch<?, ?> batch) {
+            openBatches.remove(loader, batch);
+            return batch.close();
+        }
+    }
+
+    /**
+     * The keys requested of a loader within one window, each with the sink of its entity.
+     */
+    private static final class Batch<K, V> {
+
+        private final Scope scope;
+
+        private final RelationLoader<K, V> loader;
+
+        private final ContextView context;
+
+        private final Map<K, Sinks.One<V>> values = new LinkedHashMap<>();
+
+        private int loads;
+
+        private boolean dispatched;
+
+        private Batch(Scope scope, RelationLoader<K, V> loader, ContextView context) {
+            this.scope = scope;
+            this.loader = loader;
+            this.context = context;
+        }
+
+        private Mono<V> add(K key) {
+            loads++;
+            return values.computeIfAbsent(key, k -> Sinks.one()).asMono();
+        }
+
+        private int size() {
+            return values.size();
+        }
+
+        private boolean close() {
+            boolean open = !dispatched;
+            dispatched = true;
+            return open;
+        }
+
+        private void dispatch() {
+            if (!scope.close(loader, this)) {
+                return;
+            }
+            loader.batchSizes.record(values.size());
+            loader.coalescing.record((double) loads / values.size());
+            loader
+                .lookUp(List.copyOf(values.keySet()))
+                .contextWrite(context)
+                .subscribe(
+                    value -> {
+                        Sinks.One<V> sink = values.get(loader.keyOf.apply(value));
+                        if (sink != null) {
+                            sink.tryEmitValue(value);
+                        }
+                    },
+                    error -> values.values().forEach(sink -> sink.tryEmitError(error)),
+                    () -> values.values().forEach(Sinks.One::tryEmitEmpty)
+                );
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.bgls.service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Utility class for generating the thumbnails of the stored images with {@link ImageIO}.
+ */
+public final class ThumbnailUtil {
+
+    static {
+        // the images are decoded from streams and encoded to memory: no need for ImageIO to buffer them in temporary files
+        ImageIO.setUseCache(false);
+    }
+
+    /**
+     * A thumbnail, encoded as PNG when its source has transparency and as JPEG otherwise.
+     *
+     * @param content the encoded thumbnail.
+     * @param contentType the content type of the encoded thumbnail.
+     * @param size the size the thumbnail was generated for.
+     */
+    public record Thumbnail(byte[] content, String contentType, int size) {}
+
+    private ThumbnailUtil() {}
+
+    /**
+     * Decodes an image.
+     *
+     * @param content the encoded image.
+     * @param maxPixels the largest number of pixels of an image to decode.
+     * @return the decoded image, or {@code null} if its format is not supported or it has more than {@code maxPixels} pixels.
+     * @throws IOException if the image cannot be decoded.
+     */
+    public static BufferedImage read(byte[] content, long maxPixels) throws IOException {
+        return read(new ByteArrayInputStream(content), maxPixels);
+    }
+
+    /**
+     * Decodes an image from a stream, which is left open.
+     * <p>
+     * The dimensions declared in the header of the image are checked before decoding it, since a small file may declare
+     * an image whose pixels would not fit in memory.
+     *
+     * @param content the encoded image.
+     * @param maxPixels the largest number of pixels of an image to decode.
+     * @return the decoded image, or {@code null} if its format is not supported or it has more than {@code maxPixels} pixels.
+     * @throws IOException if the image cannot be decoded.
+     */
+    public static BufferedImage read(InputStream content, long maxPixels) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(content)) {
+            Iterator<ImageReader> readers = input != null ? ImageIO.getImageReaders(input) : null;
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    return null;
+                }
+                return reader.read(0, reader.getDefaultReadParam());
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Scales an image down so that its largest dimension is {@code size}, keeping its aspect ratio.
+     * <p>
+     * The image is halved until the target size is reached, since a single bilinear step drops most of the source pixels
+     * when the ratio is large.
+     *
+     * @param source the image to scale down.
+     * @param size the largest dimension of the thumbnail, in pixels.
+     * @return the thumbnail, or {@code null} if the image is not larger than {@code size}: it is then its own thumbnail.
+     * @throws IOException if the thumbnail cannot be encoded.
+     */
+    public static Thumbnail thumbnail(BufferedImage source, int size) throws IOException {
+        int largest = Math.max(source.getWidth(), source.getHeight());
+        if (largest <= size) {
+            return null;
+        }
+        double scale = (double) size / largest;
+        int targetWidth = Math.max(1, (int) Math.round(source.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(source.getHeight() * scale));
+        boolean transparent = source.getColorModel().hasAlpha();
+
+        BufferedImage current = source;
+        do {
+            int width = Math.max(targetWidth, current.getWidth() / 2);
+            int height = Math.max(targetHeight, current.getHeight() / 2);
+            BufferedImage step = new BufferedImage(width, height, transparent ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = step;
+        } while (current.getWidth() != targetWidth || current.getHeight() != targetHeight);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (transparent) {
+            ImageIO.write(current, "png", out);
+            return new Thumbnail(out.toByteArray(), "image/png", size);
+        }
+        ImageIO.write(current, "jpg", out);
+        return new Thumbnail(out.toByteArray(), "image/jpeg", size);
+    }
+}
@@ -0,0 +1,152 @@
+package com.bgls.service;
+
+import com.bgls.config.ApplicationProperties;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service providing the total count sent along with each page of a list, following the {@link CountStrategy} configured
+ * for the list in {@code application.pagination.total-counts}.
+ * <p>
+ * The cached counts are kept per filter combination, and dropped when the list is written to through
+ * {@link #invalidate(String)}; the writes of the other instances of the application are only caught up with once the
+ * counts expire.
+ */
+@Service
+public class TotalCountService {
+
+    public static final String ITEMS = "items";
+
+    public static final String GAMES = "games";
+
+    public static final String USERS = "users";
+
+    private static final ApplicationProperties.Pagination.TotalCount EXACT_COUNT = new ApplicationProperties.Pagination.TotalCount();
+
+    private static final Object NO_FILTER = new Object();
+
+    /**
+     * A total count, along with the strategy which produced it.
+     *
+     * @param value the number of rows of the list.
+     * @param strategy {@link CountStrategy#EXACT} if counted for this request, {@link CountStrategy#CACHED} if counted
+     * by a previous one, or {@link CountStrategy#ESTIMATED}.
+     */
+    public record TotalCount(long value, CountStrategy strategy) {}
+
+    private record CachedCount(long value, long expiresAt) {}
+
+    private final ApplicationProperties.Pagination properties;
+
+    private final Map<String, CountCache> caches = new ConcurrentHashMap<>();
+
+    public TotalCountService(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getPagination();
+    }
+
+    /**
+     * Returns the strategy configured for a list, telling whether its page is read {@linkplain CountStrategy#WINDOW along
+     * with its total count}.
+     *
+     * @param list the name of the list, such as {@link #ITEMS}.
+     * @return the configured strategy.
+     */
+    public CountStrategy strategyOf(String list) {
+        return properties.getTotalCounts().getOrDefault(list, EXACT_COUNT).getStrategy();
+    }
+
+    /**
+     * Returns the total count of a list.
+     *
+     * @param list the name of the list, such as {@link #ITEMS}.
+     * @param filter the filters of the list, identifying its cached count: {@code null} if the list is not filtered.
+     * @param exact counts the rows of the list.
+     * @param estimate estimates the number of rows of the list, or completes empty if the statistics are missing.
+     * @return the total count.
+     */
+    public Mono<TotalCount> count(String list, Object filter, Mono<Long> exact, Mono<Long> estimate) {
+        ApplicationProperties.Pagination.TotalCount config = properties.getTotalCounts().getOrDefault(list, EXACT_COUNT);
+        Mono<TotalCount> exactCount = exact.map(value -> new TotalCount(value, CountStrategy.EXACT));
+        return switch (config.getStrategy()) {
+            case EXACT, WINDOW -> exactCount;
+            case CACHED -> caches
+                .computeIfAbsent(list, name -> new CountCache(config))
+                .count(Objects.requireNonNullElse(filter, NO_FILTER), exact);
+            case ESTIMATED -> estimate
+                .filter(value -> value >= config.getExactBelow())
+                .map(value -> new TotalCount(value, CountStrategy.ESTIMATED))
+                .switchIfEmpty(exactCount);
+        };
+    }
+
+    /**
+     * Drops the cached counts of a list, after a write to it.
+     *
+     * @param list the name of the list, such as {@link #ITEMS}.
+     */
+    public void invalidate(String list) {
+        CountCache cache = caches.get(list);
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    /**
+     * The cached counts of one list.
+     */
+    private static final class CountCache {
+
+        private final ApplicationProperties.Pagination.TotalCount config;
+
+        private final Map<Object, CachedCount> counts = new ConcurrentHashMap<>();
+
+        /**
+         * Incremented by each invalidation, so that a count started before is not cached once done.
+         */
+        private long generation;
+
+        private CountCache(ApplicationProperties.Pagination.TotalCount config) {
+            this.config = config;
+        }
+
+        private Mono<TotalCount> count(Object filter, Mono<Long> exact) {
+            return Mono.defer(() -> {
+                long now = System.nanoTime();
+                CachedCount cached = counts.get(filter);
+                if (cached != null && cached.expiresAt() - now > 0) {
+                    return Mono.just(new TotalCount(cached.value(), CountStrategy.CACHED));
+                }
+                long startGeneration = currentGeneration();
+                return exact
+                    .doOnNext(value -> store(filter, new CachedCount(value, now + config.getTimeToLive().toNanos()), startGeneration))
+                    .map(value -> new TotalCount(value, CountStrategy.EXACT));
+            });
+        }
+
+        private synchronized long currentGeneration() {
+            return generation;
+        }
+
+        private synchronized void store(Object filter, CachedCount count, long startGeneration) {
+            if (startGeneration != generation) {
+                return;
+            }
+            if (counts.size() >= config.getMaxCachedCounts() && !counts.containsKey(filter)) {
+                long now = System.nanoTime();
+                counts.values().removeIf(cached -> cached.expiresAt() - now <= 0);
+                if (counts.size() >= config.getMaxCachedCounts()) {
+                    return;
+                }
+            }
+            counts.put(filter, count);
+        }
+
+        private synchronized void invalidate() {
+            generation++;
+            counts.clear();
+        }
+    }
+}
@@ -0,0 +1,451 @@
+package com.bgls.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable in-memory index answering the prefix and fuzzy queries of a typeahead over short texts, such as game names.
+ * <p>
+ * Each text is indexed under its normalized form (lowercased, without accents) and under every suffix of it starting at
+ * a word, so that "zel" finds "The Legend of Zelda". These keys are kept in two sorted arrays, the whole texts and the
+ * suffixes: a prefix query is a binary search followed by a scan of the matching range, and a fuzzy query walks the
+ * arrays as a trie, computing the edit distance of the query to the prefixes of the keys and skipping every key
+ * sharing a prefix already too far from the query.
+ * <p>
+ * Updates return a new index, so that the readers of the current one never lock.
+ *
+ * @param <T> the type of the indexed values.
+ */
+public final class TypeaheadIndex<T> {
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SPACES = Pattern.compile("\\s+");
+
+    private static final Comparator<Key<?>> KEY_ORDER = TypeaheadIndex::compare;
+
+    private record Entry<T>(long id, String text, T value) {}
+
+    private record Key<T>(Entry<T> entry, int offset) {
+        int length() {
+            return entry.text.length() - offset;
+        }
+
+        char charAt(int index) {
+            return entry.text.charAt(offset + index);
+        }
+    }
+
+    private record Candidate<T>(Key<T> key, int distance) {}
+
+    private final ToLongFunction<? super T> idFunction;
+
+    private final Function<? super T, String> textFunction;
+
+    private final Map<Long, Entry<T>> entries;
+
+    private final Key<T>[] texts;
+
+    private final Key<T>[] words;
+
+    private TypeaheadIndex(
+        ToLongFunction<? super T> idFunction,
+        Function<? super T, String> textFunction,
+        Map<Long, Entry<T>> entries,
+        Key<T>[] texts,
+        Key<T>[] words
+    ) {
+        this.idFunction = idFunction;
+        this.textFunction = textFunction;
+        this.entries = entries;
+        this.texts = texts;
+        this.words = words;
+    }
+
+    /**
+     * Builds an index.
+     *
+     * @param values the values to index.
+     * @param idFunction the function giving the id of a value, unique in the index.
+     * @param textFunction the function giving the text a value is found by.
+     * @param <T> the type of the indexed values.
+     * @return the index of the values.
+     */
+    public static <T> TypeaheadIndex<T> of(
+        Collection<? extends T> values,
+        ToLongFunction<? super T> idFunction,
+        Function<? super T, String> textFunction
+    ) {
+        Map<Long, Entry<T>> entries = new HashMap<>();
+        for (T value : values) {
+            Entry<T> entry = entry(value, idFunction, textFunction);
+            entries.put(entry.id, entry);
+        }
+        return index(idFunction, textFunction, entries);
+    }
+
+    /**
+     * Adds a value to the index, or replaces the one with the same id.
+     *
+     * @param value the value to add.
+     * @return the updated index.
+     */
+    public TypeaheadIndex<T> with(T value) {
+        Entry<T> entry = entry(value, idFunction, textFunction);
+        Entry<T> previous = entries.get(entry.id);
+        Map<Long, Entry<T>> updated = new HashMap<>(entries);
+        updated.put(entry.id, entry);
+        List<Key<T>> added = keys(entry);
+        return new TypeaheadIndex<>(
+            idFunction,
+            textFunction,
+            updated,
+            merge(texts, previous, added.subList(0, 1)),
+            merge(words, previous, added.subList(1, added.size()))
+        );
+    }
+
+    /**
+     * Removes a value from the index.
+     *
+     * @param id the id of the value to remove.
+     * @return the updated index.
+     */
+    public TypeaheadIndex<T> without(long id) {
+        Entry<T> previous = entries.get(id);
+        if (previous == null) {
+            return this;
+        }
+        Map<Long, Entry<T>> updated = new HashMap<>(entries);
+        updated.remove(id);
+        return new TypeaheadIndex<>(
+            idFunction,
+            textFunction,
+            updated,
+            merge(texts, previous, List.of()),
+            merge(words, previous, List.of())
+        );
+    }
+
+    /**
+     * Replaces some of the values by others found by the same text, such as values embedding a renamed relation.
+     *
+     * @param filter the predicate selecting the values to replace.
+     * @param update the function giving the replacement of a value.
+     * @return the updated index.
+     */
+    public TypeaheadIndex<T> withUpdatedValues(Predicate<? super T> filter, UnaryOperator<T> update) {
+        Map<Long, Entry<T>> updated = new HashMap<>(entries);
+        boolean changed = false;
+        for (Entry<T> entry : entries.values()) {
+            if (filter.test(entry.value)) {
+                updated.put(entry.id, new Entry<>(entry.id, entry.text, update.apply(entry.value)));
+                changed = true;
+            }
+        }
+        return changed ? index(idFunction, textFunction, updated) : this;
+    }
+
+    /**
+     * @return the number of indexed values.
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of keys the values are indexed under.
+     */
+    public int keyCount() {
+        return texts.length + words.length;
+    }
+
+    /**
+     * Finds the values whose text, or a word of it, starts with the query, then if there are not enough of them, the
+     * values whose text starts with a prefix within a few edits of the query.
+     * <p>
+     * The values whose whole text starts with the query come first, then those with a word starting with it, both in
+     * the order of their texts, then the fuzzy matches, closest first.
+     *
+     * @param query the query, typically what the user typed so far.
+     * @param limit the largest number of values to return.
+     * @param maxEdits the largest number of edits of a fuzzy match, whatever the length of the query.
+     * @param filter the predicate the returned values must match.
+     * @return the values found.
+     */
+    public List<T> search(String query, int limit, int maxEdits, Predicate<? super T> filter) {
+        String normalizedQuery = normalize(query);
+        List<T> results = new ArrayList<>();
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return results;
+        }
+        Set<Long> found = new HashSet<>();
+        collectPrefixMatches(texts, normalizedQuery, limit, filter, found, results);
+        collectPrefixMatches(words, normalizedQuery, limit, filter, found, results);
+        int edits = allowedEdits(normalizedQuery.length(), maxEdits);
+        if (results.size() < limit && edits > 0) {
+            List<Candidate<T>> candidates = new ArrayList<>();
+            collectFuzzyMatches(texts, normalizedQuery, edits, candidates);
+            collectFuzzyMatches(words, normalizedQuery, edits, candidates);
+            candidates.sort(
+                Comparator.<Candidate<T>>comparingInt(Candidate::distance)
+                    .thenComparing(candidate -> candidate.key.offset > 0)
+                    .thenComparing(Candidate::key, KEY_ORDER)
+            );
+            for (Candidate<T> candidate : candidates) {
+                if (results.size() >= limit) {
+                    break;
+                }
+                collect(candidate.key.entry, filter, found, results);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * The number of edits allowed for a query: none below 4 characters, since nearly everything is a couple of edits
+     * away from a short query, then one more every 4 characters.
+     */
+    static int allowedEdits(int queryLength, int maxEdits) {
+        return Math.min(maxEdits, queryLength / 4);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text, Normalizer.Form.NFD);
+        return SPACES.matcher(MARKS.matcher(decomposed).replaceAll("")).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static <T> TypeaheadIndex<T> index(
+        ToLongFunction<? super T> idFunction,
+        Function<? super T, String> textFunction,
+        Map<Long, Entry<T>> entries
+    ) {
+        List<Key<T>> texts = new ArrayList<>(entries.size());
+        List<Key<T>> words = new ArrayList<>();
+        for (Entry<T> entry : entries.values()) {
+            List<Key<T>> keys = keys(entry);
+            texts.add(keys.get(0));
+            words.addAll(keys.subList(1, keys.size()));
+        }
+        return new TypeaheadIndex<>(idFunction, textFunction, entries, sorted(texts), sorted(words));
+    }
+
+    private static <T> Entry<T> entry(T value, ToLongFunction<? super T> idFunction, Function<? super T, String> textFunction) {
+        return new Entry<>(idFunction.applyAsLong(value), normalize(textFunction.apply(value)), value);
+    }
+
+    /**
+     * The keys of an entry: its whole text first, then each of its suffixes starting at a word.
+     */
+    private static <T> List<Key<T>> keys(Entry<T> entry) {
+        List<Key<T>> keys = new ArrayList<>();
+        keys.add(new Key<>(entry, 0));
+        String text = entry.text;
+        for (int offset = 1; offset < text.length(); offset++) {
+            if (Character.isLetterOrDigit(text.charAt(offset)) && !Character.isLetterOrDigit(text.charAt(offset - 1))) {
+                keys.add(new Key<>(entry, offset));
+            }
+        }
+        return keys;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Key<T>[] sorted(List<Key<T>> keys) {
+        Key<T>[] array = keys.toArray(new Key[0]);
+        Arrays.sort(array, KEY_ORDER);
+        return array;
+    }
+
+    /**
+     * Copies sorted keys without those of a removed entry, merging in the sorted keys of an added one.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> Key<T>[] merge(Key<T>[] keys, Entry<T> removed, List<Key<T>> added) {
+        Key<T>[] addedKeys = sorted(added);
+        Key<T>[] merged = new Key[keys.length + addedKeys.length];
+        int size = 0;
+        int next = 0;
+        for (Key<T> key : keys) {
+            if (removed != null && key.entry == removed) {
+                continue;
+            }
+            while (next < addedKeys.length && compare(addedKeys[next], key) < 0) {
+                merged[size++] = addedKeys[next++];
+            }
+            merged[size++] = key;
+        }
+        while (next < addedKeys.length) {
+            merged[size++] = addedKeys[next++];
+        }
+        return size == merged.length ? merged : Arrays.copyOf(merged, size);
+    }
+
+    private static <T> void collectPrefixMatches(
+        Key<T>[] keys,
+        String query,
+        int limit,
+        Predicate<? super T> filter,
+        Set<Long> found,
+        List<T> results
+    ) {
+        for (int i = lowerBound(keys, query); i < keys.length && results.size() < limit && startsWith(keys[i], query); i++) {
+            collect(keys[i].entry, filter, found, results);
+        }
+    }
+
+    /**
+     * Walks the sorted keys as a trie, one row of the edit distance matrix per character of the keys, the rows of the
+     * prefix a key shares with the previous one being reused.
+     */
+    private static <T> void collectFuzzyMatches(Key<T>[] keys, String query, int maxEdits, List<Candidate<T>> candidates) {
+        int queryLength = query.length();
+        int maxDepth = queryLength + maxEdits;
+        // rows[depth][i]: edit distance between the first i characters of the query and the first depth characters of the key
+        int[][] rows = new int[maxDepth + 1][queryLength + 1];
+        // best[depth]: edit distance between the query and its closest prefix of the key among the first depth characters
+        int[] best = new int[maxDepth + 1];
+        for (int i = 0; i <= queryLength; i++) {
+            rows[0][i] = i;
+        }
+        best[0] = queryLength;
+        Key<T> previous = null;
+        int validDepth = 0;
+        int index = 0;
+        while (index < keys.length) {
+            Key<T> key = keys[index];
+            int depth = Math.min(key.length(), maxDepth);
+            int from = previous == null ? 0 : Math.min(validDepth, commonPrefixLength(previous, key));
+            int pruned = -1;
+            for (int d = from + 1; d <= depth; d++) {
+                char c = key.charAt(d - 1);
+                int[] row = rows[d];
+                int[] above = rows[d - 1];
+                row[0] = d;
+                int rowMin = d;
+                for (int i = 1; i <= queryLength; i++) {
+                    int cost = query.charAt(i - 1) == c ? 0 : 1;
+                    row[i] = Math.min(Math.min(above[i] + 1, row[i - 1] + 1), above[i - 1] + cost);
+                    rowMin = Math.min(rowMin, row[i]);
+                }
+                best[d] = Math.min(best[d - 1], row[queryLength]);
+                if (rowMin > maxEdits) {
+                    pruned = d;
+                    break;
+                }
+            }
+            previous = key;
+            if (pruned >= 0) {
+                // no key sharing these first characters gets any closer to the query: they all match as well as they do so far
+                int end = upperBound(keys, index, key, pruned);
+                if (best[pruned - 1] <= maxEdits) {
+                    for (int i = index; i < end; i++) {
+                        candidates.add(new Candidate<>(keys[i], best[pruned - 1]));
+                    }
+                }
+                validDepth = pruned - 1;
+                index = end;
+            } else {
+                validDepth = depth;
+                if (best[depth] <= maxEdits) {
+                    candidates.add(new Candidate<>(key, best[depth]));
+                }
+                index++;
+            }
+        }
+    }
+
+    private static <T> void collect(Entry<T> entry, Predicate<? super T> filter, Set<Long> found, List<T> results) {
+        if (!found.contains(entry.id) && filter.test(entry.value)) {
+            found.add(entry.id);
+            results.add(entry.value);
+        }
+    }
+
+    /**
+     * The index of the first key not before the query.
+     */
+    private static int lowerBound(Key<?>[] keys, String query) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(keys[middle], query) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The index of the first key after {@code from} not starting with the first {@code length} characters of {@code prefix}.
+     */
+    private static <T> int upperBound(Key<T>[] keys, int from, Key<T> prefix, int length) {
+        int low = from + 1;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (commonPrefixLength(keys[middle], prefix) >= length) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private static boolean startsWith(Key<?> key, String query) {
+        return key.entry.text.startsWith(query, key.offset);
+    }
+
+    private static int commonPrefixLength(Key<?> a, Key<?> b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            if (a.charAt(i) != b.charAt(i)) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private static int compare(Key<?> key, String query) {
+        int length = Math.min(key.length(), query.length());
+        for (int i = 0; i < length; i++) {
+            int difference = key.charAt(i) - query.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return key.length() - query.length();
+    }
+
+    private static int compare(Key<?> a, Key<?> b) {
+        int length = Math.min(a.length(), b.length());
+        for (int i = 0; i < length; i++) {
+            int difference = a.charAt(i) - b.charAt(i);
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        int difference = a.length() - b.length();
+        return difference != 0 ? difference : Long.compare(a.entry.id, b.entry.id);
+    }
+}
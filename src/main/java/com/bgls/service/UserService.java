@@ -1,11 +1,13 @@
 package com.bgls.service;
 
+import com.bgls.cache.TransactionCompletion;
 import com.bgls.config.Constants;
 import com.bgls.domain.Authority;
 import com.bgls.domain.User;
 import com.bgls.repository.AuthorityRepository;
 import com.bgls.repository.UserRepository;
 import com.bgls.security.AuthoritiesConstants;
+import com.bgls.security.PasswordHashing;
 import com.bgls.security.SecurityUtils;
 import com.bgls.service.dto.AdminUserDTO;
 import com.bgls.service.dto.UserDTO;
@@ -18,8 +20,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -36,14 +38,26 @@ public class UserService {
 
     private final UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashing passwordHashing;
 
     private final AuthorityRepository authorityRepository;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository) {
+    private final TotalCountService totalCountService;
+
+    private final RelationLoader<String, Authority> authorityLoader;
+
+    public UserService(
+        UserRepository userRepository,
+        PasswordHashing passwordHashing,
+        AuthorityRepository authorityRepository,
+        TotalCountService totalCountService,
+        RelationLoader<String, Authority> authorityLoader
+    ) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashing = passwordHashing;
         this.authorityRepository = authorityRepository;
+        this.totalCountService = totalCountService;
+        this.authorityLoader = authorityLoader;
     }
 
     @Transactional
@@ -66,13 +80,16 @@ public class UserService {
         return userRepository
             .findOneByResetKey(key)
             .filter(user -> user.getResetDate().isAfter(Instant.now().minus(1, ChronoUnit.DAYS)))
-            .publishOn(Schedulers.boundedElastic())
-            .map(user -> {
-                user.setPassword(passwordEncoder.encode(newPassword));
-                user.setResetKey(null);
-                user.setResetDate(null);
-                return user;
-            })
+            .flatMap(user ->
+                passwordHashing
+                    .encode(newPassword)
+                    .map(encryptedPassword -> {
+                        user.setPassword(encryptedPassword);
+                        user.setResetKey(null);
+                        user.setResetDate(null);
+                        return user;
+                    })
+            )
             .flatMap(this::saveUser);
     }
 
@@ -96,7 +113,7 @@ public class UserService {
             .findOneByLogin(userDTO.getLogin().toLowerCase())
             .flatMap(existingUser -> {
                 if (!existingUser.isActivated()) {
-                    return userRepository.delete(existingUser);
+                    return delete(existingUser);
                 } else {
                     return Mono.error(new UsernameAlreadyUsedException());
                 }
@@ -104,33 +121,30 @@ public class UserService {
             .then(userRepository.findOneByEmailIgnoreCase(userDTO.getEmail()))
             .flatMap(existingUser -> {
                 if (!existingUser.isActivated()) {
-                    return userRepository.delete(existingUser);
+                    return delete(existingUser);
                 } else {
                     return Mono.error(new EmailAlreadyUsedException());
                 }
             })
-            .publishOn(Schedulers.boundedElastic())
-            .then(
-                Mono.fromCallable(() -> {
-                    User newUser = new User();
-                    String encryptedPassword = passwordEncoder.encode(password);
-                    newUser.setLogin(userDTO.getLogin().toLowerCase());
-                    // new user gets initially a generated password
-                    newUser.setPassword(encryptedPassword);
-                    newUser.setFirstName(userDTO.getFirstName());
-                    newUser.setLastName(userDTO.getLastName());
-                    if (userDTO.getEmail() != null) {
-                        newUser.setEmail(userDTO.getEmail().toLowerCase());
-                    }
-                    newUser.setImageUrl(userDTO.getImageUrl());
-                    newUser.setLangKey(userDTO.getLangKey());
-                    // new user is not active
-                    newUser.setActivated(false);
-                    // new user gets registration key
-                    newUser.setActivationKey(RandomUtil.generateActivationKey());
-                    return newUser;
-                })
-            )
+            .then(passwordHashing.encode(password))
+            .map(encryptedPassword -> {
+                User newUser = new User();
+                newUser.setLogin(userDTO.getLogin().toLowerCase());
+                // new user gets initially a generated password
+                newUser.setPassword(encryptedPassword);
+                newUser.setFirstName(userDTO.getFirstName());
+                newUser.setLastName(userDTO.getLastName());
+                if (userDTO.getEmail() != null) {
+                    newUser.setEmail(userDTO.getEmail().toLowerCase());
+                }
+                newUser.setImageUrl(userDTO.getImageUrl());
+                newUser.setLangKey(userDTO.getLangKey());
+                // new user is not active
+                newUser.setActivated(false);
+                // new user gets registration key
+                newUser.setActivationKey(RandomUtil.generateActivationKey());
+                return newUser;
+            })
             .flatMap(newUser -> {
                 Set<Authority> authorities = new HashSet<>();
                 return authorityRepository
@@ -158,18 +172,15 @@ public class UserService {
         } else {
             user.setLangKey(userDTO.getLangKey());
         }
-        return Flux.fromIterable(userDTO.getAuthorities() != null ? userDTO.getAuthorities() : new HashSet<>())
-            .flatMap(authorityRepository::findById)
+        return findAuthorities(userDTO.getAuthorities() != null ? userDTO.getAuthorities() : Set.of())
             .doOnNext(authority -> user.getAuthorities().add(authority))
-            .then(Mono.just(user))
-            .publishOn(Schedulers.boundedElastic())
-            .map(newUser -> {
-                String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword());
-                newUser.setPassword(encryptedPassword);
-                newUser.setResetKey(RandomUtil.generateResetKey());
-                newUser.setResetDate(Instant.now());
-                newUser.setActivated(true);
-                return newUser;
+            .then(passwordHashing.encode(RandomUtil.generatePassword()))
+            .map(encryptedPassword -> {
+                user.setPassword(encryptedPassword);
+                user.setResetKey(RandomUtil.generateResetKey());
+                user.setResetDate(Instant.now());
+                user.setActivated(true);
+                return user;
             })
             .flatMap(this::saveUser)
             .doOnNext(user1 -> log.debug("Created Information for User: {}", user1));
@@ -199,8 +210,7 @@ public class UserService {
                 managedAuthorities.clear();
                 return userRepository
                     .deleteUserAuthorities(user.getId())
-                    .thenMany(Flux.fromIterable(userDTO.getAuthorities()))
-                    .flatMap(authorityRepository::findById)
+                    .thenMany(findAuthorities(userDTO.getAuthorities()))
                     .map(managedAuthorities::add)
                     .then(Mono.just(user));
             })
@@ -209,11 +219,22 @@ public class UserService {
             .map(AdminUserDTO::new);
     }
 
+    /**
+     * Looks up the authorities of the given names: a single one directly, several through the {@link RelationLoader},
+     * which reads them in one query.
+     */
+    private Flux<Authority> findAuthorities(Collection<String> names) {
+        if (names.size() <= 1) {
+            return Flux.fromIterable(names).flatMap(authorityRepository::findById);
+        }
+        return Flux.fromIterable(names).flatMap(authorityLoader::load);
+    }
+
     @Transactional
     public Mono<Void> deleteUser(String login) {
         return userRepository
             .findOneByLogin(login)
-            .flatMap(user -> userRepository.delete(user).thenReturn(user))
+            .flatMap(user -> delete(user).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user))
             .then();
     }
@@ -264,24 +285,41 @@ public class UserService {
                             Flux.fromIterable(user.getAuthorities())
                                 .flatMap(authority -> userRepository.saveUserAuthority(savedUser.getId(), authority.getName()))
                                 .then(Mono.just(savedUser))
-                    );
+                    )
+                    .flatMap(savedUser -> clearUserCaches(savedUser).thenReturn(savedUser));
             });
     }
 
+    private Mono<Void> delete(User user) {
+        return userRepository.delete(user).then(clearUserCaches(user));
+    }
+
+    /**
+     * Evicts the cached user with its authorities, and the cached counts of the users, now and again once the transaction
+     * of its write completes.
+     */
+    private Mono<Void> clearUserCaches(User user) {
+        return TransactionCompletion.runNowAndAfterCompletion(() -> {
+            userRepository.clearCaches(user);
+            totalCountService.invalidate(TotalCountService.USERS);
+        });
+    }
+
     @Transactional
     public Mono<Void> changePassword(String currentClearTextPassword, String newPassword) {
         return SecurityUtils.getCurrentUserLogin()
             .flatMap(userRepository::findOneByLogin)
-            .publishOn(Schedulers.boundedElastic())
-            .map(user -> {
-                String currentEncryptedPassword = user.getPassword();
-                if (!passwordEncoder.matches(currentClearTextPassword, currentEncryptedPassword)) {
-                    throw new InvalidPasswordException();
-                }
-                String encryptedPassword = passwordEncoder.encode(newPassword);
-                user.setPassword(encryptedPassword);
-                return user;
-            })
+            .flatMap(user ->
+                passwordHashing
+                    .matches(currentClearTextPassword, user.getPassword())
+                    .filter(Boolean::booleanValue)
+                    .switchIfEmpty(Mono.error(new InvalidPasswordException()))
+                    .then(passwordHashing.encode(newPassword))
+                    .map(encryptedPassword -> {
+                        user.setPassword(encryptedPassword);
+                        return user;
+                    })
+            )
             .flatMap(this::saveUser)
             .doOnNext(user -> log.debug("Changed password for User: {}", user))
             .then();
@@ -302,6 +340,11 @@ public class UserService {
         return userRepository.count();
     }
 
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<TotalCountService.TotalCount> totalCountOfManagedUsers() {
+        return totalCountService.count(TotalCountService.USERS, null, userRepository.count(), userRepository.estimateCount());
+    }
+
     @Transactional(readOnly = true)
     public Mono<User> getUserWithAuthoritiesByLogin(String login) {
         return userRepository.findOneWithAuthoritiesByLogin(login);
@@ -328,7 +371,7 @@ public class UserService {
             .findAllByActivatedIsFalseAndActivationKeyIsNotNullAndCreatedDateBefore(
                 LocalDateTime.ofInstant(Instant.now().minus(3, ChronoUnit.DAYS), ZoneOffset.UTC)
             )
-            .flatMap(user -> userRepository.delete(user).thenReturn(user))
+            .flatMap(user -> delete(user).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user));
     }
 
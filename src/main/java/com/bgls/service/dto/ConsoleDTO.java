@@ -1,5 +1,7 @@
 package com.bgls.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Lob;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -16,11 +18,21 @@ public class ConsoleDTO implements Serializable {
     @NotNull(message = "must not be null")
     private String name;
 
+    /**
+     * Only received, and checked as an uploaded image, its content type being detected from its bytes: the responses
+     * carry the {@link #imageUrl} instead.
+     */
     @Lob
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] image;
 
     private String imageContentType;
 
+    @JsonIgnore
+    private String imageHash;
+
+    private String imageUrl;
+
     public Long getId() {
         return id;
     }
@@ -53,6 +65,22 @@ public class ConsoleDTO implements Serializable {
         this.imageContentType = imageContentType;
     }
 
+    public String getImageHash() {
+        return imageHash;
+    }
+
+    public void setImageHash(String imageHash) {
+        this.imageHash = imageHash;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
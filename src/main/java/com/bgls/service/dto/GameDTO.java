@@ -1,5 +1,7 @@
 package com.bgls.service.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.Lob;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -16,11 +18,21 @@ public class GameDTO implements Serializable {
     @NotNull(message = "must not be null")
     private String name;
 
+    /**
+     * Only received, and checked as an uploaded image, its content type being detected from its bytes: the responses
+     * carry the {@link #coverUrl} instead.
+     */
     @Lob
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private byte[] cover;
 
     private String coverContentType;
 
+    @JsonIgnore
+    private String coverHash;
+
+    private String coverUrl;
+
     @NotNull(message = "must not be null")
     private ConsoleDTO console;
 
@@ -56,6 +68,22 @@ public class GameDTO implements Serializable {
         this.coverContentType = coverContentType;
     }
 
+    public String getCoverHash() {
+        return coverHash;
+    }
+
+    public void setCoverHash(String coverHash) {
+        this.coverHash = coverHash;
+    }
+
+    public String getCoverUrl() {
+        return coverUrl;
+    }
+
+    public void setCoverUrl(String coverUrl) {
+        this.coverUrl = coverUrl;
+    }
+
     public ConsoleDTO getConsole() {
         return console;
     }
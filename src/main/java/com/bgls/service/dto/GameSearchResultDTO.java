@@ -0,0 +1,71 @@
+package com.bgls.service.dto;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * A game found by a name search: only what a suggestion list shows, without the cover.
+ */
+public class GameSearchResultDTO implements Serializable {
+
+    private Long id;
+
+    private String name;
+
+    private ConsoleDTO console;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public ConsoleDTO getConsole() {
+        return console;
+    }
+
+    public void setConsole(ConsoleDTO console) {
+        this.console = console;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof GameSearchResultDTO)) {
+            return false;
+        }
+
+        GameSearchResultDTO gameSearchResultDTO = (GameSearchResultDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, gameSearchResultDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "GameSearchResultDTO{" +
+            "id=" + getId() +
+            ", name='" + getName() + "'" +
+            ", console=" + getConsole() +
+            "}";
+    }
+}
@@ -1,9 +1,24 @@
 package com.bgls.service.impl;
 
+import com.bgls.cache.ReadThroughCache;
+import com.bgls.cache.TransactionCompletion;
+import com.bgls.config.ApplicationProperties;
+import com.bgls.domain.Console;
 import com.bgls.repository.ConsoleRepository;
 import com.bgls.service.ConsoleService;
+import com.bgls.service.GameTypeaheadService;
+import com.bgls.service.ImageHashUtil;
+import com.bgls.service.ImageUploadService;
 import com.bgls.service.dto.ConsoleDTO;
+import com.bgls.service.dto.GameDTO;
 import com.bgls.service.mapper.ConsoleMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -13,6 +28,11 @@ import reactor.core.publisher.Mono;
 
 /**
  * Service Implementation for managing {@link com.bgls.domain.Console}.
+ * <p>
+ * The consoles are read from a snapshot of the whole table, which every game form and filter reads while it hardly ever
+ * changes. The snapshot is kept in a {@link ReadThroughCache} tagged {@code cache=consoles} for
+ * {@code application.cache.consoles.time-to-live}, and invalidated by the writes of the consoles along with the cached
+ * games showing them, once more after their transaction completes so that a snapshot read in between is not kept.
  */
 @Service
 @Transactional
@@ -20,25 +40,65 @@ public class ConsoleServiceImpl implements ConsoleService {
 
     private static final Logger log = LoggerFactory.getLogger(ConsoleServiceImpl.class);
 
+    private static final String SNAPSHOT = "all";
+
+    /**
+     * The consoles along with their version, and the consoles by id.
+     */
+    private record Snapshot(Consoles consoles, Map<Long, ConsoleDTO> byId) {}
+
     private final ConsoleRepository consoleRepository;
 
     private final ConsoleMapper consoleMapper;
 
-    public ConsoleServiceImpl(ConsoleRepository consoleRepository, ConsoleMapper consoleMapper) {
+    private final ImageUploadService imageUploadService;
+
+    private final GameTypeaheadService gameTypeaheadService;
+
+    private final ReadThroughCache<String, Snapshot> consoleCache;
+
+    private final ReadThroughCache<Long, GameDTO> gameDetailCache;
+
+    public ConsoleServiceImpl(
+        ConsoleRepository consoleRepository,
+        ConsoleMapper consoleMapper,
+        ImageUploadService imageUploadService,
+        GameTypeaheadService gameTypeaheadService,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry,
+        ReadThroughCache<Long, GameDTO> gameDetailCache
+    ) {
         this.consoleRepository = consoleRepository;
         this.consoleMapper = consoleMapper;
+        this.imageUploadService = imageUploadService;
+        this.gameTypeaheadService = gameTypeaheadService;
+        this.consoleCache = new ReadThroughCache<>(
+            "consoles",
+            1,
+            snapshot -> 1,
+            applicationProperties.getCache().getConsoles().getTimeToLive(),
+            meterRegistry
+        );
+        this.gameDetailCache = gameDetailCache;
     }
 
     @Override
     public Mono<ConsoleDTO> save(ConsoleDTO consoleDTO) {
         log.debug("Request to save Console : {}", consoleDTO);
-        return consoleRepository.save(consoleMapper.toEntity(consoleDTO)).map(consoleMapper::toDto);
+        return withStoredImage(consoleMapper.toEntity(consoleDTO))
+            .flatMap(consoleRepository::save)
+            .flatMap(console -> invalidateCache().thenReturn(console))
+            .map(consoleMapper::toDto);
     }
 
     @Override
     public Mono<ConsoleDTO> update(ConsoleDTO consoleDTO) {
         log.debug("Request to update Console : {}", consoleDTO);
-        return consoleRepository.save(consoleMapper.toEntity(consoleDTO)).map(consoleMapper::toDto);
+        return withStoredImage(consoleMapper.toEntity(consoleDTO))
+            .flatMap(consoleRepository::save)
+            .flatMap(console -> invalidateCache().thenReturn(console))
+            .flatMap(console -> renameInIndexAfterCommit(console).thenReturn(console))
+            .map(consoleMapper::toDto);
     }
 
     @Override
@@ -48,11 +108,16 @@ public class ConsoleServiceImpl implements ConsoleService {
         return consoleRepository
             .findById(consoleDTO.getId())
             .map(existingConsole -> {
+                // the stored hash only changes along with the image itself
+                String imageHash = existingConsole.getImageHash();
                 consoleMapper.partialUpdate(existingConsole, consoleDTO);
 
-                return existingConsole;
+                return existingConsole.imageHash(imageHash);
             })
+            .flatMap(this::storeImage)
             .flatMap(consoleRepository::save)
+            .flatMap(console -> invalidateCache().thenReturn(console))
+            .flatMap(console -> renameInIndexAfterCommit(console).thenReturn(console))
             .map(consoleMapper::toDto);
     }
 
@@ -60,23 +125,121 @@ public class ConsoleServiceImpl implements ConsoleService {
     @Transactional(readOnly = true)
     public Flux<ConsoleDTO> findAll() {
         log.debug("Request to get all Consoles");
-        return consoleRepository.findAll().map(consoleMapper::toDto);
+        return snapshot().flatMapIterable(snapshot -> snapshot.consoles().consoles());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Consoles> findAllWithVersion() {
+        log.debug("Request to get all Consoles with their version");
+        return snapshot().map(Snapshot::consoles);
     }
 
     public Mono<Long> countAll() {
-        return consoleRepository.count();
+        return snapshot().map(snapshot -> (long) snapshot.byId().size());
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<ConsoleDTO> findOne(Long id) {
         log.debug("Request to get Console : {}", id);
-        return consoleRepository.findById(id).map(consoleMapper::toDto);
+        return snapshot().flatMap(snapshot -> Mono.justOrEmpty(snapshot.byId().get(id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<ConsoleDTO> findImage(Long id) {
+        log.debug("Request to get the image of Console : {}", id);
+        return consoleRepository.findImageById(id).map(consoleMapper::toDto);
+    }
+
+    @Override
+    public Mono<ConsoleDTO> updateImage(Long id, ImageUploadService.ImageUpload image) {
+        log.debug("Request to update the image of Console : {}", id);
+        return consoleRepository
+            .updateImage(id, image.contentType(), image.hash())
+            .filter(updated -> updated > 0)
+            .flatMap(updated -> invalidateCache().then(consoleRepository.findById(id)))
+            .map(consoleMapper::toDto);
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Console : {}", id);
-        return consoleRepository.deleteById(id);
+        return consoleRepository.deleteById(id).then(invalidateCache());
+    }
+
+    private Mono<Snapshot> snapshot() {
+        return consoleCache.get(
+            SNAPSHOT,
+            consoleRepository.findAll().map(consoleMapper::toDto).collectList().map(ConsoleServiceImpl::snapshot)
+        );
+    }
+
+    /**
+     * Snapshots the consoles, their version being the hash of the fields they show.
+     */
+    private static Snapshot snapshot(List<ConsoleDTO> consoles) {
+        Map<Long, ConsoleDTO> byId = new HashMap<>();
+        MessageDigest digest = ImageHashUtil.newDigest();
+        for (ConsoleDTO console : consoles) {
+            byId.put(console.getId(), console);
+            String fields = String.join(
+                "\t",
+                String.valueOf(console.getId()),
+                Objects.toString(console.getName(), ""),
+                Objects.toString(console.getImageContentType(), ""),
+                Objects.toString(console.getImageHash(), "")
+            );
+            digest.update((fields + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return new Snapshot(new Consoles(List.copyOf(consoles), ImageHashUtil.toHash(digest)), Map.copyOf(byId));
+    }
+
+    /**
+     * Renames a console in the typeahead index once its write is committed.
+     */
+    private Mono<Void> renameInIndexAfterCommit(Console console) {
+        return TransactionCompletion.runAfterCommit(() -> gameTypeaheadService.renameConsole(console.getId(), console.getName()));
+    }
+
+    /**
+     * Invalidates the cached consoles and games now, and again once the transaction of the write completes.
+     */
+    private Mono<Void> invalidateCache() {
+        return TransactionCompletion.runNowAndAfterCompletion(() -> {
+            consoleCache.invalidateAll();
+            gameDetailCache.invalidateAll();
+        });
+    }
+
+    /**
+     * The responses carry the URL of the image instead of its bytes: an update sending the content type of the image
+     * without the image itself keeps the stored one, while clearing both removes it.
+     */
+    private Mono<Console> withStoredImage(Console console) {
+        if (console.getImage() != null) {
+            return storeImage(console);
+        }
+        if (console.getImageContentType() == null || console.getId() == null) {
+            return Mono.just(console.imageHash(null));
+        }
+        return consoleRepository
+            .findImageById(console.getId())
+            .map(stored -> console.imageHash(stored.getImageHash()).imageContentType(stored.getImageContentType()))
+            .defaultIfEmpty(console.imageHash(null));
+    }
+
+    /**
+     * An image sent along with the console is checked and stored as an uploaded one, the console only keeping its hash
+     * and the content type detected from its bytes.
+     */
+    private Mono<Console> storeImage(Console console) {
+        if (console.getImage() == null) {
+            return Mono.just(console);
+        }
+        return imageUploadService
+            .read(console.getImage())
+            .map(image -> console.imageHash(image.hash()).imageContentType(image.contentType()).image(null));
     }
 }
@@ -0,0 +1,109 @@
+package com.bgls.service.impl;
+
+import com.bgls.service.ImageHashUtil;
+import com.bgls.service.ImageStorage;
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.regex.Pattern;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link ImageStorage} keeping each image in a file of a local directory, named after its hash.
+ * <p>
+ * An image is written to a temporary file while its hash is computed, then moved to {@code <root>/<ab>/<hash>}, {@code ab}
+ * being the first two characters of the hash, unless that file already exists. The images are found back as
+ * {@link FileSystemResource}s, which WebFlux writes to the response with a zero-copy file transfer.
+ */
+public class FileSystemImageStorage implements ImageStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(FileSystemImageStorage.class);
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    private static final String TEMPORARY_DIRECTORY = "tmp";
+
+    private final Path root;
+
+    public FileSystemImageStorage(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public Mono<String> store(Flux<DataBuffer> content) {
+        return Mono.fromCallable(this::createTemporaryFile)
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(temporaryFile -> {
+                MessageDigest digest = ImageHashUtil.newDigest();
+                return DataBufferUtils.write(content.doOnNext(dataBuffer -> update(digest, dataBuffer)), temporaryFile)
+                    .then(moveInPlace(temporaryFile, digest))
+                    .onErrorResume(e -> deleteQuietly(temporaryFile).then(Mono.error(e)));
+            });
+    }
+
+    @Override
+    public Mono<Resource> find(String hash) {
+        if (hash == null || !HASH.matcher(hash).matches()) {
+            return Mono.empty();
+        }
+        return Mono.<Resource>fromCallable(() -> {
+            Path file = path(hash);
+            return Files.isRegularFile(file) ? new FileSystemResource(file) : null;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private Path path(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private Path createTemporaryFile() throws IOException {
+        Path directory = Files.createDirectories(root.resolve(TEMPORARY_DIRECTORY));
+        return Files.createTempFile(directory, "upload-", ".tmp");
+    }
+
+    private Mono<String> moveInPlace(Path temporaryFile, MessageDigest digest) {
+        return Mono.fromCallable(() -> {
+            String hash = ImageHashUtil.toHash(digest);
+            Path file = path(hash);
+            if (Files.exists(file)) {
+                Files.delete(temporaryFile);
+                return hash;
+            }
+            Files.createDirectories(file.getParent());
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // stored meanwhile by a concurrent upload of the same image
+                Files.delete(temporaryFile);
+            }
+            return hash;
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static void update(MessageDigest digest, DataBuffer dataBuffer) {
+        try (DataBuffer.ByteBufferIterator iterator = dataBuffer.readableByteBuffers()) {
+            iterator.forEachRemaining(digest::update);
+        }
+    }
+
+    private static Mono<Void> deleteQuietly(Path file) {
+        return Mono.<Void>fromRunnable(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Could not delete the temporary image file {}: {}", file, e.getMessage());
+            }
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+}
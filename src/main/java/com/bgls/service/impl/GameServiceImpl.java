@@ -1,20 +1,38 @@
 package com.bgls.service.impl;
 
+import com.bgls.cache.ReadThroughCache;
+import com.bgls.cache.TransactionCompletion;
+import com.bgls.config.ApplicationProperties;
+import com.bgls.domain.Game;
 import com.bgls.domain.criteria.GameCriteria;
 import com.bgls.repository.GameRepository;
+import com.bgls.repository.SeekCursor;
+import com.bgls.service.GameCoverThumbnailService;
 import com.bgls.service.GameService;
+import com.bgls.service.GameTypeaheadService;
+import com.bgls.service.ImageUploadService;
+import com.bgls.service.TotalCountService;
+import com.bgls.service.dto.ConsoleDTO;
 import com.bgls.service.dto.GameDTO;
+import com.bgls.service.dto.GameSearchResultDTO;
 import com.bgls.service.mapper.GameMapper;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
  * Service Implementation for managing {@link com.bgls.domain.Game}.
+ * <p>
+ * The games are read by their detail from a {@link ReadThroughCache}, without their covers: their DTOs only carry the URL
+ * of the cover, served by the {@link com.bgls.service.ImageStorage}. Their writes invalidate them, once more after their
+ * transaction completes so that a game read in between is not kept.
  */
 @Service
 @Transactional
@@ -22,25 +40,72 @@ public class GameServiceImpl implements GameService {
 
     private static final Logger log = LoggerFactory.getLogger(GameServiceImpl.class);
 
+    /**
+     * Estimated bytes taken by a cached game, besides its strings: the entry, the game and console DTOs, and the headers
+     * of their strings.
+     */
+    private static final long CACHED_GAME_WEIGHT = 320;
+
     private final GameRepository gameRepository;
 
     private final GameMapper gameMapper;
 
-    public GameServiceImpl(GameRepository gameRepository, GameMapper gameMapper) {
+    private final GameCoverThumbnailService gameCoverThumbnailService;
+
+    private final ImageUploadService imageUploadService;
+
+    private final GameTypeaheadService gameTypeaheadService;
+
+    private final TotalCountService totalCountService;
+
+    private final ApplicationProperties.Search searchProperties;
+
+    private final ReadThroughCache<Long, GameDTO> gameDetailCache;
+
+    public GameServiceImpl(
+        GameRepository gameRepository,
+        GameMapper gameMapper,
+        GameCoverThumbnailService gameCoverThumbnailService,
+        ImageUploadService imageUploadService,
+        GameTypeaheadService gameTypeaheadService,
+        TotalCountService totalCountService,
+        ApplicationProperties applicationProperties,
+        ReadThroughCache<Long, GameDTO> gameDetailCache
+    ) {
         this.gameRepository = gameRepository;
         this.gameMapper = gameMapper;
+        this.gameCoverThumbnailService = gameCoverThumbnailService;
+        this.imageUploadService = imageUploadService;
+        this.gameTypeaheadService = gameTypeaheadService;
+        this.totalCountService = totalCountService;
+        this.searchProperties = applicationProperties.getSearch();
+        this.gameDetailCache = gameDetailCache;
     }
 
     @Override
     public Mono<GameDTO> save(GameDTO gameDTO) {
         log.debug("Request to save Game : {}", gameDTO);
-        return gameRepository.save(gameMapper.toEntity(gameDTO)).map(gameMapper::toDto);
+        return withStoredCover(gameMapper.toEntity(gameDTO))
+            .flatMap(gameRepository::save)
+            .flatMap(game -> indexAfterCommit(game).thenReturn(game))
+            .flatMap(game -> invalidateCount().thenReturn(game))
+            .flatMap(game -> refreshThumbnails(game, gameDTO.getCover() != null).thenReturn(game))
+            .map(gameMapper::toDto);
     }
 
     @Override
     public Mono<GameDTO> update(GameDTO gameDTO) {
         log.debug("Request to update Game : {}", gameDTO);
-        return gameRepository.save(gameMapper.toEntity(gameDTO)).map(gameMapper::toDto);
+        return withStoredCover(gameMapper.toEntity(gameDTO))
+            .flatMap(gameRepository::save)
+            .flatMap(game -> invalidateCache(game.getId()).thenReturn(game))
+            .flatMap(game -> indexAfterCommit(game).thenReturn(game))
+            .flatMap(game -> invalidateCount().thenReturn(game))
+            .flatMap(game -> {
+                boolean coverChanged = gameDTO.getCover() != null || gameDTO.getCoverContentType() == null;
+                return refreshThumbnails(game, coverChanged).thenReturn(game);
+            })
+            .map(gameMapper::toDto);
     }
 
     @Override
@@ -50,11 +115,18 @@ public class GameServiceImpl implements GameService {
         return gameRepository
             .findById(gameDTO.getId())
             .map(existingGame -> {
+                // the stored hash only changes along with the cover itself
+                String coverHash = existingGame.getCoverHash();
                 gameMapper.partialUpdate(existingGame, gameDTO);
 
-                return existingGame;
+                return existingGame.coverHash(coverHash);
             })
+            .flatMap(this::storeCover)
             .flatMap(gameRepository::save)
+            .flatMap(game -> invalidateCache(game.getId()).thenReturn(game))
+            .flatMap(game -> indexAfterCommit(game).thenReturn(game))
+            .flatMap(game -> invalidateCount().thenReturn(game))
+            .flatMap(game -> refreshThumbnails(game, gameDTO.getCover() != null).thenReturn(game))
             .map(gameMapper::toDto);
     }
 
@@ -65,6 +137,20 @@ public class GameServiceImpl implements GameService {
         return gameRepository.findByCriteria(criteria, pageable).map(gameMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<GameDTO> findByCriteria(GameCriteria criteria, Pageable pageable, SeekCursor after) {
+        log.debug("Request to get Games by Criteria after {}", after);
+        return gameRepository.findByCriteria(criteria, pageable, after).map(gameMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Page<GameDTO>> findPageByCriteria(GameCriteria criteria, Pageable pageable) {
+        log.debug("Request to get a page of Games by Criteria along with their count");
+        return gameRepository.findPageByCriteria(criteria, pageable).map(page -> page.map(gameMapper::toDto));
+    }
+
     /**
      * Find the count of games by criteria.
      * @param criteria filtering criteria
@@ -75,6 +161,18 @@ public class GameServiceImpl implements GameService {
         return gameRepository.countByCriteria(criteria);
     }
 
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<TotalCountService.TotalCount> totalCountByCriteria(GameCriteria criteria) {
+        log.debug("Request to get the total count of Games by Criteria");
+        return totalCountService.count(
+            TotalCountService.GAMES,
+            criteria,
+            gameRepository.countByCriteria(criteria),
+            gameRepository.estimateCountByCriteria(criteria)
+        );
+    }
+
     public Flux<GameDTO> findAllWithEagerRelationships(Pageable pageable) {
         return gameRepository.findAllWithEagerRelationships(pageable).map(gameMapper::toDto);
     }
@@ -87,17 +185,141 @@ public class GameServiceImpl implements GameService {
     @Transactional(readOnly = true)
     public Mono<GameDTO> findOne(Long id) {
         log.debug("Request to get Game : {}", id);
-        return gameRepository.findOneWithEagerRelationships(id).map(gameMapper::toDto);
+        return gameDetailCache.get(id, gameRepository.findOneWithEagerRelationships(id).map(gameMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<GameDTO> findAllByIds(List<Long> ids) {
+        log.debug("Request to get Games : {}", ids);
+        return gameRepository.findAllByIds(ids).map(gameMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<GameDTO> findCover(Long id) {
+        log.debug("Request to get the cover of Game : {}", id);
+        return gameRepository.findCoverById(id).map(gameMapper::toDto);
+    }
+
+    @Override
+    public Mono<GameDTO> updateCover(Long id, ImageUploadService.ImageUpload cover) {
+        log.debug("Request to update the cover of Game : {}", id);
+        return gameRepository
+            .updateCover(id, cover.contentType(), cover.hash())
+            .filter(updated -> updated > 0)
+            .flatMap(updated ->
+                refreshThumbnails(id, cover.hash()).then(invalidateCache(id)).then(gameRepository.findOneWithEagerRelationships(id))
+            )
+            .map(gameMapper::toDto);
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Game : {}", id);
-        return gameRepository.deleteById(id);
+        return gameRepository
+            .deleteById(id)
+            .then(TransactionCompletion.runAfterCommit(() -> gameTypeaheadService.remove(id)))
+            .then(invalidateCount())
+            .then(invalidateCache(id));
+    }
+
+    /**
+     * Invalidates the cached detail of a game now, and again once the transaction of its write completes.
+     */
+    private Mono<Void> invalidateCache(Long id) {
+        return TransactionCompletion.runNowAndAfterCompletion(() -> gameDetailCache.invalidate(id));
+    }
+
+    /**
+     * Invalidates the cached counts of the games now, and again once the transaction of the write completes.
+     */
+    private Mono<Void> invalidateCount() {
+        return TransactionCompletion.runNowAndAfterCompletion(() -> totalCountService.invalidate(TotalCountService.GAMES));
     }
 
+    /**
+     * Adds a saved game to the typeahead index once its write is committed.
+     */
+    private Mono<Void> indexAfterCommit(Game game) {
+        return TransactionCompletion.runAfterCommit(() -> gameTypeaheadService.put(game));
+    }
+
+    /**
+     * The searches are answered from memory once the typeahead index is built: they do not need a transaction, which
+     * would take a connection from the pool for nothing.
+     */
     @Override
-    public Flux<GameDTO> findByNameContainingIgnoreCase(String name) {
-        return gameRepository.findByNameContainingIgnoreCaseWithEagerRelationships(name).map(gameMapper::toDto);
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Flux<GameSearchResultDTO> search(String name, Long consoleId, Integer limit) {
+        log.debug("Request to search Games by name : {} on Console : {}", name, consoleId);
+        if (name == null || name.isBlank()) {
+            return Flux.empty();
+        }
+        int requestedLimit = limit != null ? limit : searchProperties.getDefaultResults();
+        int cappedLimit = Math.max(1, Math.min(requestedLimit, searchProperties.getMaxResults()));
+        if (gameTypeaheadService.isReady()) {
+            return Flux.defer(() -> Flux.fromIterable(gameTypeaheadService.search(name, consoleId, cappedLimit)));
+        }
+        return gameRepository.searchByName(name, consoleId, cappedLimit).map(gameMapper::toSearchResultDto);
+    }
+
+    /**
+     * The responses carry the URL of the cover instead of its bytes: an update sending the content type of the cover
+     * without the cover itself keeps the stored one, while clearing both removes it.
+     */
+    private Mono<Game> withStoredCover(Game game) {
+        if (game.getCover() != null) {
+            return storeCover(game);
+        }
+        if (game.getCoverContentType() == null || game.getId() == null) {
+            return Mono.just(game.coverHash(null));
+        }
+        return gameRepository
+            .findCoverById(game.getId())
+            .map(stored -> game.coverHash(stored.getCoverHash()).coverContentType(stored.getCoverContentType()))
+            .defaultIfEmpty(game.coverHash(null));
+    }
+
+    /**
+     * A cover sent along with the game is checked and stored as an uploaded one, the game only keeping its hash and the
+     * content type detected from its bytes.
+     */
+    private Mono<Game> storeCover(Game game) {
+        if (game.getCover() == null) {
+            return Mono.just(game);
+        }
+        return imageUploadService
+            .read(game.getCover())
+            .map(cover -> game.coverHash(cover.hash()).coverContentType(cover.contentType()).cover(null));
+    }
+
+    /**
+     * The thumbnails are only generated again when the request carried a new cover, or removed the stored one, once the
+     * write is committed: they are written on connections of their own, which would not see the game before.
+     */
+    private Mono<Void> refreshThumbnails(Game game, boolean coverChanged) {
+        return coverChanged ? refreshThumbnails(game.getId(), game.getCoverHash()) : Mono.empty();
+    }
+
+    private Mono<Void> refreshThumbnails(Long gameId, String coverHash) {
+        return TransactionCompletion.runAfterCommit(() -> gameCoverThumbnailService.refreshInBackground(gameId, coverHash));
+    }
+
+    /**
+     * Estimates the bytes taken by a cached game, its strings being counted as UTF-16.
+     */
+    public static long weigh(GameDTO game) {
+        long chars = length(game.getName()) + length(game.getCoverContentType()) + length(game.getCoverHash()) + length(game.getCoverUrl());
+        ConsoleDTO console = game.getConsole();
+        if (console != null) {
+            chars += length(console.getName()) + length(console.getImageHash()) + length(console.getImageUrl());
+        }
+        long cover = game.getCover() != null ? game.getCover().length : 0;
+        return CACHED_GAME_WEIGHT + 2 * chars + cover;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
     }
 }
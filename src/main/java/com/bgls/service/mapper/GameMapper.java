@@ -4,6 +4,7 @@ import com.bgls.domain.Console;
 import com.bgls.domain.Game;
 import com.bgls.service.dto.ConsoleDTO;
 import com.bgls.service.dto.GameDTO;
+import com.bgls.service.dto.GameSearchResultDTO;
 import org.mapstruct.*;
 
 /**
@@ -14,6 +15,9 @@ public interface GameMapper extends EntityMapper<GameDTO, Game> {
     @Mapping(target = "console", source = "console", qualifiedByName = "consoleName")
     GameDTO toDto(Game s);
 
+    @Mapping(target = "console", source = "console", qualifiedByName = "consoleName")
+    GameSearchResultDTO toSearchResultDto(Game game);
+
     @Named("consoleName")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -0,0 +1,18 @@
+package com.bgls.web.filter;
+
+import com.bgls.service.RelationLoader;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+public class RelationLoaderScopeWebFilter implements WebFilter {
+
+    /**
+     * Gives each request its own scope, in which the {@link RelationLoader} lookups it issues at once are batched.
+     */
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange).contextWrite(RelationLoader::withRequestScope);
+    }
+}
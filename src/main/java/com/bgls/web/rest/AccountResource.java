@@ -2,6 +2,7 @@ package com.bgls.web.rest;
 
 import com.bgls.repository.UserRepository;
 import com.bgls.security.SecurityUtils;
+import com.bgls.service.ImageHashUtil;
 import com.bgls.service.MailService;
 import com.bgls.service.UserService;
 import com.bgls.service.dto.AdminUserDTO;
@@ -10,11 +11,17 @@ import com.bgls.web.rest.errors.*;
 import com.bgls.web.rest.vm.KeyAndPasswordVM;
 import com.bgls.web.rest.vm.ManagedUserVM;
 import jakarta.validation.Valid;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
@@ -80,14 +87,16 @@ public class AccountResource {
     /**
      * {@code GET  /account} : get the current user.
      *
-     * @return the current user.
+     * @return the current user, or the status {@code 304 (Not Modified)} if its version matches the {@code If-None-Match}
+     * request header.
      * @throws RuntimeException {@code 500 (Internal Server Error)} if the user couldn't be returned.
      */
     @GetMapping("/account")
-    public Mono<AdminUserDTO> getAccount() {
+    public Mono<ResponseEntity<AdminUserDTO>> getAccount() {
         return userService
             .getUserWithAuthorities()
             .map(AdminUserDTO::new)
+            .map(account -> ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate()).eTag(version(account)).body(account))
             .switchIfEmpty(Mono.error(new AccountResourceException("User could not be found")));
     }
 
@@ -179,6 +188,28 @@ public class AccountResource {
             .then();
     }
 
+    /**
+     * Hashes the fields of an account, so that its version changes with any of them.
+     */
+    private static String version(AdminUserDTO account) {
+        String fields = String.join(
+            "\t",
+            String.valueOf(account.getId()),
+            Objects.toString(account.getLogin(), ""),
+            Objects.toString(account.getFirstName(), ""),
+            Objects.toString(account.getLastName(), ""),
+            Objects.toString(account.getEmail(), ""),
+            Objects.toString(account.getImageUrl(), ""),
+            String.valueOf(account.isActivated()),
+            Objects.toString(account.getLangKey(), ""),
+            Objects.toString(account.getLastModifiedDate(), ""),
+            String.join(",", new TreeSet<>(Objects.requireNonNullElse(account.getAuthorities(), Set.of())))
+        );
+        MessageDigest digest = ImageHashUtil.newDigest();
+        digest.update(fields.getBytes(StandardCharsets.UTF_8));
+        return ImageHashUtil.toHash(digest);
+    }
+
     private static boolean isPasswordLengthInvalid(String password) {
         return (
             StringUtils.isEmpty(password) ||
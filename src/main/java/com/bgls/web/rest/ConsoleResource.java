@@ -2,8 +2,13 @@ package com.bgls.web.rest;
 
 import com.bgls.repository.ConsoleRepository;
 import com.bgls.service.ConsoleService;
+import com.bgls.service.ImageStorage;
+import com.bgls.service.ImageUploadService;
+import com.bgls.service.InvalidImageException;
 import com.bgls.service.dto.ConsoleDTO;
 import com.bgls.web.rest.errors.BadRequestAlertException;
+import com.bgls.web.rest.util.ImageResponseUtil;
+import com.bgls.web.rest.util.ImageUploadUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -13,9 +18,12 @@ import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.PartEvent;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
@@ -42,9 +50,20 @@ public class ConsoleResource {
 
     private final ConsoleRepository consoleRepository;
 
-    public ConsoleResource(ConsoleService consoleService, ConsoleRepository consoleRepository) {
+    private final ImageUploadService imageUploadService;
+
+    private final ImageStorage imageStorage;
+
+    public ConsoleResource(
+        ConsoleService consoleService,
+        ConsoleRepository consoleRepository,
+        ImageUploadService imageUploadService,
+        ImageStorage imageStorage
+    ) {
         this.consoleService = consoleService;
         this.consoleRepository = consoleRepository;
+        this.imageUploadService = imageUploadService;
+        this.imageStorage = imageStorage;
     }
 
     /**
@@ -165,12 +184,21 @@ public class ConsoleResource {
     /**
      * {@code GET  /consoles} : get all the consoles.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of consoles in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of consoles in body, or with status
+     * {@code 304 (Not Modified)} if their version matches the {@code If-None-Match} request header.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<List<ConsoleDTO>> getAllConsoles() {
+    public Mono<ResponseEntity<List<ConsoleDTO>>> getAllConsoles() {
         log.debug("REST request to get all Consoles");
-        return consoleService.findAll().collectList();
+        return consoleService
+            .findAllWithVersion()
+            .map(
+                consoles ->
+                    ResponseEntity.ok()
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .eTag(consoles.version())
+                        .body(consoles.consoles())
+            );
     }
 
     /**
@@ -196,6 +224,70 @@ public class ConsoleResource {
         return ResponseUtil.wrapOrNotFound(consoleDTO);
     }
 
+    /**
+     * {@code GET  /consoles/:id/image} : get the image of the "id" console.
+     *
+     * @param id the id of the console whose image to retrieve.
+     * @param version the version of the image, as found in {@link ConsoleDTO#getImageUrl()}: the current one may be cached for good.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the image, with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} request header, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/image")
+    public Mono<ResponseEntity<Resource>> getConsoleImage(
+        @PathVariable("id") Long id,
+        @RequestParam(name = ImageResponseUtil.VERSION_PARAMETER, required = false) String version
+    ) {
+        log.debug("REST request to get the image of Console : {}", id);
+        return consoleService
+            .findImage(id)
+            .filter(console -> console.getImageHash() != null)
+            .flatMap(console ->
+                imageStorage
+                    .find(console.getImageHash())
+                    .map(image -> ImageResponseUtil.imageResponse(image, console.getImageContentType(), console.getImageHash(), version))
+            )
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code PUT  /consoles/:id/image} : Replace the image of an existing console with the image uploaded as the "file" part
+     * of a {@code multipart/form-data} request.
+     * <p>
+     * The image is streamed as it arrives and rejected as soon as it grows past the configured size cap, or its first bytes
+     * are not those of a PNG, JPEG, GIF or WebP image, whatever content type the client sent.
+     *
+     * @param id the id of the console whose image to replace.
+     * @param parts the parts of the request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated consoleDTO,
+     * or with status {@code 400 (Bad Request)} if no image was uploaded,
+     * or with status {@code 404 (Not Found)} if the console is not found,
+     * or with status {@code 413 (Payload Too Large)} if the image is too large,
+     * or with status {@code 415 (Unsupported Media Type)} if the upload is not a supported image.
+     */
+    @PutMapping(value = "/{id}/image", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+    public Mono<ResponseEntity<ConsoleDTO>> uploadConsoleImage(@PathVariable("id") Long id, @RequestBody Flux<PartEvent> parts) {
+        log.debug("REST request to upload the image of Console : {}", id);
+        return consoleRepository
+            .existsById(id)
+            .flatMap(exists -> {
+                if (!exists) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+                }
+
+                return imageUploadService
+                    .read(ImageUploadUtil.fileContent(parts))
+                    .onErrorMap(InvalidImageException.class, ImageUploadUtil::toResponseStatus)
+                    .flatMap(image -> consoleService.updateImage(id, image))
+                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                    .map(result ->
+                        ResponseEntity.ok()
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                            .body(result)
+                    );
+            });
+    }
+
     /**
      * {@code DELETE  /consoles/:id} : delete the "id" console.
      *
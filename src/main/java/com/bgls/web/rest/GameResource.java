@@ -2,9 +2,22 @@ package com.bgls.web.rest;
 
 import com.bgls.domain.criteria.GameCriteria;
 import com.bgls.repository.GameRepository;
+import com.bgls.repository.SeekCursor;
+import com.bgls.service.CountStrategy;
+import com.bgls.service.GameCoverThumbnailService;
 import com.bgls.service.GameService;
+import com.bgls.service.ImageStorage;
+import com.bgls.service.ImageUploadService;
+import com.bgls.service.InvalidImageException;
+import com.bgls.service.TotalCountService;
 import com.bgls.service.dto.GameDTO;
+import com.bgls.service.dto.GameSearchResultDTO;
 import com.bgls.web.rest.errors.BadRequestAlertException;
+import com.bgls.web.rest.util.ImageResponseUtil;
+import com.bgls.web.rest.util.ImageUploadUtil;
+import com.bgls.web.rest.util.SeekPaginationUtil;
+import com.bgls.web.rest.util.SlicePaginationUtil;
+import com.bgls.web.rest.util.TotalCountPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
@@ -14,16 +27,18 @@ import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.multipart.PartEvent;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.ForwardedHeaderUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -40,6 +55,8 @@ public class GameResource {
 
     private static final String ENTITY_NAME = "game";
 
+    private static final int MAX_IDS = 1000;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -47,9 +64,28 @@ public class GameResource {
 
     private final GameRepository gameRepository;
 
-    public GameResource(GameService gameService, GameRepository gameRepository) {
+    private final GameCoverThumbnailService gameCoverThumbnailService;
+
+    private final ImageUploadService imageUploadService;
+
+    private final ImageStorage imageStorage;
+
+    private final TotalCountService totalCountService;
+
+    public GameResource(
+        GameService gameService,
+        GameRepository gameRepository,
+        GameCoverThumbnailService gameCoverThumbnailService,
+        ImageUploadService imageUploadService,
+        ImageStorage imageStorage,
+        TotalCountService totalCountService
+    ) {
         this.gameService = gameService;
         this.gameRepository = gameRepository;
+        this.gameCoverThumbnailService = gameCoverThumbnailService;
+        this.imageUploadService = imageUploadService;
+        this.imageStorage = imageStorage;
+        this.totalCountService = totalCountService;
     }
 
     /**
@@ -173,31 +209,100 @@ public class GameResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param criteria the criteria which the requested entities should match.
+     * @param cursor opts in to keyset pagination: empty for the first page, then the {@code X-Next-Cursor} header of the previous page.
+     * @param count whether to count the matching games for the {@code X-Total-Count} header; {@code false} skips the count.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of games in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
     public Mono<ResponseEntity<List<GameDTO>>> getAllGames(
         GameCriteria criteria,
         @org.springdoc.core.annotations.ParameterObject Pageable pageable,
-        ServerHttpRequest request
+        ServerHttpRequest request,
+        @RequestParam(name = "cursor", required = false) String cursor,
+        @RequestParam(name = "count", required = false, defaultValue = "true") boolean count
     ) {
         log.debug("REST request to get Games by criteria: {}", criteria);
+        if (cursor != null) {
+            SeekCursor after = SeekPaginationUtil.parseCursor(cursor, pageable, ENTITY_NAME);
+            Pageable seekPageable = SeekPaginationUtil.seekPageable(after, pageable);
+            // the cursor of the next page is read from the last row, so its errors are those of the sort too
+            return Flux.defer(() -> gameService.findByCriteria(criteria, seekPageable, after))
+                .collectList()
+                .map(
+                    games ->
+                        ResponseEntity.ok()
+                            .headers(SeekPaginationUtil.generateSeekPaginationHttpHeaders(games, seekPageable, GameDTO::getId))
+                            .body(games)
+                )
+                .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"));
+        }
+        if (!count) {
+            return gameService
+                .findByCriteria(criteria, pageable)
+                .collectList()
+                .map(
+                    games ->
+                        ResponseEntity.ok()
+                            .headers(
+                                SlicePaginationUtil.generateSlicePaginationHttpHeaders(
+                                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                    games,
+                                    pageable
+                                )
+                            )
+                            .body(games)
+                );
+        }
+        if (totalCountService.strategyOf(TotalCountService.GAMES) == CountStrategy.WINDOW) {
+            return gameService
+                .findPageByCriteria(criteria, pageable)
+                .map(
+                    page ->
+                        ResponseEntity.ok()
+                            .headers(
+                                TotalCountPaginationUtil.generatePaginationHttpHeaders(
+                                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                    page,
+                                    CountStrategy.WINDOW
+                                )
+                            )
+                            .body(page.getContent())
+                );
+        }
         return gameService
-            .countByCriteria(criteria)
+            .totalCountByCriteria(criteria)
             .zipWith(gameService.findByCriteria(criteria, pageable).collectList())
             .map(
                 countWithEntities ->
                     ResponseEntity.ok()
                         .headers(
-                            PaginationUtil.generatePaginationHttpHeaders(
+                            TotalCountPaginationUtil.generatePaginationHttpHeaders(
                                 ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                                new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                                countWithEntities.getT2(),
+                                pageable,
+                                countWithEntities.getT1()
                             )
                         )
                         .body(countWithEntities.getT2())
             );
     }
 
+    /**
+     * {@code GET  /games?ids=:ids} : get the games with the given ids, as a single request rather than one per game.
+     *
+     * @param ids the ids of the games, at most {@value #MAX_IDS}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of the games found in body, in the order of
+     * the ids, or with status {@code 400 (Bad Request)} if there are too many ids.
+     */
+    @GetMapping(value = "", params = "ids", produces = MediaType.APPLICATION_JSON_VALUE)
+    public Mono<ResponseEntity<List<GameDTO>>> getGamesByIds(@RequestParam("ids") List<Long> ids) {
+        log.debug("REST request to get Games : {}", ids);
+        if (ids.size() > MAX_IDS) {
+            throw new BadRequestAlertException("Too many ids, at most " + MAX_IDS + " are allowed", ENTITY_NAME, "idstoomany");
+        }
+        return gameService.findAllByIds(ids).collectList().map(games -> ResponseEntity.ok().body(games));
+    }
+
     /**
      * {@code GET  /games/count} : count all the games.
      *
@@ -223,9 +328,116 @@ public class GameResource {
         return ResponseUtil.wrapOrNotFound(gameDTO);
     }
 
+    /**
+     * {@code GET  /games/:id/cover} : get the cover of the "id" game, or one of its thumbnails.
+     *
+     * @param id the id of the game whose cover to retrieve.
+     * @param size the largest dimension, in pixels, of the image to display, if a thumbnail fits better than the cover itself:
+     * the smallest thumbnail at least as large is served, and the cover while there is none.
+     * @param version the version of the cover, as found in {@link GameDTO#getCoverUrl()}: the current one may be cached for good.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cover, with status {@code 304 (Not Modified)}
+     * if it matches the {@code If-None-Match} request header, with status {@code 400 (Bad Request)} if the size is not positive,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{id}/cover")
+    public Mono<ResponseEntity<Resource>> getGameCover(
+        @PathVariable("id") Long id,
+        @RequestParam(name = "size", required = false) Integer size,
+        @RequestParam(name = ImageResponseUtil.VERSION_PARAMETER, required = false) String version
+    ) {
+        log.debug("REST request to get the cover of Game : {} for size {}", id, size);
+        if (size == null) {
+            return getCover(id, version);
+        }
+        if (size <= 0) {
+            throw new BadRequestAlertException("Invalid thumbnail size", ENTITY_NAME, "sizeinvalid");
+        }
+        return gameCoverThumbnailService
+            .findThumbnail(id, size)
+            .flatMap(thumbnail ->
+                imageStorage
+                    .find(thumbnail.getHash())
+                    .map(content ->
+                        ImageResponseUtil.thumbnailResponse(
+                            content,
+                            thumbnail.getContentType(),
+                            thumbnail.getHash(),
+                            thumbnail.getSourceHash(),
+                            version
+                        )
+                    )
+            )
+            // the cover stands in for a thumbnail not generated yet, so it must not be cached for good under this URL
+            .switchIfEmpty(Mono.defer(() -> getCover(id, null)));
+    }
+
+    /**
+     * {@code PUT  /games/:id/cover} : Replace the cover of an existing game with the image uploaded as the "file" part
+     * of a {@code multipart/form-data} request.
+     * <p>
+     * The image is streamed as it arrives and rejected as soon as it grows past the configured size cap, or its first bytes
+     * are not those of a PNG, JPEG, GIF or WebP image, whatever content type the client sent.
+     *
+     * @param id the id of the game whose cover to replace.
+     * @param parts the parts of the request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated gameDTO,
+     * or with status {@code 400 (Bad Request)} if no image was uploaded,
+     * or with status {@code 404 (Not Found)} if the game is not found,
+     * or with status {@code 413 (Payload Too Large)} if the image is too large,
+     * or with status {@code 415 (Unsupported Media Type)} if the upload is not a supported image.
+     */
+    @PutMapping(value = "/{id}/cover", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN')")
+    public Mono<ResponseEntity<GameDTO>> uploadGameCover(@PathVariable("id") Long id, @RequestBody Flux<PartEvent> parts) {
+        log.debug("REST request to upload the cover of Game : {}", id);
+        return gameRepository
+            .existsById(id)
+            .flatMap(exists -> {
+                if (!exists) {
+                    return Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND));
+                }
+
+                return imageUploadService
+                    .read(ImageUploadUtil.fileContent(parts))
+                    .onErrorMap(InvalidImageException.class, ImageUploadUtil::toResponseStatus)
+                    .flatMap(cover -> gameService.updateCover(id, cover))
+                    .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                    .map(result ->
+                        ResponseEntity.ok()
+                            .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+                            .body(result)
+                    );
+            });
+    }
+
+    private Mono<ResponseEntity<Resource>> getCover(Long id, String version) {
+        return gameService
+            .findCover(id)
+            .filter(game -> game.getCoverHash() != null)
+            .flatMap(game ->
+                imageStorage
+                    .find(game.getCoverHash())
+                    .map(cover -> ImageResponseUtil.imageResponse(cover, game.getCoverContentType(), game.getCoverHash(), version))
+            )
+            .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * {@code GET  /games/search} : search the games by name, as the item form suggests them while the name is typed.
+     *
+     * @param name the searched name, or part of it: similar names match too, the closest ones first.
+     * @param consoleId the id of the console of the games, if only games of one console are searched.
+     * @param limit the number of results, capped by the server.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of matching games in body.
+     */
     @GetMapping("/search")
-    public Mono<ResponseEntity<List<GameDTO>>> searchGamesByName(@RequestParam String name) {
-        return gameService.findByNameContainingIgnoreCase(name).collectList().map(games -> ResponseEntity.ok().body(games));
+    public Mono<ResponseEntity<List<GameSearchResultDTO>>> searchGamesByName(
+        @RequestParam String name,
+        @RequestParam(name = "consoleId", required = false) Long consoleId,
+        @RequestParam(name = "limit", required = false) Integer limit
+    ) {
+        log.debug("REST request to search Games by name : {}", name);
+        return gameService.search(name, consoleId, limit).collectList().map(games -> ResponseEntity.ok().body(games));
     }
 
     /**
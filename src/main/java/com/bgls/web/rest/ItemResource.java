@@ -1,8 +1,15 @@
 package com.bgls.web.rest;
 
+import com.bgls.cache.TransactionCompletion;
 import com.bgls.domain.Item;
+import com.bgls.domain.criteria.ItemFilter;
 import com.bgls.repository.ItemRepository;
+import com.bgls.repository.SeekCursor;
+import com.bgls.service.CountStrategy;
+import com.bgls.service.TotalCountService;
 import com.bgls.web.rest.errors.BadRequestAlertException;
+import com.bgls.web.rest.util.SeekPaginationUtil;
+import com.bgls.web.rest.util.TotalCountPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
@@ -10,9 +17,7 @@ import java.util.Objects;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -21,6 +26,7 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.ForwardedHeaderUtils;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -43,8 +49,11 @@ public class ItemResource {
 
     private final ItemRepository itemRepository;
 
-    public ItemResource(ItemRepository itemRepository) {
+    private final TotalCountService totalCountService;
+
+    public ItemResource(ItemRepository itemRepository, TotalCountService totalCountService) {
         this.itemRepository = itemRepository;
+        this.totalCountService = totalCountService;
     }
 
     /**
@@ -62,6 +71,7 @@ public class ItemResource {
         }
         return itemRepository
             .save(item)
+            .flatMap(result -> invalidateCount().thenReturn(result))
             .map(result -> {
                 try {
                     return ResponseEntity.created(new URI("/api/items/" + result.getId()))
@@ -103,6 +113,7 @@ public class ItemResource {
 
                 return itemRepository
                     .save(item)
+                    .flatMap(result -> invalidateCount().thenReturn(result))
                     .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
                     .map(
                         result ->
@@ -144,7 +155,10 @@ public class ItemResource {
                     return Mono.error(new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
                 }
 
-                Mono<Item> result = itemRepository.findById(item.getId()).flatMap(itemRepository::save);
+                Mono<Item> result = itemRepository
+                    .findById(item.getId())
+                    .flatMap(itemRepository::save)
+                    .flatMap(saved -> invalidateCount().thenReturn(saved));
 
                 return result
                     .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
@@ -163,6 +177,7 @@ public class ItemResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param cursor opts in to keyset pagination: empty for the first page, then the {@code X-Next-Cursor} header of the previous page.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of items in body.
      */
     @GetMapping(value = "", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -174,71 +189,66 @@ public class ItemResource {
         @RequestParam(name = "lendedToId", required = false) Long lendedToId,
         @RequestParam(name = "gameId", required = false) Long gameId,
         @RequestParam(name = "game", required = false) String gameName,
-        @RequestParam(name = "consoleId", required = false) Long consoleId
+        @RequestParam(name = "consoleId", required = false) Long consoleId,
+        @RequestParam(name = "cursor", required = false) String cursor
     ) {
-        boolean hasFilters = ownerId != null || lendedToId != null || gameId != null || gameName != null || consoleId != null;
+        ItemFilter filter = new ItemFilter()
+            .ownerId(ownerId)
+            .lendedToId(lendedToId)
+            .gameId(gameId)
+            .gameName(gameName)
+            .consoleId(consoleId);
 
-        if (!hasFilters) {
-            if (eagerload) {
-                return itemRepository
-                    .count()
-                    .zipWith(itemRepository.findAllWithEagerRelationships(pageable).collectList())
-                    .map(
-                        countWithEntities ->
-                            ResponseEntity.ok()
-                                .headers(
-                                    PaginationUtil.generatePaginationHttpHeaders(
-                                        ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                                        new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                                    )
-                                )
-                                .body(countWithEntities.getT2())
-                    );
-            } else {
-                return itemRepository
-                    .count()
-                    .zipWith(itemRepository.findAllBy(pageable).collectList())
-                    .map(
-                        countWithEntities ->
-                            ResponseEntity.ok()
-                                .headers(
-                                    PaginationUtil.generatePaginationHttpHeaders(
-                                        ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                                        new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                                    )
-                                )
-                                .body(countWithEntities.getT2())
-                    );
-            }
+        if (cursor != null) {
+            SeekCursor after = SeekPaginationUtil.parseCursor(cursor, pageable, ENTITY_NAME);
+            Pageable seekPageable = SeekPaginationUtil.seekPageable(after, pageable);
+            // the cursor of the next page is read from the last row, so its errors are those of the sort too
+            return Flux.defer(() -> itemRepository.findAllWithFilters(filter, seekPageable, after, eagerload))
+                .collectList()
+                .map(
+                    items ->
+                        ResponseEntity.ok()
+                            .headers(SeekPaginationUtil.generateSeekPaginationHttpHeaders(items, seekPageable, Item::getId))
+                            .body(items)
+                )
+                .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"));
         }
 
-        String sortField = "id";
-        String sortDirection = "ASC";
-
-        if (pageable.getSort().isSorted()) {
-            Sort.Order order = pageable.getSort().iterator().next();
-            sortField = order.getProperty();
-            sortDirection = order.getDirection().name();
+        if (totalCountService.strategyOf(TotalCountService.ITEMS) == CountStrategy.WINDOW) {
+            return Mono.defer(() -> itemRepository.findPageWithFilters(filter, pageable, eagerload))
+                .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
+                .map(
+                    page ->
+                        ResponseEntity.ok()
+                            .headers(
+                                TotalCountPaginationUtil.generatePaginationHttpHeaders(
+                                    ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
+                                    page,
+                                    CountStrategy.WINDOW
+                                )
+                            )
+                            .body(page.getContent())
+                );
         }
 
-        long offset = pageable.getOffset();
-        int limit = pageable.getPageSize();
-
-        return itemRepository
-            .countWithFilters(ownerId, lendedToId, gameId, gameName, consoleId)
-            .zipWith(
-                itemRepository
-                    .findIdsWithFilters(ownerId, lendedToId, gameId, gameName, consoleId, sortField, sortDirection, limit, offset)
-                    .flatMap(id -> eagerload ? itemRepository.findOneWithEagerRelationships(id) : itemRepository.findById(id))
-                    .collectList()
+        return totalCountService
+            .count(
+                TotalCountService.ITEMS,
+                filter,
+                itemRepository.countWithFilters(filter),
+                itemRepository.estimateCountWithFilters(filter)
             )
+            .zipWith(Flux.defer(() -> itemRepository.findAllWithFilters(filter, pageable, null, eagerload)).collectList())
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "sortinvalid"))
             .map(
                 countWithEntities ->
                     ResponseEntity.ok()
                         .headers(
-                            PaginationUtil.generatePaginationHttpHeaders(
+                            TotalCountPaginationUtil.generatePaginationHttpHeaders(
                                 ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                                new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
+                                countWithEntities.getT2(),
+                                pageable,
+                                countWithEntities.getT1()
                             )
                         )
                         .body(countWithEntities.getT2())
@@ -269,6 +279,7 @@ public class ItemResource {
         log.debug("REST request to delete Item : {}", id);
         return itemRepository
             .deleteById(id)
+            .then(invalidateCount())
             .then(
                 Mono.just(
                     ResponseEntity.noContent()
@@ -277,4 +288,12 @@ public class ItemResource {
                 )
             );
     }
+
+    /**
+     * Invalidates the cached total of the items now, and again once the transaction of the write completes, so that a
+     * total counted in between is not kept.
+     */
+    private Mono<Void> invalidateCount() {
+        return TransactionCompletion.runNowAndAfterCompletion(() -> totalCountService.invalidate(TotalCountService.ITEMS));
+    }
 }
@@ -10,18 +10,17 @@ import com.bgls.service.dto.AdminUserDTO;
 import com.bgls.web.rest.errors.BadRequestAlertException;
 import com.bgls.web.rest.errors.EmailAlreadyUsedException;
 import com.bgls.web.rest.errors.LoginAlreadyUsedException;
+import com.bgls.web.rest.util.TotalCountPaginationUtil;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Pattern;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
@@ -206,13 +205,14 @@ public class UserResource {
         }
 
         return userService
-            .countManagedUsers()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .totalCountOfManagedUsers()
             .map(
-                page ->
-                    PaginationUtil.generatePaginationHttpHeaders(
+                total ->
+                    TotalCountPaginationUtil.generatePaginationHttpHeaders(
                         ForwardedHeaderUtils.adaptFromForwardedHeaders(request.getURI(), request.getHeaders()),
-                        page
+                        List.of(),
+                        pageable,
+                        total
                     )
             )
             .map(headers -> ResponseEntity.ok().headers(headers).body(userService.getAllManagedUsers(pageable)));
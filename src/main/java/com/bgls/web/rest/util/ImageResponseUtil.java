@@ -0,0 +1,78 @@
+package com.bgls.web.rest.util;
+
+import com.bgls.service.ImageTypeUtil;
+import java.time.Duration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Utility class for serving the images stored along with the entities, such as game covers and console images, as raw bytes.
+ * <p>
+ * The hash of an image is its ETag, so that WebFlux answers {@code 304 (Not Modified)} to a matching {@code If-None-Match},
+ * and versions its URL: a request for the current version may be cached for good, since another image gets another URL.
+ */
+public final class ImageResponseUtil {
+
+    public static final String VERSION_PARAMETER = "v";
+
+    private static final String CONTENT_TYPE_OPTIONS = "X-Content-Type-Options";
+
+    private static final CacheControl VERSIONED_CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private static final CacheControl UNVERSIONED_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private ImageResponseUtil() {}
+
+    /**
+     * Builds the response serving an image, without reading it: WebFlux only reads it once the ETag was checked.
+     * <p>
+     * The content type is the one stored with the image, which was detected from its first bytes on upload: anything but a
+     * PNG, JPEG, GIF or WebP image is served as {@code application/octet-stream}, so that an image stored before, with the
+     * content type sent by the client, such as an SVG image, is never rendered by the browser.
+     *
+     * @param content the image, as found in the {@link com.bgls.service.ImageStorage}.
+     * @param contentType the content type stored with the image, if any.
+     * @param hash the hash stored with the image, if any.
+     * @param version the {@value #VERSION_PARAMETER} request parameter, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the image in body.
+     */
+    public static ResponseEntity<Resource> imageResponse(Resource content, String contentType, String hash, String version) {
+        return response(content, contentType, hash, hash != null && hash.equals(version));
+    }
+
+    /**
+     * Builds the response serving a thumbnail of an image, without reading it.
+     * <p>
+     * The thumbnail is versioned by the hash of its source image, while its ETag is its own hash: the thumbnail served for
+     * a requested size changes when the configured sizes do.
+     *
+     * @param content the thumbnail, as found in the {@link com.bgls.service.ImageStorage}.
+     * @param contentType the content type of the thumbnail.
+     * @param hash the hash of the thumbnail.
+     * @param sourceHash the hash of the image the thumbnail was generated from.
+     * @param version the {@value #VERSION_PARAMETER} request parameter, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the thumbnail in body.
+     */
+    public static ResponseEntity<Resource> thumbnailResponse(
+        Resource content,
+        String contentType,
+        String hash,
+        String sourceHash,
+        String version
+    ) {
+        return response(content, contentType, hash, sourceHash.equals(version));
+    }
+
+    private static ResponseEntity<Resource> response(Resource content, String contentType, String eTag, boolean versioned) {
+        String supported = ImageTypeUtil.supported(contentType);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(supported != null ? MediaType.parseMediaType(supported) : MediaType.APPLICATION_OCTET_STREAM)
+            .header(CONTENT_TYPE_OPTIONS, "nosniff");
+        if (eTag != null) {
+            response.eTag(eTag);
+        }
+        return response.cacheControl(versioned ? VERSIONED_CACHE_CONTROL : UNVERSIONED_CACHE_CONTROL).body(content);
+    }
+}
@@ -0,0 +1,56 @@
+package com.bgls.web.rest.util;
+
+import com.bgls.service.InvalidImageException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.codec.multipart.FilePartEvent;
+import org.springframework.http.codec.multipart.PartEvent;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+/**
+ * Utility class for receiving the images uploaded as the {@value #FILE_PART} part of a {@code multipart/form-data} request.
+ * <p>
+ * The request is read as a stream of {@link PartEvent}s, so that the content of the file reaches the
+ * {@link com.bgls.service.ImageUploadService} as it arrives from the network, instead of being buffered in memory or on disk
+ * by the multipart reader first.
+ */
+public final class ImageUploadUtil {
+
+    public static final String FILE_PART = "file";
+
+    private ImageUploadUtil() {}
+
+    /**
+     * @param parts the parts of the request.
+     * @return the content of the {@value #FILE_PART} part, empty if there is none; the other parts are released unread.
+     */
+    public static Flux<DataBuffer> fileContent(Flux<PartEvent> parts) {
+        return parts
+            .windowUntil(PartEvent::isLast)
+            .concatMap(part ->
+                part.switchOnFirst((signal, events) -> {
+                    if (signal.get() instanceof FilePartEvent event && FILE_PART.equals(event.name())) {
+                        return events.map(PartEvent::content);
+                    }
+                    return events.doOnNext(event -> DataBufferUtils.release(event.content())).thenMany(Flux.empty());
+                })
+            );
+    }
+
+    /**
+     * @param e the rejection of an uploaded image.
+     * @return the error answering the request: {@code 400 (Bad Request)} for an empty upload, {@code 413 (Payload Too Large)}
+     * for an image above the size cap and {@code 415 (Unsupported Media Type)} for anything but a supported image.
+     */
+    public static ResponseStatusException toResponseStatus(InvalidImageException e) {
+        HttpStatus status =
+            switch (e.getReason()) {
+                case EMPTY -> HttpStatus.BAD_REQUEST;
+                case TOO_LARGE -> HttpStatus.PAYLOAD_TOO_LARGE;
+                case UNSUPPORTED_TYPE -> HttpStatus.UNSUPPORTED_MEDIA_TYPE;
+            };
+        return new ResponseStatusException(status, e.getMessage(), e);
+    }
+}
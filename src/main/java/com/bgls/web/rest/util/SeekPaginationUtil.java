@@ -0,0 +1,77 @@
+package com.bgls.web.rest.util;
+
+import com.bgls.repository.SeekCursor;
+import com.bgls.web.rest.errors.BadRequestAlertException;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Utility class for handling keyset (seek) pagination.
+ * <p>
+ * A client opts in by sending the {@code cursor} request parameter, empty for the first page. Each page then carries the
+ * cursor of the following one in the {@value #NEXT_CURSOR_HEADER} header, which is absent on the last page. No total
+ * count is computed in this mode.
+ */
+public final class SeekPaginationUtil {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private SeekPaginationUtil() {}
+
+    /**
+     * Decodes the cursor sent by the client.
+     *
+     * @param token the {@code cursor} request parameter, empty for the first page.
+     * @param pageable the pagination information of the request.
+     * @param entityName the name of the listed entity, for error reporting.
+     * @return the decoded cursor, or {@code null} for the first page.
+     * @throws BadRequestAlertException if the cursor is malformed or doesn't match the requested sort.
+     */
+    public static SeekCursor parseCursor(String token, Pageable pageable, String entityName) {
+        if (token.isEmpty()) {
+            return null;
+        }
+        try {
+            SeekCursor cursor = SeekCursor.decode(token);
+            cursor.verifySort(pageable.getSort());
+            return cursor;
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", entityName, "cursorinvalid");
+        }
+    }
+
+    /**
+     * Returns the page to read in seek mode: always the first one, sorted by the cursor's ordering or the requested one.
+     *
+     * @param cursor the decoded cursor, or {@code null} for the first page.
+     * @param pageable the pagination information of the request.
+     * @return the page request to hand to the repository.
+     */
+    public static Pageable seekPageable(SeekCursor cursor, Pageable pageable) {
+        Sort sort = cursor != null ? cursor.getSort() : SeekCursor.seekSort(pageable.getSort());
+        return PageRequest.of(0, pageable.getPageSize(), sort);
+    }
+
+    /**
+     * Generates the seek pagination headers for the given page.
+     *
+     * @param content the rows of the page.
+     * @param pageable the page request returned by {@link #seekPageable(SeekCursor, Pageable)}.
+     * @param idExtractor extracts the id of a row.
+     * @param <T> the type of the rows.
+     * @return the {@link HttpHeaders}, with the next cursor when the page is full.
+     */
+    public static <T> HttpHeaders generateSeekPaginationHttpHeaders(List<T> content, Pageable pageable, Function<T, Long> idExtractor) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!content.isEmpty() && content.size() == pageable.getPageSize()) {
+            T last = content.get(content.size() - 1);
+            SeekCursor next = SeekCursor.after(last, idExtractor.apply(last), SeekCursor.seekOrder(pageable.getSort()));
+            headers.add(NEXT_CURSOR_HEADER, next.encode());
+        }
+        return headers;
+    }
+}
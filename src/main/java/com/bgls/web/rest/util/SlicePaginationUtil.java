@@ -0,0 +1,59 @@
+package com.bgls.web.rest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling offset pagination without a total count.
+ * <p>
+ * A client opts in by sending the {@code count=false} request parameter: the total count is then neither computed nor
+ * sent in the {@code X-Total-Count} header, and the {@code Link} header only holds the {@code first}, {@code prev} and
+ * {@code next} pages, the last one being unknown. As in seek pagination, a full page is assumed to have a next one.
+ */
+public final class SlicePaginationUtil {
+
+    private static final String HEADER_LINK_FORMAT = "<%s>; rel=\"%s\"";
+
+    private SlicePaginationUtil() {}
+
+    /**
+     * Generates the pagination headers for the given page, without the total count.
+     *
+     * @param uriBuilder the builder of the request URI.
+     * @param content the rows of the page.
+     * @param pageable the pagination information of the request.
+     * @param <T> the type of the rows.
+     * @return the {@link HttpHeaders}, with the {@code Link} header.
+     */
+    public static <T> HttpHeaders generateSlicePaginationHttpHeaders(UriComponentsBuilder uriBuilder, List<T> content, Pageable pageable) {
+        HttpHeaders headers = new HttpHeaders();
+        if (pageable.isUnpaged()) {
+            return headers;
+        }
+        int pageNumber = pageable.getPageNumber();
+        int pageSize = pageable.getPageSize();
+        List<String> links = new ArrayList<>();
+        if (!content.isEmpty() && content.size() == pageSize) {
+            links.add(link(uriBuilder, pageNumber + 1, pageSize, "next"));
+        }
+        if (pageNumber > 0) {
+            links.add(link(uriBuilder, pageNumber - 1, pageSize, "prev"));
+        }
+        links.add(link(uriBuilder, 0, pageSize, "first"));
+        headers.add(HttpHeaders.LINK, String.join(",", links));
+        return headers;
+    }
+
+    private static String link(UriComponentsBuilder uriBuilder, int pageNumber, int pageSize, String relType) {
+        String uri = uriBuilder
+            .replaceQueryParam("page", pageNumber)
+            .replaceQueryParam("size", pageSize)
+            .toUriString()
+            .replace(",", "%2C")
+            .replace(";", "%3B");
+        return String.format(HEADER_LINK_FORMAT, uri, relType);
+    }
+}
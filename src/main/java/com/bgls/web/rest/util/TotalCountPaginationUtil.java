@@ -0,0 +1,59 @@
+package com.bgls.web.rest.util;
+
+import com.bgls.service.CountStrategy;
+import com.bgls.service.TotalCountService;
+import java.util.List;
+import java.util.Locale;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * Utility class for handling offset pagination with a total count which may be cached or estimated.
+ * <p>
+ * On top of the headers of {@link PaginationUtil}, the {@value #TOTAL_COUNT_STRATEGY_HEADER} header tells how the
+ * {@code X-Total-Count} was obtained: {@code exact}, {@code cached}, {@code window} or {@code estimated}.
+ */
+public final class TotalCountPaginationUtil {
+
+    public static final String TOTAL_COUNT_STRATEGY_HEADER = "X-Total-Count-Strategy";
+
+    private TotalCountPaginationUtil() {}
+
+    /**
+     * Generates the pagination headers for the given page.
+     *
+     * @param uriBuilder the builder of the request URI.
+     * @param content the rows of the page, which correct the total count on the last page.
+     * @param pageable the pagination information of the request.
+     * @param total the total count of the list.
+     * @param <T> the type of the rows.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        List<T> content,
+        Pageable pageable,
+        TotalCountService.TotalCount total
+    ) {
+        return generatePaginationHttpHeaders(uriBuilder, new PageImpl<>(content, pageable, total.value()), total.strategy());
+    }
+
+    /**
+     * Generates the pagination headers for the given page.
+     *
+     * @param uriBuilder the builder of the request URI.
+     * @param page the page, along with the total count of the list.
+     * @param strategy the strategy which produced the total count.
+     * @param <T> the type of the rows.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generatePaginationHttpHeaders(UriComponentsBuilder uriBuilder, Page<T> page, CountStrategy strategy) {
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder, page);
+        headers.add(TOTAL_COUNT_STRATEGY_HEADER, strategy.name().toLowerCase(Locale.ROOT));
+        return headers;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Rest layer utilities.
+ */
+package com.bgls.web.rest.util;
@@ -3,6 +3,7 @@ export interface IConsole {
   name?: string | null;
   image?: string | null;
   imageContentType?: string | null;
+  imageUrl?: string | null;
 }
 
 export type NewConsole = Omit<IConsole, 'id'> & { id: null };
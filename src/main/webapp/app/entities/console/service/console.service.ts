@@ -27,6 +27,12 @@ export class ConsoleService {
     return this.http.put<IConsole>(`${this.resourceUrl}/${this.getConsoleIdentifier(console)}`, console, { observe: 'response' });
   }
 
+  uploadImage(id: number, image: File): Observable<EntityResponseType> {
+    const formData = new FormData();
+    formData.append('file', image);
+    return this.http.put<IConsole>(`${this.resourceUrl}/${id}/image`, formData, { observe: 'response' });
+  }
+
   partialUpdate(console: PartialUpdateConsole): Observable<EntityResponseType> {
     return this.http.patch<IConsole>(`${this.resourceUrl}/${this.getConsoleIdentifier(console)}`, console, { observe: 'response' });
   }
@@ -1,8 +1,8 @@
 import { Component, inject, OnInit, ElementRef } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { ActivatedRoute } from '@angular/router';
-import { Observable } from 'rxjs';
-import { finalize } from 'rxjs/operators';
+import { Observable, of } from 'rxjs';
+import { finalize, switchMap } from 'rxjs/operators';
 
 import SharedModule from 'app/shared/shared.module';
 import { FormsModule, ReactiveFormsModule } from '@angular/forms';
@@ -23,6 +23,7 @@ import { ConsoleFormService, ConsoleFormGroup } from './console-form.service';
 export class ConsoleUpdateComponent implements OnInit {
   isSaving = false;
   console: IConsole | null = null;
+  imageFile: File | null = null;
 
   protected dataUtils = inject(DataUtils);
   protected eventManager = inject(EventManager);
@@ -52,6 +53,8 @@ export class ConsoleUpdateComponent implements OnInit {
   }
 
   setFileData(event: Event, field: string, isImage: boolean): void {
+    // the file is uploaded on its own once the entity is saved, the form only keeps it for the preview
+    this.imageFile = (event.target as HTMLInputElement).files?.[0] ?? null;
     this.dataUtils.loadFileToForm(event, this.editForm, field, isImage).subscribe({
       error: (err: FileLoadError) =>
         this.eventManager.broadcast(new EventWithContent<AlertError>('bglsApp.error', { ...err, key: 'error.file.' + err.key })),
@@ -59,6 +62,7 @@ export class ConsoleUpdateComponent implements OnInit {
   }
 
   clearInputImage(field: string, fieldContentType: string, idInput: string): void {
+    this.imageFile = null;
     this.editForm.patchValue({
       [field]: null,
       [fieldContentType]: null,
@@ -75,11 +79,14 @@ export class ConsoleUpdateComponent implements OnInit {
   save(): void {
     this.isSaving = true;
     const console = this.consoleFormService.getConsole(this.editForm);
-    if (console.id !== null) {
-      this.subscribeToSaveResponse(this.consoleService.update(console));
-    } else {
-      this.subscribeToSaveResponse(this.consoleService.create(console));
+    const imageFile = this.imageFile;
+    if (imageFile) {
+      console.image = null;
     }
+    const result = console.id !== null ? this.consoleService.update(console) : this.consoleService.create(console);
+    this.subscribeToSaveResponse(
+      result.pipe(switchMap(res => (imageFile && res.body ? this.consoleService.uploadImage(res.body.id, imageFile) : of(res)))),
+    );
   }
 
   protected subscribeToSaveResponse(result: Observable<HttpResponse<IConsole>>): void {
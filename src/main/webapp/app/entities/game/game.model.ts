@@ -5,6 +5,7 @@ export interface IGame {
   name?: string | null;
   cover?: string | null;
   coverContentType?: string | null;
+  coverUrl?: string | null;
   console?: Pick<IConsole, 'id' | 'name'> | null;
 }
 
@@ -1,5 +1,5 @@
 import { inject, Injectable } from '@angular/core';
-import { HttpClient, HttpResponse } from '@angular/common/http';
+import { HttpClient, HttpParams, HttpResponse } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 import { isPresent } from 'app/core/util/operators';
@@ -27,6 +27,12 @@ export class GameService {
     return this.http.put<IGame>(`${this.resourceUrl}/${this.getGameIdentifier(game)}`, game, { observe: 'response' });
   }
 
+  uploadCover(id: number, cover: File): Observable<EntityResponseType> {
+    const formData = new FormData();
+    formData.append('file', cover);
+    return this.http.put<IGame>(`${this.resourceUrl}/${id}/cover`, formData, { observe: 'response' });
+  }
+
   partialUpdate(game: PartialUpdateGame): Observable<EntityResponseType> {
     return this.http.patch<IGame>(`${this.resourceUrl}/${this.getGameIdentifier(game)}`, game, { observe: 'response' });
   }
@@ -35,8 +41,16 @@ export class GameService {
     return this.http.get<IGame>(`${this.resourceUrl}/${id}`, { observe: 'response' });
   }
 
-  findGamesByName(query: string): Observable<IGame[]> {
-    return this.http.get<IGame[]>(`${this.resourceUrl}/search?name=${query}`);
+  findAllByIds(ids: number[]): Observable<IGame[]> {
+    return this.http.get<IGame[]>(this.resourceUrl, { params: new HttpParams().set('ids', ids.join(',')) });
+  }
+
+  findGamesByName(query: string, consoleId?: number): Observable<IGame[]> {
+    let params = new HttpParams().set('name', query);
+    if (consoleId !== undefined) {
+      params = params.set('consoleId', consoleId);
+    }
+    return this.http.get<IGame[]>(`${this.resourceUrl}/search`, { params });
   }
 
   query(req?: any): Observable<EntityArrayResponseType> {
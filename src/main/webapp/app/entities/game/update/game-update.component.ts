@@ -1,8 +1,8 @@
 import { Component, inject, OnInit, ElementRef } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { ActivatedRoute } from '@angular/router';
-import { Observable } from 'rxjs';
-import { finalize, map } from 'rxjs/operators';
+import { Observable, of } from 'rxjs';
+import { finalize, map, switchMap } from 'rxjs/operators';
 
 import SharedModule from 'app/shared/shared.module';
 import { FormsModule, ReactiveFormsModule } from '@angular/forms';
@@ -25,6 +25,7 @@ import { GameFormService, GameFormGroup } from './game-form.service';
 export class GameUpdateComponent implements OnInit {
   isSaving = false;
   game: IGame | null = null;
+  coverFile: File | null = null;
 
   consolesSharedCollection: IConsole[] = [];
 
@@ -61,6 +62,8 @@ export class GameUpdateComponent implements OnInit {
   }
 
   setFileData(event: Event, field: string, isImage: boolean): void {
+    // the file is uploaded on its own once the entity is saved, the form only keeps it for the preview
+    this.coverFile = (event.target as HTMLInputElement).files?.[0] ?? null;
     this.dataUtils.loadFileToForm(event, this.editForm, field, isImage).subscribe({
       error: (err: FileLoadError) =>
         this.eventManager.broadcast(new EventWithContent<AlertError>('bglsApp.error', { ...err, key: 'error.file.' + err.key })),
@@ -68,6 +71,7 @@ export class GameUpdateComponent implements OnInit {
   }
 
   clearInputImage(field: string, fieldContentType: string, idInput: string): void {
+    this.coverFile = null;
     this.editForm.patchValue({
       [field]: null,
       [fieldContentType]: null,
@@ -84,11 +88,14 @@ export class GameUpdateComponent implements OnInit {
   save(): void {
     this.isSaving = true;
     const game = this.gameFormService.getGame(this.editForm);
-    if (game.id !== null) {
-      this.subscribeToSaveResponse(this.gameService.update(game));
-    } else {
-      this.subscribeToSaveResponse(this.gameService.create(game));
+    const coverFile = this.coverFile;
+    if (coverFile) {
+      game.cover = null;
     }
+    const result = game.id !== null ? this.gameService.update(game) : this.gameService.create(game);
+    this.subscribeToSaveResponse(
+      result.pipe(switchMap(res => (coverFile && res.body ? this.gameService.uploadCover(res.body.id, coverFile) : of(res)))),
+    );
   }
 
   protected subscribeToSaveResponse(result: Observable<HttpResponse<IGame>>): void {
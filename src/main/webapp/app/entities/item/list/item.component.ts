@@ -5,6 +5,7 @@ import { combineLatest, filter, Observable, Subscription, tap } from 'rxjs';
 import { NgbModal } from '@ng-bootstrap/ng-bootstrap';
 
 import SharedModule from 'app/shared/shared.module';
+import { ThumbnailPipe } from 'app/shared/image';
 import { SortByDirective, SortDirective, SortService, type SortState, sortStateSignal } from 'app/shared/sort';
 import { FormsModule } from '@angular/forms';
 
@@ -31,7 +32,7 @@ interface ItemFilters {
   standalone: true,
   selector: 'jhi-item',
   templateUrl: './item.component.html',
-  imports: [RouterModule, FormsModule, SharedModule, SortDirective, SortByDirective, InfiniteScrollDirective],
+  imports: [RouterModule, FormsModule, SharedModule, SortDirective, SortByDirective, InfiniteScrollDirective, ThumbnailPipe],
 })
 export class ItemComponent implements OnInit {
   subscription: Subscription | null = null;
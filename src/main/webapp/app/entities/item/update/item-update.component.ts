@@ -221,7 +221,7 @@ export class ItemUpdateComponent implements OnInit {
       ),
     );
 
-    const gameQuery$ = this.gameService.query().pipe(
+    const gameQuery$ = this.gameService.query({ count: false }).pipe(
       map((res: HttpResponse<IGame[]>) => res.body ?? []),
       map((games: IGame[]) => this.gameService.addGameToCollectionIfMissing<IGame>(games, initialItem?.game)),
     );
@@ -0,0 +1 @@
+export { default as ThumbnailPipe } from './thumbnail.pipe';
@@ -0,0 +1,18 @@
+import { Pipe, PipeTransform } from '@angular/core';
+
+/**
+ * Selects a thumbnail of an image served by the API, such as a game cover, through its `size` parameter:
+ * the server answers with the smallest thumbnail at least `size` pixels large, or with the image itself.
+ */
+@Pipe({
+  standalone: true,
+  name: 'thumbnail',
+})
+export default class ThumbnailPipe implements PipeTransform {
+  transform(url: string | null | undefined, size: number): string | null {
+    if (!url) {
+      return null;
+    }
+    return `${url}${url.includes('?') ? '&' : '?'}size=${size}`;
+  }
+}
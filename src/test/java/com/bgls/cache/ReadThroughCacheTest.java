@@ -0,0 +1,158 @@
+package com.bgls.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link ReadThroughCache}.
+ */
+class ReadThroughCacheTest {
+
+    private static final Duration TIME_TO_LIVE = Duration.ofSeconds(30);
+
+    private SimpleMeterRegistry registry;
+
+    private AtomicLong now;
+
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        now = new AtomicLong();
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void valueIsReadOnce() {
+        ReadThroughCache<Long, String> cache = cache(100, null);
+
+        String first = cache.get(1L, load("one")).block();
+        String second = cache.get(1L, load("one")).block();
+
+        assertThat(second).isSameAs(first);
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats())
+            .extracting(ReadThroughCache.Stats::hits, ReadThroughCache.Stats::misses, ReadThroughCache.Stats::weight)
+            .containsExactly(1L, 1L, 3L);
+        assertThat(registry.get("cache.gets").tags("cache", "test", "result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.gets").tags("cache", "test", "result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get("cache.size").tag("cache", "test").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void missingValueIsNotCached() {
+        ReadThroughCache<Long, String> cache = cache(100, null);
+
+        assertThat(cache.get(1L, Mono.<String>empty().doOnSubscribe(s -> loads.incrementAndGet())).block()).isNull();
+        cache.get(1L, load("one")).block();
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void invalidatedValueIsReadAgain() {
+        ReadThroughCache<Long, String> cache = cache(100, null);
+        cache.get(1L, load("one")).block();
+
+        cache.invalidate(1L);
+        cache.get(1L, load("one")).block();
+
+        assertThat(loads).hasValue(2);
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void valuesMatchingAPredicateAreInvalidatedWhateverTheirKey() {
+        ReadThroughCache<String, String> cache = new ReadThroughCache<>("test", 100, String::length, null, registry, now::get);
+        cache.get("alice", load("1")).block();
+        cache.get("bob", load("2")).block();
+
+        cache.invalidateIf("1"::equals);
+
+        assertThat(cache.get("alice", Mono.empty()).block()).isNull();
+        assertThat(cache.get("bob", Mono.empty()).block()).isEqualTo("2");
+        assertThat(cache.stats()).extracting(ReadThroughCache.Stats::size, ReadThroughCache.Stats::weight).containsExactly(1, 1L);
+    }
+
+    @Test
+    void valueReadDuringAnInvalidationIsNotKept() {
+        ReadThroughCache<Long, String> cache = cache(100, null);
+
+        cache.get(1L, load("one").doOnNext(value -> cache.invalidate(2L))).block();
+
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void leastRecentlyUsedValuesAreEvictedBeyondTheMaxWeight() {
+        ReadThroughCache<Long, String> cache = cache(6, null);
+        cache.get(1L, load("one")).block();
+        cache.get(2L, load("two")).block();
+        cache.get(1L, load("one")).block();
+
+        cache.get(3L, load("six")).block();
+        cache.get(1L, load("one")).block();
+        cache.get(2L, load("two")).block();
+
+        assertThat(loads).hasValue(4);
+        assertThat(cache.stats())
+            .extracting(ReadThroughCache.Stats::evictions, ReadThroughCache.Stats::size, ReadThroughCache.Stats::weight)
+            .containsExactly(2L, 2, 6L);
+    }
+
+    @Test
+    void valueHeavierThanTheMaxWeightIsNotCached() {
+        ReadThroughCache<Long, String> cache = cache(2, null);
+
+        cache.get(1L, load("one")).block();
+
+        assertThat(cache.stats().size()).isZero();
+        assertThat(cache.stats().evictions()).isZero();
+    }
+
+    @Test
+    void expiredValueIsReadAgain() {
+        ReadThroughCache<Long, String> cache = cache(100, TIME_TO_LIVE);
+        cache.get(1L, load("one")).block();
+
+        now.addAndGet(TIME_TO_LIVE.toNanos() - 1);
+        cache.get(1L, load("one")).block();
+        now.addAndGet(1);
+        cache.get(1L, load("one")).block();
+
+        assertThat(loads).hasValue(2);
+        assertThat(registry.get("cache.evictions").tag("cache", "test").counter().count()).isEqualTo(1);
+        assertThat(cache.stats().weight()).isEqualTo(3);
+    }
+
+    @Test
+    void flushDropsAllTheValues() {
+        ReadThroughCache<Long, String> cache = cache(100, null);
+        cache.get(1L, load("one")).block();
+        cache.get(2L, load("two")).block();
+
+        cache.invalidateAll();
+
+        assertThat(cache.stats()).extracting(ReadThroughCache.Stats::size, ReadThroughCache.Stats::weight).containsExactly(0, 0L);
+        assertThat(cache.stats().invalidations()).isEqualTo(2);
+    }
+
+    private ReadThroughCache<Long, String> cache(long maxWeight, Duration timeToLive) {
+        return new ReadThroughCache<>("test", maxWeight, String::length, timeToLive, registry, now::get);
+    }
+
+    private Mono<String> load(String value) {
+        return Mono.fromSupplier(() -> {
+            loads.incrementAndGet();
+            return new String(value);
+        });
+    }
+}
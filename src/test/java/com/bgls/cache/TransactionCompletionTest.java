@@ -0,0 +1,92 @@
+package com.bgls.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link TransactionCompletion}.
+ */
+class TransactionCompletionTest {
+
+    private final List<String> events = new ArrayList<>();
+
+    private final TransactionalOperator transactionalOperator = TransactionalOperator.create(new NoOpTransactionManager());
+
+    @Test
+    void actionRunsOnceTheTransactionCommits() {
+        Mono<Void> write = TransactionCompletion.runAfterCommit(() -> events.add("action")).then(
+            Mono.fromRunnable(() -> events.add("write"))
+        );
+
+        transactionalOperator.transactional(write).block();
+
+        assertThat(events).containsExactly("write", "commit", "action");
+    }
+
+    @Test
+    void actionDoesNotRunOnceTheTransactionRollsBack() {
+        Mono<Void> write = TransactionCompletion.runAfterCommit(() -> events.add("action")).then(Mono.error(new IllegalStateException()));
+
+        assertThatThrownBy(() -> transactionalOperator.transactional(write).block()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(events).containsExactly("rollback");
+    }
+
+    @Test
+    void actionRunsNowWithoutTransaction() {
+        TransactionCompletion.runAfterCommit(() -> events.add("action")).block();
+
+        assertThat(events).containsExactly("action");
+    }
+
+    @Test
+    void invalidationRunsNowAndAgainOnceTheTransactionCompletes() {
+        Mono<Void> write = TransactionCompletion.runNowAndAfterCompletion(() -> events.add("invalidation")).then(
+            Mono.error(new IllegalStateException())
+        );
+
+        assertThatThrownBy(() -> transactionalOperator.transactional(write).block()).isInstanceOf(IllegalStateException.class);
+
+        assertThat(events).containsExactly("invalidation", "rollback", "invalidation");
+    }
+
+    /**
+     * A transaction manager only recording the completion of its transactions.
+     */
+    private final class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+
+        @Override
+        protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+            return new Object();
+        }
+
+        @Override
+        protected Mono<Void> doBegin(
+            TransactionSynchronizationManager synchronizationManager,
+            Object transaction,
+            TransactionDefinition definition
+        ) {
+            return Mono.empty();
+        }
+
+        @Override
+        protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.fromRunnable(() -> events.add("commit"));
+        }
+
+        @Override
+        protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager, GenericReactiveTransaction status) {
+            return Mono.fromRunnable(() -> events.add("rollback"));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.bgls.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link StatementCacheMetricsConnectionFactory}.
+ */
+class StatementCacheMetricsConnectionFactoryTest {
+
+    private static final String BY_ID = "SELECT e.id FROM game e WHERE e.id = $1";
+
+    private MeterRegistry registry;
+
+    private StatementCacheMetricsConnectionFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        factory = new StatementCacheMetricsConnectionFactory(null, 2, registry);
+    }
+
+    @Test
+    void statementsAreCachedPerConnection() {
+        Object first = new Object();
+        Object second = new Object();
+
+        factory.record(first, BY_ID);
+        factory.record(first, BY_ID);
+        factory.record(second, BY_ID);
+
+        assertThat(count("hit")).isEqualTo(1);
+        assertThat(count("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void leastRecentlyUsedStatementsAreEvicted() {
+        Object connection = new Object();
+
+        factory.record(connection, BY_ID);
+        factory.record(connection, "SELECT 2 WHERE $1");
+        factory.record(connection, BY_ID);
+        factory.record(connection, "SELECT 3 WHERE $1");
+        factory.record(connection, BY_ID);
+        factory.record(connection, "SELECT 2 WHERE $1");
+
+        assertThat(count("hit")).isEqualTo(2);
+        assertThat(count("miss")).isEqualTo(4);
+    }
+
+    @Test
+    void statementsWithoutParametersAreNotPrepared() {
+        factory.record(new Object(), "SELECT e.id FROM game e WHERE e.id = 42");
+
+        assertThat(count("none")).isEqualTo(1);
+        assertThat(count("miss")).isZero();
+    }
+
+    private double count(String cache) {
+        return registry.get("r2dbc.statements").tag("cache", cache).counter().count();
+    }
+}
@@ -0,0 +1,51 @@
+package com.bgls.config.liquibase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import liquibase.exception.CustomChangeException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Test class for the {@link MoveImagesToStorageChange}.
+ */
+class MoveImagesToStorageChangeTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void relativeRootIsRefused() {
+        MoveImagesToStorageChange change = change("data/images");
+
+        assertThat(change.validate(null).getErrorMessages()).anyMatch(message -> message.contains("absolute"));
+    }
+
+    @Test
+    void absoluteRootIsAccepted() {
+        MoveImagesToStorageChange change = change(directory.resolve("images").toString());
+
+        assertThat(change.validate(null).hasErrors()).isFalse();
+    }
+
+    @Test
+    void rootThatCannotBeCreatedFailsBeforeMovingAnything() throws IOException {
+        Path file = Files.createFile(directory.resolve("file"));
+        MoveImagesToStorageChange change = change(file.resolve("images").toString());
+
+        assertThatThrownBy(() -> change.execute(null)).isInstanceOf(CustomChangeException.class).hasMessageContaining("image storage");
+    }
+
+    private static MoveImagesToStorageChange change(String root) {
+        MoveImagesToStorageChange change = new MoveImagesToStorageChange();
+        change.setTableName("game");
+        change.setColumnName("cover");
+        change.setHashColumnName("cover_hash");
+        change.setRoot(root);
+        return change;
+    }
+}
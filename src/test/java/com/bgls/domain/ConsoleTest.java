@@ -25,6 +25,15 @@ class ConsoleTest {
         assertThat(console1).isNotEqualTo(console2);
     }
 
+    @Test
+    void imageUrlTest() {
+        Console console = getConsoleSample1();
+        assertThat(console.getImageUrl()).isNull();
+
+        console.setImageHash("c0ffee");
+        assertThat(console.getImageUrl()).isEqualTo("api/consoles/" + console.getId() + "/image?v=c0ffee");
+    }
+
     @Test
     void gamesTest() {
         Console console = getConsoleRandomSampleGenerator();
@@ -38,6 +38,18 @@ class GameTest {
         assertThat(game.getConsole()).isNull();
     }
 
+    @Test
+    void coverUrlTest() {
+        Game game = getGameSample1();
+        assertThat(game.getCoverUrl()).isNull();
+
+        game.cover(new byte[] { 1 });
+        assertThat(game.getCoverUrl()).isEqualTo("api/games/" + game.getId() + "/cover");
+
+        game.cover(null).coverHash("c0ffee");
+        assertThat(game.getCoverUrl()).isEqualTo("api/games/" + game.getId() + "/cover?v=c0ffee");
+    }
+
     @Test
     void itemsTest() {
         Game game = getGameRandomSampleGenerator();
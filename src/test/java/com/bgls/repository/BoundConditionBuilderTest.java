@@ -0,0 +1,75 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.relational.core.dialect.PostgresDialect;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import tech.jhipster.service.filter.LongFilter;
+import tech.jhipster.service.filter.StringFilter;
+
+/**
+ * Test class for the {@link BoundConditionBuilder}.
+ */
+class BoundConditionBuilderTest {
+
+    private static final Table TABLE = Table.aliased("game", EntityManager.ENTITY_ALIAS);
+
+    @Test
+    void bindsEveryValue() {
+        LongFilter id = new LongFilter();
+        id.setGreaterThanOrEqual(3L);
+        id.setIn(List.of(3L, 4L));
+        StringFilter name = new StringFilter();
+        name.setContains("zel'da");
+        name.setSpecified(true);
+        BoundConditionBuilder builder = new BoundConditionBuilder();
+        builder.buildFilterConditionForField(id, TABLE.column("id"));
+        builder.buildFilterConditionForField(name, TABLE.column("name"));
+
+        assertThat(render(builder)).isEqualTo(
+            "SELECT e.id FROM game e WHERE e.id IN (:criterion0) AND e.id >= :criterion1 AND e.name IS NOT NULL AND e.name LIKE :criterion3"
+        );
+        assertThat(builder.getBindings())
+            .containsEntry("criterion0", List.of(3L, 4L))
+            .containsEntry("criterion1", 3L)
+            .containsEntry("criterion3", "zel'da")
+            .hasSize(3);
+    }
+
+    @Test
+    void shapeIgnoresTheValues() {
+        assertThat(shapeOfIdEquals(1L)).isEqualTo(shapeOfIdEquals(2L));
+        BoundConditionBuilder notEquals = new BoundConditionBuilder();
+        LongFilter id = new LongFilter();
+        id.setNotEquals(1L);
+        notEquals.buildFilterConditionForField(id, TABLE.column("id"));
+        assertThat(notEquals.getShape()).isNotEqualTo(shapeOfIdEquals(1L));
+    }
+
+    @Test
+    void noPredicateBuildsNoCondition() {
+        BoundConditionBuilder builder = new BoundConditionBuilder();
+        builder.buildFilterConditionForField(new LongFilter(), TABLE.column("id"));
+
+        assertThat(builder.buildConditions()).isNull();
+        assertThat(builder.getShape()).isEmpty();
+    }
+
+    private static List<?> shapeOfIdEquals(long value) {
+        LongFilter id = new LongFilter();
+        id.setEquals(value);
+        BoundConditionBuilder builder = new BoundConditionBuilder();
+        builder.buildFilterConditionForField(id, TABLE.column("id"));
+        return builder.getShape();
+    }
+
+    private static String render(BoundConditionBuilder builder) {
+        Select select = Select.builder().select(TABLE.column("id")).from(TABLE).where(builder.buildConditions()).build();
+        return SqlRenderer.create(new RenderContextFactory(PostgresDialect.INSTANCE).createRenderContext()).render(select);
+    }
+}
@@ -0,0 +1,88 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.relational.core.sql.Table;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
+
+/**
+ * Test class for the static helpers of {@link EntityManager}.
+ */
+class EntityManagerTest {
+
+    @Test
+    void totalCountIsReadFromTheRows() {
+        Flux<Tuple2<String, Long>> rows = Flux.just(Tuples.of("a", 12L), Tuples.of("b", 12L));
+
+        Page<String> page = EntityManager.collectPage(rows, PageRequest.of(1, 2), Mono.error(new AssertionError())).block();
+
+        assertThat(page.getContent()).containsExactly("a", "b");
+        assertThat(page.getTotalElements()).isEqualTo(12);
+    }
+
+    @Test
+    void emptyFirstPageHasNoRowsToCount() {
+        Page<String> page = EntityManager.<String>collectPage(Flux.empty(), PageRequest.of(0, 2), Mono.error(new AssertionError())).block();
+
+        assertThat(page.getTotalElements()).isZero();
+    }
+
+    @Test
+    void pagePastTheLastOneIsCounted() {
+        Page<String> page = EntityManager.<String>collectPage(Flux.empty(), PageRequest.of(5, 2), Mono.just(3L)).block();
+
+        assertThat(page.getContent()).isEqualTo(List.of());
+        assertThat(page.getTotalElements()).isEqualTo(3);
+    }
+
+    @Test
+    void idsAreLookedUpByBatchesAndReturnedInTheirOrder() {
+        List<Long> ids = new ArrayList<>(LongStream.rangeClosed(1, EntityManager.ID_BATCH_SIZE + 1).boxed().toList());
+        ids.add(0, 7L);
+        ids.add(null);
+        List<Long[]> batches = new ArrayList<>();
+
+        List<Long> found = EntityManager.<Long>findAllByIds(
+            ids,
+            batch -> {
+                batches.add(batch);
+                // the rows come back in no particular order, and without the even ids
+                return Flux.fromArray(batch).filter(id -> id % 2 == 1).sort((a, b) -> Long.compare(b, a));
+            },
+            id -> id
+        )
+            .collectList()
+            .block();
+
+        assertThat(batches).hasSize(2);
+        assertThat(batches.get(0)).hasSize(EntityManager.ID_BATCH_SIZE).startsWith(7L, 1L, 2L, 3L, 4L, 5L, 6L, 8L);
+        assertThat(batches.get(1)).containsExactly((long) EntityManager.ID_BATCH_SIZE + 1);
+        assertThat(found).startsWith(7L, 1L, 3L, 5L, 9L).endsWith((long) EntityManager.ID_BATCH_SIZE + 1).doesNotHaveDuplicates();
+        assertThat(found).hasSize((EntityManager.ID_BATCH_SIZE + 2) / 2);
+    }
+
+    @Test
+    void noIdIsNotLookedUp() {
+        List<Long> found = EntityManager.<Long>findAllByIds(List.of(), batch -> Flux.error(new AssertionError()), id -> id)
+            .collectList()
+            .block();
+
+        assertThat(found).isEmpty();
+    }
+
+    @Test
+    void idIsAnyBindsTheIdsAsOneArray() {
+        Table table = Table.aliased("game", EntityManager.ENTITY_ALIAS);
+
+        assertThat(EntityManager.idIsAny(table.column("id"))).hasToString("e.id = ANY(:ids)");
+    }
+}
@@ -0,0 +1,106 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bgls.domain.criteria.GameCriteria;
+import com.bgls.repository.rowmapper.ConsoleRowMapper;
+import com.bgls.repository.rowmapper.GameRowMapper;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Test class for the {@link GameRepositoryInternalImpl}, whose statements are recorded instead of executed, see
+ * {@link RecordingDatabaseClient}.
+ */
+class GameRepositoryInternalImplTest {
+
+    private final RecordingDatabaseClient db = new RecordingDatabaseClient().answerCount(3L);
+
+    private final List<String> statements = db.statements();
+
+    private final Map<String, Object> bindings = db.bindings();
+
+    private GameRepositoryInternalImpl gameRepository;
+
+    @BeforeEach
+    void setUp() {
+        gameRepository = new GameRepositoryInternalImpl(
+            db.template(),
+            db.entityManager(),
+            new ConsoleRowMapper(db.columnConverter()),
+            new GameRowMapper(db.columnConverter()),
+            db.template(),
+            db.converter(),
+            db.rowCountEstimator()
+        );
+    }
+
+    @Test
+    void countWithoutCriteriaReadsTheGameTableAlone() {
+        assertThat(gameRepository.countByCriteria(new GameCriteria()).block()).isEqualTo(3L);
+
+        assertThat(statements).containsExactly("SELECT COUNT(e.id) FROM game e");
+        assertThat(bindings).isEmpty();
+    }
+
+    @Test
+    void countBindsTheCriteriaAndJoinsTheConsoleOnlyWhenFilteredByIt() {
+        GameCriteria criteria = new GameCriteria();
+        criteria.name().setContains("zelda");
+        criteria.id().setGreaterThan(10L);
+
+        gameRepository.countByCriteria(criteria).block();
+        criteria.consoleId().setIn(List.of(1L, 2L));
+        gameRepository.countByCriteria(criteria).block();
+
+        assertThat(statements).containsExactly(
+            "SELECT COUNT(e.id) FROM game e WHERE e.id > :criterion0 AND e.name LIKE :criterion1",
+            "SELECT COUNT(e.id) FROM game e LEFT OUTER JOIN console console ON e.console_id = console.id " +
+            "WHERE e.id > :criterion0 AND e.name LIKE :criterion1 AND console.id IN (:criterion2)"
+        );
+        assertThat(bindings)
+            .containsEntry("criterion0", 10L)
+            .containsEntry("criterion1", "zelda")
+            .containsEntry("criterion2", List.of(1L, 2L))
+            .hasSize(3);
+    }
+
+    @Test
+    void countSqlIsRenderedOncePerShapeOfCriteria() {
+        GameCriteria zelda = new GameCriteria();
+        zelda.name().setContains("zelda");
+        GameCriteria metroid = new GameCriteria();
+        metroid.name().setContains("metroid");
+
+        gameRepository.countByCriteria(zelda).block();
+        gameRepository.countByCriteria(metroid).block();
+
+        assertThat(statements).hasSize(2).allMatch(statements.get(0)::equals);
+        assertThat(bindings).containsEntry("criterion0", "metroid");
+        assertThat(db.registry().get("sql.selects").tag("cache", "hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void firstSeekPageIsReadSortedByASeekableProperty() {
+        gameRepository
+            .findByCriteria(new GameCriteria(), PageRequest.of(0, 20, SeekCursor.seekSort(Sort.by("console.name"))), null)
+            .blockLast();
+
+        assertThat(statements).singleElement().asString().endsWith("ORDER BY console_name ASC, e_id ASC LIMIT :limit OFFSET :offset");
+    }
+
+    @Test
+    void firstSeekPageRejectsASortNoCursorCanSeekOn() {
+        PageRequest page = PageRequest.of(0, 20, SeekCursor.seekSort(Sort.by("consoleId")));
+
+        assertThatThrownBy(() -> gameRepository.findByCriteria(new GameCriteria(), page, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("consoleId");
+        assertThat(statements).isEmpty();
+    }
+}
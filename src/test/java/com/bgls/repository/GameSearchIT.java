@@ -0,0 +1,81 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bgls.IntegrationTest;
+import com.bgls.domain.Game;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+/**
+ * Integration tests for the name search of {@link GameRepository}.
+ */
+@IntegrationTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class GameSearchIT {
+
+    private static final long FIRST_CONSOLE = 910_000L;
+    private static final long FIRST_GAME = 910_000L;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private GameRepository gameRepository;
+
+    @BeforeAll
+    void seed() {
+        execute(
+            "INSERT INTO console (id, name) VALUES (" + FIRST_CONSOLE + ", 'Search NES'), (" + (FIRST_CONSOLE + 1) + ", 'Search SNES')"
+        );
+        execute(
+            "INSERT INTO game (id, name, console_id) VALUES " +
+            ("(" + FIRST_GAME + ", 'The Legend of Zelda', " + FIRST_CONSOLE + "), ") +
+            ("(" + (FIRST_GAME + 1) + ", 'Zelda II: The Adventure of Link', " + FIRST_CONSOLE + "), ") +
+            ("(" + (FIRST_GAME + 2) + ", 'Zelda: A Link to the Past', " + (FIRST_CONSOLE + 1) + "), ") +
+            ("(" + (FIRST_GAME + 3) + ", 'Super Mario Kart', " + (FIRST_CONSOLE + 1) + "), ") +
+            ("(" + (FIRST_GAME + 4) + ", '100% Orange Juice', " + (FIRST_CONSOLE + 1) + ")")
+        );
+    }
+
+    @AfterAll
+    void cleanup() {
+        execute("DELETE FROM game WHERE id >= " + FIRST_GAME);
+        execute("DELETE FROM console WHERE id >= " + FIRST_CONSOLE);
+    }
+
+    @Test
+    void namesStartingWithTheTermComeFirst() {
+        List<Game> games = search("zelda", null, 10);
+
+        assertThat(games).hasSize(3);
+        assertThat(games.subList(0, 2)).extracting(Game::getId).containsExactlyInAnyOrder(FIRST_GAME + 1, FIRST_GAME + 2);
+        assertThat(games.get(2).getId()).isEqualTo(FIRST_GAME);
+        assertThat(games.get(2).getConsole().getName()).isEqualTo("Search NES");
+    }
+
+    @Test
+    void consoleFilterAndLimitApply() {
+        assertThat(search("zelda", FIRST_CONSOLE, 10)).extracting(Game::getId).containsExactly(FIRST_GAME + 1, FIRST_GAME);
+        assertThat(search("zelda", null, 1)).extracting(Game::getId).containsAnyOf(FIRST_GAME + 1, FIRST_GAME + 2).hasSize(1);
+    }
+
+    @Test
+    void wildcardsOfTheTermAreMatchedLiterally() {
+        assertThat(search("100%", null, 10)).extracting(Game::getId).containsExactly(FIRST_GAME + 4);
+        assertThat(search("%", null, 10)).extracting(Game::getId).containsExactly(FIRST_GAME + 4);
+    }
+
+    private List<Game> search(String term, Long consoleId, int limit) {
+        return gameRepository.searchByName(term, consoleId, limit).collectList().block();
+    }
+
+    private void execute(String sql) {
+        db.sql(sql).then().block();
+    }
+}
@@ -0,0 +1,139 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bgls.domain.criteria.ItemFilter;
+import java.util.Locale;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.dialect.PostgresDialect;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+
+/**
+ * Test class for the {@link ItemQueryBuilder}.
+ */
+class ItemQueryBuilderTest {
+
+    @Test
+    void countWithoutFiltersHasNoJoinNorPredicate() {
+        String sql = render(new ItemQueryBuilder(new ItemFilter()).buildCount());
+
+        assertThat(sql).isEqualTo("SELECT COUNT(e.id) FROM item e");
+    }
+
+    @Test
+    void countJoinsGameOnlyForGameFilters() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().ownerId(1L).consoleId(2L));
+
+        String sql = render(query.buildCount());
+
+        assertThat(sql)
+            .isEqualTo("SELECT COUNT(e.id) FROM item e LEFT OUTER JOIN game game ON e.game_id = game.id " +
+                "WHERE e.owner_id = :ownerId AND game.console_id = :consoleId");
+        assertThat(query.getBindings()).containsEntry("ownerId", 1L).containsEntry("consoleId", 2L).hasSize(2);
+    }
+
+    @Test
+    void idsShareTheJoinsAndPredicatesOfTheCount() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().gameName("zelda"));
+
+        assertThat(render(query.buildIds()))
+            .isEqualTo(
+                "SELECT e.id FROM item e LEFT OUTER JOIN game game ON e.game_id = game.id WHERE LOWER(game.name) LIKE :gameName ESCAPE '\\'"
+            );
+        assertThat(query.isFiltered()).isTrue();
+        assertThat(new ItemQueryBuilder(new ItemFilter()).isFiltered()).isFalse();
+    }
+
+    @Test
+    void lazyPageJoinsOnlyWhatTheSortNeeds() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().lendedToId(3L));
+
+        String sql = render(query.buildPage(PageRequest.of(2, 20, Sort.by(Sort.Order.desc("game.console.name")))));
+
+        assertThat(sql)
+            .contains("LEFT OUTER JOIN game game ON e.game_id = game.id")
+            .contains("LEFT OUTER JOIN console console ON game.console_id = console.id")
+            .doesNotContain("jhi_user")
+            .contains("WHERE e.lended_to_id = :lendedToId")
+            .endsWith("ORDER BY console.name DESC, e.id ASC")
+            .doesNotContain("LIMIT");
+    }
+
+    @Test
+    void pageWithTotalCountSelectsTheWindowCount() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().ownerId(1L)).withTotalCount(true);
+
+        String sql = render(query.buildPage(PageRequest.of(1, 10)));
+
+        assertThat(sql)
+            .contains(", COUNT(*) OVER () AS total_count FROM item e")
+            .contains("WHERE e.owner_id = :ownerId");
+        assertThat(render(new ItemQueryBuilder(new ItemFilter()).buildPage(PageRequest.of(0, 10)))).doesNotContain("OVER");
+    }
+
+    @Test
+    void eagerPageSelectsEveryRelation() {
+        String sql = render(new ItemQueryBuilder(new ItemFilter()).eager(true).buildPage(PageRequest.of(0, 10)));
+
+        assertThat(sql).contains("owner.login AS owner_login", "lendedTo.login AS lendedTo_login", "console.name AS console_name");
+        assertThat(sql).doesNotContain("WHERE");
+        assertThat(sql).contains("game.cover_hash AS game_cover_hash").doesNotContain("game.cover AS", "console.image AS");
+    }
+
+    @Test
+    void gameNameFilterIsBoundAsLowerCasePattern() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().gameName("Zelda"));
+
+        String sql = render(query.buildCount());
+
+        assertThat(sql).endsWith("WHERE LOWER(game.name) LIKE :gameName ESCAPE '\\'");
+        assertThat(query.getBindings()).containsEntry("gameName", "%zelda%");
+    }
+
+    @Test
+    void gameNameFilterMatchesWildcardsLiterally() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().gameName("100%_Pure\\"));
+
+        assertThat(query.getBindings()).containsEntry("gameName", "%100\\%\\_pure\\\\%");
+    }
+
+    @Test
+    void gameNameFilterIsLowerCasedWhateverTheDefaultLocale() {
+        Locale defaultLocale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr"));
+        try {
+            assertThat(new ItemQueryBuilder(new ItemFilter().gameName("TITAN")).getBindings()).containsEntry("gameName", "%titan%");
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    @Test
+    void shapeDependsOnTheFiltersSetButNotOnTheirValues() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().ownerId(1L));
+
+        assertThat(query.shape("page")).isEqualTo(new ItemQueryBuilder(new ItemFilter().ownerId(2L)).shape("page"));
+        assertThat(query.shape("page"))
+            .isNotEqualTo(query.shape("count"))
+            .isNotEqualTo(new ItemQueryBuilder(new ItemFilter().lendedToId(1L)).shape("page"))
+            .isNotEqualTo(new ItemQueryBuilder(new ItemFilter().ownerId(1L)).eager(true).shape("page"));
+    }
+
+    @Test
+    void unsupportedSortIsRejected() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter());
+
+        assertThatThrownBy(() -> query.buildPage(PageRequest.of(0, 10, Sort.by("owner.password")))).isInstanceOf(
+            IllegalArgumentException.class
+        );
+    }
+
+    private static String render(Select select) {
+        return SqlRenderer.create(new RenderContextFactory(PostgresDialect.INSTANCE).createRenderContext()).render(select);
+    }
+}
@@ -0,0 +1,94 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bgls.domain.Item;
+import com.bgls.domain.criteria.ItemFilter;
+import com.bgls.repository.rowmapper.ConsoleRowMapper;
+import com.bgls.repository.rowmapper.GameRowMapper;
+import com.bgls.repository.rowmapper.ItemRowMapper;
+import com.bgls.repository.rowmapper.UserRowMapper;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+/**
+ * Test class for the {@link ItemRepositoryInternalImpl}, whose statements are answered with canned rows instead of
+ * being executed, see {@link RecordingDatabaseClient}.
+ */
+class ItemRepositoryInternalImplTest {
+
+    private final RecordingDatabaseClient db = new RecordingDatabaseClient().answerCount(5L);
+
+    private final List<String> executed = db.statements();
+
+    private ItemRepositoryInternalImpl itemRepository;
+
+    @BeforeEach
+    void setUp() {
+        ItemRowMapper itemMapper = mock(ItemRowMapper.class);
+        when(itemMapper.withPrefix("e")).thenReturn((row, metadata) -> new Item().id(row.get("e_id", Long.class)));
+
+        itemRepository = new ItemRepositoryInternalImpl(
+            db.template(),
+            db.entityManager(),
+            new UserRowMapper(db.columnConverter()),
+            new GameRowMapper(db.columnConverter()),
+            new ConsoleRowMapper(db.columnConverter()),
+            itemMapper,
+            db.template(),
+            db.converter(),
+            db.rowCountEstimator()
+        );
+    }
+
+    @Test
+    void pageIsReadAlongWithItsTotalInASingleStatement() {
+        db.answerRows(List.of(Map.of("e_id", 4L, "total_count", 7L), Map.of("e_id", 9L, "total_count", 7L)));
+
+        Page<Item> page = itemRepository
+            .findPageWithFilters(new ItemFilter().ownerId(1L), PageRequest.of(1, 2, Sort.by("game.name")), false)
+            .block();
+
+        assertThat(page.getContent()).extracting(Item::getId).containsExactly(4L, 9L);
+        assertThat(page.getTotalElements()).isEqualTo(7);
+        assertThat(executed).singleElement().asString().contains("COUNT(*) OVER () AS total_count").contains("e.owner_id = :ownerId");
+    }
+
+    @Test
+    void emptyPageBeyondTheFirstIsCountedOnItsOwn() {
+        Page<Item> page = itemRepository.findPageWithFilters(new ItemFilter().ownerId(1L), PageRequest.of(3, 2), false).block();
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isEqualTo(5);
+        assertThat(executed).hasSize(2);
+        assertThat(executed.get(1)).isEqualTo("SELECT COUNT(e.id) FROM item e WHERE e.owner_id = :ownerId");
+    }
+
+    @Test
+    void emptyFirstPageIsNotCounted() {
+        Page<Item> page = itemRepository.findPageWithFilters(new ItemFilter(), PageRequest.of(0, 2), false).block();
+
+        assertThat(page.getTotalElements()).isZero();
+        assertThat(executed).hasSize(1);
+    }
+
+    @Test
+    void itemsTiedOnTheSortAreOrderedByTheirId() {
+        itemRepository.findPageWithFilters(new ItemFilter(), PageRequest.of(0, 2, Sort.by(Sort.Order.desc("game.name"))), false).block();
+        itemRepository.findAllWithFilters(new ItemFilter(), PageRequest.of(0, 2, Sort.by("owner.login")), null, false).blockLast();
+        itemRepository.findAllWithFilters(new ItemFilter(), PageRequest.of(0, 2, Sort.by(Sort.Order.desc("id"))), null, false).blockLast();
+
+        assertThat(executed).satisfiesExactly(
+            sql -> assertThat(sql).endsWith("ORDER BY game.name DESC, e.id ASC LIMIT :limit OFFSET :offset"),
+            sql -> assertThat(sql).endsWith("ORDER BY owner.login ASC, e.id ASC LIMIT :limit OFFSET :offset"),
+            sql -> assertThat(sql).endsWith("ORDER BY e.id DESC LIMIT :limit OFFSET :offset")
+        );
+    }
+}
@@ -0,0 +1,178 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bgls.IntegrationTest;
+import com.bgls.domain.criteria.ItemFilter;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Checks that the hot listing queries are planned against the indexes once the tables hold a realistic amount of rows,
+ * and never fall back to a sequential scan of the item or game table.
+ */
+@IntegrationTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class QueryPlanIT {
+
+    private static final long FIRST_USER = 900_000L;
+    private static final long FIRST_CONSOLE = 900_000L;
+    private static final long FIRST_GAME = 900_000L;
+    private static final long FIRST_ITEM = 900_000L;
+
+    private static final int USERS = 200;
+    private static final int CONSOLES = 50;
+    private static final int GAMES = 20_000;
+    private static final int ITEMS = 100_000;
+
+    @Autowired
+    private DatabaseClient db;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeAll
+    void seed() {
+        execute(
+            "INSERT INTO jhi_user (id, login, password_hash, activated, created_by) " +
+            "SELECT u, 'plan-user-' || u, repeat('x', 60), true, 'system' FROM generate_series(" +
+            FIRST_USER +
+            ", " +
+            (FIRST_USER + USERS - 1) +
+            ") u"
+        );
+        execute(
+            "INSERT INTO console (id, name) SELECT c, 'plan-console-' || c FROM generate_series(" +
+            FIRST_CONSOLE +
+            ", " +
+            (FIRST_CONSOLE + CONSOLES - 1) +
+            ") c"
+        );
+        execute(
+            "INSERT INTO game (id, name, console_id) SELECT g, 'Game ' || md5(g::text), " +
+            FIRST_CONSOLE +
+            " + g % " +
+            CONSOLES +
+            " FROM generate_series(" +
+            FIRST_GAME +
+            ", " +
+            (FIRST_GAME + GAMES - 1) +
+            ") g"
+        );
+        execute(
+            "INSERT INTO item (id, owner_id, lended_to_id, game_id) SELECT i, " +
+            FIRST_USER +
+            " + i % " +
+            USERS +
+            ", CASE WHEN i % 10 = 0 THEN " +
+            FIRST_USER +
+            " + (i / 10) % " +
+            USERS +
+            " END, " +
+            FIRST_GAME +
+            " + i % " +
+            GAMES +
+            " FROM generate_series(" +
+            FIRST_ITEM +
+            ", " +
+            (FIRST_ITEM + ITEMS - 1) +
+            ") i"
+        );
+        execute("ANALYZE jhi_user");
+        execute("ANALYZE console");
+        execute("ANALYZE game");
+        execute("ANALYZE item");
+    }
+
+    @AfterAll
+    void cleanup() {
+        execute("DELETE FROM item WHERE id >= " + FIRST_ITEM);
+        execute("DELETE FROM game WHERE id >= " + FIRST_GAME);
+        execute("DELETE FROM console WHERE id >= " + FIRST_CONSOLE);
+        execute("DELETE FROM jhi_user WHERE id >= " + FIRST_USER);
+    }
+
+    @Test
+    void itemsOfAnOwnerUseTheOwnerIndex() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().ownerId(FIRST_USER + 7));
+
+        assertNoSequentialScan(explain(query.buildCount(), query.getBindings()), "item");
+        assertNoSequentialScan(explain(query.buildPage(PageRequest.of(3, 20)), query.getBindings()), "item");
+    }
+
+    @Test
+    void itemsLendedToAUserUseTheBorrowerIndex() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().lendedToId(FIRST_USER + 3));
+
+        assertNoSequentialScan(explain(query.buildCount(), query.getBindings()), "item");
+        assertNoSequentialScan(explain(query.buildPage(PageRequest.of(0, 20, Sort.by("owner.login"))), query.getBindings()), "item");
+    }
+
+    @Test
+    void copiesOfAGameUseTheGameIndex() {
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().gameId(FIRST_GAME + 42)).eager(true);
+
+        String plan = explain(query.buildPage(PageRequest.of(0, 20, Sort.by("game.name"))), query.getBindings());
+
+        assertNoSequentialScan(plan, "item");
+        assertNoSequentialScan(plan, "game");
+    }
+
+    @Test
+    void availableCopiesOfAGameUseAnIndex() {
+        String sql = "SELECT * FROM item e WHERE e.game_id = :gameId AND e.lended_to_id IS NULL";
+
+        String plan = explain(sql, Map.of("gameId", FIRST_GAME + 42));
+
+        assertNoSequentialScan(plan, "item");
+    }
+
+    @Test
+    void itemsByGameNameUseTheTrigramIndex() {
+        String fragment = DigestUtils.md5DigestAsHex(String.valueOf(FIRST_GAME + 1234).getBytes(StandardCharsets.UTF_8)).substring(4, 16);
+        ItemQueryBuilder query = new ItemQueryBuilder(new ItemFilter().gameName(fragment));
+
+        String plan = explain(query.buildCount(), query.getBindings());
+
+        assertThat(plan).contains("idx_game__name_trgm");
+        assertNoSequentialScan(plan, "item");
+        assertNoSequentialScan(plan, "game");
+    }
+
+    @Test
+    void gamesOfAConsoleUseTheConsoleIndex() {
+        String plan = explain("SELECT * FROM game entity WHERE entity.console_id = :id", Map.of("id", FIRST_CONSOLE + 5));
+
+        assertNoSequentialScan(plan, "game");
+    }
+
+    private String explain(Select select, Map<String, Object> bindings) {
+        return explain(em.createSelect(select), bindings);
+    }
+
+    private String explain(String sql, Map<String, Object> bindings) {
+        DatabaseClient.GenericExecuteSpec spec = db.sql("EXPLAIN " + sql);
+        for (Map.Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return String.join("\n", spec.map(row -> row.get(0, String.class)).all().collectList().block());
+    }
+
+    private static void assertNoSequentialScan(String plan, String table) {
+        assertThat(plan).as("query plan").doesNotContain("Seq Scan on " + table + " ");
+    }
+
+    private void execute(String sql) {
+        db.sql(sql).then().block();
+    }
+}
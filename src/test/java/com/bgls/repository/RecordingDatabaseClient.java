@@ -0,0 +1,173 @@
+package com.bgls.repository;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.bgls.config.ApplicationProperties;
+import com.bgls.repository.rowmapper.ColumnConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.core.DefaultReactiveDataAccessStrategy;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A mocked {@link DatabaseClient} for the tests of the repositories, which records their statements and bindings instead
+ * of executing them, along with the template, the {@link EntityManager} and the converters the repositories are built
+ * with.
+ * <p>
+ * The statements mapping each row are answered with the rows given to {@link #answerRows(List)}, and those mapping a
+ * single value, such as a count, with the value given to {@link #answerCount(long)}. Each statement is recorded once it
+ * is subscribed to, the bindings as they are bound.
+ */
+class RecordingDatabaseClient {
+
+    private final List<String> statements = new ArrayList<>();
+
+    private final Map<String, Object> bindings = new LinkedHashMap<>();
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    private final MappingR2dbcConverter converter = new MappingR2dbcConverter(new R2dbcMappingContext());
+
+    private final ColumnConverter columnConverter = new ColumnConverter(
+        R2dbcCustomConversions.of(PostgresDialect.INSTANCE),
+        converter,
+        new SimpleMeterRegistry()
+    );
+
+    private final DatabaseClient db = mock(DatabaseClient.class);
+
+    private final R2dbcEntityTemplate template = mock(R2dbcEntityTemplate.class);
+
+    private final EntityManager entityManager;
+
+    private List<? extends Map<String, ?>> rows = List.of();
+
+    private long count;
+
+    RecordingDatabaseClient() {
+        when(db.sql(anyString())).thenAnswer(invocation -> statement(invocation.getArgument(0)));
+        when(template.getDatabaseClient()).thenReturn(db);
+        when(template.getConverter()).thenReturn(converter);
+        when(template.getDataAccessStrategy()).thenReturn(new DefaultReactiveDataAccessStrategy(PostgresDialect.INSTANCE));
+        entityManager = new EntityManager(
+            SqlRenderer.create(new RenderContextFactory(PostgresDialect.INSTANCE).createRenderContext()),
+            new UpdateMapper(PostgresDialect.INSTANCE, converter),
+            template,
+            new ApplicationProperties(),
+            registry
+        );
+    }
+
+    /**
+     * @param rows the rows answered to the statements mapping each row, as the values of their columns by name.
+     */
+    RecordingDatabaseClient answerRows(List<? extends Map<String, ?>> rows) {
+        this.rows = rows;
+        return this;
+    }
+
+    /**
+     * @param count the value answered to the statements mapping a single value.
+     */
+    RecordingDatabaseClient answerCount(long count) {
+        this.count = count;
+        return this;
+    }
+
+    /**
+     * @return the statements executed, in the order they were subscribed to.
+     */
+    List<String> statements() {
+        return statements;
+    }
+
+    /**
+     * @return the values bound to the statements by name, the last one bound winning.
+     */
+    Map<String, Object> bindings() {
+        return bindings;
+    }
+
+    SimpleMeterRegistry registry() {
+        return registry;
+    }
+
+    MappingR2dbcConverter converter() {
+        return converter;
+    }
+
+    ColumnConverter columnConverter() {
+        return columnConverter;
+    }
+
+    R2dbcEntityTemplate template() {
+        return template;
+    }
+
+    EntityManager entityManager() {
+        return entityManager;
+    }
+
+    RowCountEstimator rowCountEstimator() {
+        return new RowCountEstimator(db, new ObjectMapper());
+    }
+
+    @SuppressWarnings("unchecked")
+    private DatabaseClient.GenericExecuteSpec statement(String sql) {
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+        when(spec.bind(anyString(), any())).thenAnswer(invocation -> {
+            bindings.put(invocation.getArgument(0), invocation.getArgument(1));
+            return spec;
+        });
+        when(spec.map(any(BiFunction.class))).thenAnswer(invocation -> {
+            BiFunction<Row, RowMetadata, Object> mapper = invocation.getArgument(0);
+            RowsFetchSpec<Object> fetch = mock(RowsFetchSpec.class);
+            when(fetch.all()).thenReturn(
+                Flux.defer(() -> {
+                    statements.add(sql);
+                    return Flux.fromIterable(rows).map(values -> mapper.apply(row(values), mock(RowMetadata.class)));
+                })
+            );
+            return fetch;
+        });
+        when(spec.map(any(Function.class))).thenAnswer(invocation -> {
+            RowsFetchSpec<Object> fetch = mock(RowsFetchSpec.class);
+            when(fetch.one()).thenReturn(
+                Mono.defer(() -> {
+                    statements.add(sql);
+                    return Mono.just(count);
+                })
+            );
+            return fetch;
+        });
+        return spec;
+    }
+
+    private static Row row(Map<String, ?> values) {
+        Row row = mock(Row.class);
+        when(row.get(anyString(), any(Class.class))).thenAnswer(invocation -> values.get(invocation.<String>getArgument(0)));
+        return row;
+    }
+}
@@ -0,0 +1,62 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link RenderedSelectCache}.
+ */
+class RenderedSelectCacheTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @Test
+    void rendersEachShapeOnce() {
+        RenderedSelectCache cache = new RenderedSelectCache(2, registry);
+
+        assertThat(cache.get("findById", () -> render("SELECT 1"))).isEqualTo("SELECT 1");
+        assertThat(cache.get("findById", () -> render("SELECT 2"))).isEqualTo("SELECT 1");
+
+        assertThat(renders).hasValue(1);
+        assertThat(registry.get("sql.selects").tag("cache", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("sql.selects").tag("cache", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedShape() {
+        RenderedSelectCache cache = new RenderedSelectCache(2, registry);
+        cache.get("a", () -> render("A"));
+        cache.get("b", () -> render("B"));
+        cache.get("a", () -> render("A"));
+
+        cache.get("c", () -> render("C"));
+        cache.get("a", () -> render("A"));
+        cache.get("b", () -> render("B"));
+
+        assertThat(renders).hasValue(4);
+        assertThat(registry.get("sql.selects.evictions").counter().count()).isEqualTo(2);
+        assertThat(registry.get("sql.selects.cached").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void zeroSizeRendersEverySelect() {
+        RenderedSelectCache cache = new RenderedSelectCache(0, registry);
+
+        cache.get("findById", () -> render("SELECT 1"));
+        cache.get("findById", () -> render("SELECT 1"));
+
+        assertThat(renders).hasValue(2);
+        assertThat(cache.size()).isZero();
+    }
+
+    private String render(String sql) {
+        renders.incrementAndGet();
+        return sql;
+    }
+}
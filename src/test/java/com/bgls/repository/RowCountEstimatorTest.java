@@ -0,0 +1,29 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link RowCountEstimator}.
+ */
+class RowCountEstimatorTest {
+
+    private final RowCountEstimator estimator = new RowCountEstimator(null, new ObjectMapper());
+
+    @Test
+    void planRowsAreReadFromTheTopNode() {
+        String plan =
+            "[{\"Plan\": {\"Node Type\": \"Hash Join\", \"Plan Rows\": 1234, \"Plans\": [" +
+            "{\"Node Type\": \"Seq Scan\", \"Plan Rows\": 5000}]}}]";
+
+        assertThat(estimator.planRows(plan)).isEqualTo(1234L);
+    }
+
+    @Test
+    void unexpectedPlansHaveNoRows() {
+        assertThat(estimator.planRows("[{\"Plan\": {}}]")).isNull();
+        assertThat(estimator.planRows("not a plan")).isNull();
+    }
+}
@@ -0,0 +1,85 @@
+package com.bgls.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bgls.domain.Console;
+import com.bgls.domain.Game;
+import com.bgls.domain.Item;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+
+/**
+ * Test class for the {@link SeekCursor} value class.
+ */
+class SeekCursorTest {
+
+    private static final Table table = Table.aliased("game", "e");
+
+    @Test
+    void encodedCursorRoundTrips() {
+        Item item = new Item().id(42L).game(new Game().name("Chrono: Trigger").console(new Console().name("SNES")));
+
+        SeekCursor cursor = SeekCursor.after(item, item.getId(), Sort.Order.desc("game.console.name"));
+        SeekCursor decoded = SeekCursor.decode(cursor.encode());
+
+        assertThat(decoded).isEqualTo(cursor);
+        assertThat(decoded.getValue()).isEqualTo("SNES");
+        assertThat(decoded.getSort()).isEqualTo(Sort.by(Sort.Order.desc("game.console.name"), Sort.Order.desc("id")));
+    }
+
+    @Test
+    void missingRelationIsEncodedAsNull() {
+        Item item = new Item().id(7L);
+
+        SeekCursor decoded = SeekCursor.decode(SeekCursor.after(item, item.getId(), Sort.Order.asc("lendedTo.login")).encode());
+
+        assertThat(decoded.getValue()).isNull();
+        assertThat(decoded.getId()).isEqualTo(7L);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertThatThrownBy(() -> SeekCursor.decode("not a cursor")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SeekCursor.decode("QVNDOmlk")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cursorIsBoundToItsSort() {
+        SeekCursor cursor = SeekCursor.after(new Game().id(1L).name("Doom"), 1L, Sort.Order.asc("name"));
+
+        cursor.verifySort(Sort.unsorted());
+        cursor.verifySort(Sort.by("name"));
+        assertThatThrownBy(() -> cursor.verifySort(Sort.by(Sort.Order.desc("name")))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void ascendingConditionSeeksPastKeyAndId() {
+        SeekCursor cursor = SeekCursor.after(new Game().id(3L).name("Doom"), 3L, Sort.Order.asc("name"));
+        Map<String, Object> bindings = new HashMap<>();
+
+        String sql = render(cursor.toCondition(table.column("name"), false, table.column("id"), bindings));
+
+        assertThat(sql).endsWith("WHERE (e.name > :seekValue OR (e.name = :seekValue AND e.id > :seekId))");
+        assertThat(bindings).containsEntry("seekValue", "Doom").containsEntry("seekId", 3L);
+    }
+
+    @Test
+    void descendingConditionOnNullKeyKeepsNonNullRows() {
+        SeekCursor cursor = SeekCursor.after(new Item().id(9L), 9L, Sort.Order.desc("lendedTo.login"));
+
+        String sql = render(cursor.toCondition(table.column("name"), true, table.column("id"), new HashMap<>()));
+
+        assertThat(sql).endsWith("WHERE ((e.name IS NULL AND e.id < :seekId) OR e.name IS NOT NULL)");
+    }
+
+    private static String render(Condition condition) {
+        return SqlRenderer.create().render(Select.builder().select(table.column("id")).from(table).where(condition).build());
+    }
+}
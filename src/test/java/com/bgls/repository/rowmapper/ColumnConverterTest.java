@@ -0,0 +1,48 @@
+package com.bgls.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.DayOfWeek;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+/**
+ * Test class for the {@link ColumnConverter}.
+ */
+class ColumnConverterTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    private final ColumnConverter converter = new ColumnConverter(
+        R2dbcCustomConversions.of(PostgresDialect.INSTANCE),
+        new MappingR2dbcConverter(new R2dbcMappingContext()),
+        registry
+    );
+
+    @Test
+    void resolvesEachConversionOnce() {
+        assertThat(converter.convert(1, Long.class)).isEqualTo(1L);
+        assertThat(converter.convert(2, Long.class)).isEqualTo(2L);
+        assertThat(converter.convert(3L, Long.class)).isEqualTo(3L);
+
+        assertThat(registry.get("r2dbc.column.converters").tag("cache", "miss").counter().count()).isEqualTo(2);
+        assertThat(registry.get("r2dbc.column.converters").tag("cache", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("r2dbc.column.converters.cached").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void convertsAssignableValuesEnumsAndNulls() {
+        Long value = 42L;
+
+        assertThat(converter.convert(value, Long.class)).isSameAs(value);
+        assertThat(converter.convert(value, long.class)).isSameAs(value);
+        assertThat(converter.convert("MONDAY", DayOfWeek.class)).isEqualTo(DayOfWeek.MONDAY);
+        assertThat(converter.<Long>convert(null, Long.class)).isNull();
+        assertThat(converter.<Object>convert(value, null)).isSameAs(value);
+    }
+}
@@ -0,0 +1,128 @@
+package com.bgls.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bgls.domain.Game;
+import com.bgls.domain.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.R2dbcType;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+/**
+ * Test class for the {@link PrefixedRowMapper} implementations.
+ */
+class PrefixedRowMapperTest {
+
+    private final ColumnConverter converter = new ColumnConverter(
+        R2dbcCustomConversions.of(PostgresDialect.INSTANCE),
+        new MappingR2dbcConverter(new R2dbcMappingContext()),
+        new SimpleMeterRegistry()
+    );
+
+    @Test
+    void readsTheColumnsByPositionWhateverTheirCase() {
+        FakeMetadata metadata = new FakeMetadata("e_id", "lendedto_id", "lendedto_login", "lendedto_activated", "lendedto_reset_date");
+        Instant resetDate = Instant.parse("2024-01-01T00:00:00Z");
+
+        User user = new UserRowMapper(converter).withPrefix("lendedTo").apply(metadata.row(1L, 2L, "borrower", true, resetDate), metadata);
+
+        assertThat(user.getId()).isEqualTo(2L);
+        assertThat(user.getLogin()).isEqualTo("borrower");
+        assertThat(user.isActivated()).isTrue();
+        assertThat(user.getResetDate()).isEqualTo(resetDate);
+        assertThat(user.getEmail()).as("column missing from the result").isNull();
+    }
+
+    @Test
+    void rowWithoutIdMapsToNull() {
+        FakeMetadata metadata = new FakeMetadata("game_id", "game_name");
+
+        assertThat(new GameRowMapper(converter).withPrefix("game").apply(metadata.row(null, null), metadata)).isNull();
+    }
+
+    @Test
+    void resolvesThePositionsOncePerResult() {
+        BiFunction<Row, RowMetadata, Game> games = new GameRowMapper(converter).withPrefix("e");
+        FakeMetadata first = new FakeMetadata("e_id", "e_name");
+        FakeMetadata second = new FakeMetadata("e_name", "e_id");
+
+        games.apply(first.row(1L, "Zelda"), first);
+        games.apply(first.row(2L, "Metroid"), first);
+        Game game = games.apply(second.row("Kirby", 3L), second);
+
+        assertThat(first.resolutions).isEqualTo(1);
+        assertThat(second.resolutions).isEqualTo(1);
+        assertThat(game.getId()).isEqualTo(3L);
+        assertThat(game.getName()).isEqualTo("Kirby");
+    }
+
+    private record FakeColumn(String name) implements ColumnMetadata {
+        @Override
+        public Type getType() {
+            return R2dbcType.VARCHAR;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final class FakeMetadata implements RowMetadata {
+
+        private final List<FakeColumn> columns = new ArrayList<>();
+        private int resolutions;
+
+        private FakeMetadata(String... names) {
+            Arrays.stream(names).map(FakeColumn::new).forEach(columns::add);
+        }
+
+        private Row row(Object... values) {
+            return new Row() {
+                @Override
+                public RowMetadata getMetadata() {
+                    return FakeMetadata.this;
+                }
+
+                @Override
+                public <T> T get(int index, Class<T> type) {
+                    return type.cast(values[index]);
+                }
+
+                @Override
+                public <T> T get(String name, Class<T> type) {
+                    throw new AssertionError("Column read by name: " + name);
+                }
+            };
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            throw new AssertionError("Column looked up by name: " + name);
+        }
+
+        @Override
+        public List<? extends ColumnMetadata> getColumnMetadatas() {
+            resolutions++;
+            return columns;
+        }
+    }
+}
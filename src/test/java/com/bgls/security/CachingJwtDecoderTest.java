@@ -0,0 +1,145 @@
+package com.bgls.security;
+
+import static com.bgls.security.SecurityUtils.JWT_ALGORITHM;
+import static com.bgls.security.jwt.JwtAuthenticationTestUtils.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bgls.management.SecurityMetersService;
+import com.nimbusds.jose.util.Base64;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.crypto.spec.SecretKeySpec;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtException;
+import org.springframework.security.oauth2.jwt.JwtTimestampValidator;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+
+/**
+ * Test class for the {@link CachingJwtDecoder}.
+ */
+class CachingJwtDecoderTest {
+
+    private static final String JWT_KEY =
+        "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
+
+    private static final String INVALID_TOKENS_METER_NAME = "security.authentication.invalid-tokens";
+
+    private SimpleMeterRegistry registry;
+
+    private AtomicInteger verifications;
+
+    private Instant now;
+
+    private CachingJwtDecoder decoder;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        verifications = new AtomicInteger();
+        now = Instant.now();
+        byte[] keyBytes = Base64.from(JWT_KEY).decode();
+        NimbusReactiveJwtDecoder jwtDecoder = NimbusReactiveJwtDecoder.withSecretKey(
+            new SecretKeySpec(keyBytes, 0, keyBytes.length, JWT_ALGORITHM.getName())
+        )
+            .macAlgorithm(JWT_ALGORITHM)
+            .build();
+        jwtDecoder.setJwtValidator(new JwtTimestampValidator());
+        Clock clock = new Clock() {
+            @Override
+            public ZoneOffset getZone() {
+                return ZoneOffset.UTC;
+            }
+
+            @Override
+            public Clock withZone(ZoneId zone) {
+                return this;
+            }
+
+            @Override
+            public Instant instant() {
+                return now;
+            }
+        };
+        decoder = new CachingJwtDecoder(
+            token -> {
+                verifications.incrementAndGet();
+                return jwtDecoder.decode(token);
+            },
+            2,
+            new SecurityMetersService(registry),
+            clock
+        );
+    }
+
+    @Test
+    void verifiedTokenIsNotVerifiedAgain() {
+        String token = createValidToken(JWT_KEY);
+
+        Jwt first = decoder.decode(token).block();
+        Jwt second = decoder.decode(token).block();
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(1);
+        assertThat(registry.get("security.authentication.token-cache").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(registry.get("security.authentication.token-cache").tag("result", "miss").counter().count()).isEqualTo(1);
+        assertThat(registry.get("security.authentication.token-decode").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tokenIsVerifiedAgainOnceExpired() {
+        String token = createValidToken(JWT_KEY);
+        Jwt jwt = decoder.decode(token).block();
+
+        now = jwt.getExpiresAt().minus(Duration.ofSeconds(1));
+        decoder.decode(token).block();
+        now = jwt.getExpiresAt();
+        decoder.decode(token).block();
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void leastRecentlyUsedTokenIsEvictedOnceFull() {
+        String alice = createValidTokenForUser(JWT_KEY, "alice");
+        String bob = createValidTokenForUser(JWT_KEY, "bob");
+        String carol = createValidTokenForUser(JWT_KEY, "carol");
+
+        decoder.decode(alice).block();
+        decoder.decode(bob).block();
+        decoder.decode(alice).block();
+        decoder.decode(carol).block();
+        decoder.decode(alice).block();
+        decoder.decode(bob).block();
+
+        assertThat(verifications).hasValue(4);
+    }
+
+    @Test
+    void invalidTokensAreCountedByCauseAndNotKept() throws Exception {
+        assertInvalid(createExpiredToken(JWT_KEY), "expired");
+        assertInvalid(createTokenWithDifferentSignature(), "invalid-signature");
+        assertInvalid(createInvalidToken(JWT_KEY), "malformed");
+        assertInvalid(createSignedInvalidJwt(JWT_KEY), "malformed");
+        assertInvalid("eyJhbGciOiJub25lIn0.eyJzdWIiOiJhbm9ueW1vdXMifQ.", "unsupported");
+
+        String expired = createExpiredToken(JWT_KEY);
+        assertThatThrownBy(() -> decoder.decode(expired).block()).isInstanceOf(JwtException.class);
+        assertThat(verifications).hasValue(6);
+    }
+
+    private void assertInvalid(String token, String cause) {
+        double count = registry.get(INVALID_TOKENS_METER_NAME).tag("cause", cause).counter().count();
+
+        assertThatThrownBy(() -> decoder.decode(token).block()).isInstanceOf(JwtException.class);
+
+        assertThat(registry.get(INVALID_TOKENS_METER_NAME).tag("cause", cause).counter().count()).isEqualTo(count + 1);
+    }
+}
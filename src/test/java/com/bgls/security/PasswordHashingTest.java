@@ -0,0 +1,106 @@
+package com.bgls.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bgls.config.ApplicationProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.MapReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Test class for the {@link PasswordHashing}.
+ */
+class PasswordHashingTest {
+
+    private ApplicationProperties.PasswordHashing properties;
+
+    private SimpleMeterRegistry registry;
+
+    private PasswordHashing passwordHashing;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties().getPasswordHashing();
+        properties.setStrength(5);
+        properties.setThreads(1);
+        properties.setMaxQueued(1);
+        registry = new SimpleMeterRegistry();
+        passwordHashing = new PasswordHashing(properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHashing.shutdown();
+    }
+
+    @Test
+    void passwordMatchesItsHash() {
+        String hash = passwordHashing.encode("secret").block();
+
+        assertThat(hash).startsWith("$2a$05$");
+        assertThat(passwordHashing.matches("secret", hash).block()).isTrue();
+        assertThat(passwordHashing.matches("guess", hash).block()).isFalse();
+        assertThat(registry.get("security.password.hashing").tag("operation", "encode").timer().count()).isEqualTo(1);
+        assertThat(registry.get("security.password.hashing").tag("operation", "matches").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void passwordHashedWithAnotherCostIsHashedAgain() {
+        assertThat(passwordHashing.passwordEncoder().upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        assertThat(passwordHashing.passwordEncoder().upgradeEncoding(new BCryptPasswordEncoder(6).encode("secret"))).isTrue();
+        assertThat(passwordHashing.passwordEncoder().upgradeEncoding(new BCryptPasswordEncoder(5).encode("secret"))).isFalse();
+        assertThat(passwordHashing.passwordEncoder().upgradeEncoding("plain")).isFalse();
+    }
+
+    @Test
+    void loginHashesThePasswordAgainWithTheConfiguredCost() {
+        MapReactiveUserDetailsService users = new MapReactiveUserDetailsService(
+            User.withUsername("user").password(new BCryptPasswordEncoder(4).encode("secret")).roles("USER").build()
+        );
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager = new UserDetailsRepositoryReactiveAuthenticationManager(
+            users
+        );
+        authenticationManager.setPasswordEncoder(passwordHashing.passwordEncoder());
+        authenticationManager.setScheduler(passwordHashing.scheduler());
+        authenticationManager.setUserDetailsPasswordService(users);
+
+        authenticationManager.authenticate(new UsernamePasswordAuthenticationToken("user", "secret")).block();
+
+        assertThat(users.findByUsername("user").block().getPassword()).startsWith("$2a$05$");
+    }
+
+    @Test
+    void hashingFailsOnceTooManyAreWaiting() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch drained = new CountDownLatch(1);
+        passwordHashing.scheduler().schedule(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+        passwordHashing.scheduler().schedule(drained::countDown);
+
+        try {
+            assertThatThrownBy(() -> passwordHashing.encode("secret").block()).isInstanceOf(PasswordHashingBusyException.class);
+            assertThat(registry.get("security.password.hashing.queued").gauge().value()).isEqualTo(1);
+            assertThat(registry.get("security.password.hashing.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            release.countDown();
+        }
+        drained.await();
+        assertThat(passwordHashing.encode("secret").block()).startsWith("$2a$05$");
+    }
+}
@@ -1,5 +1,6 @@
 package com.bgls.security.jwt;
 
+import com.bgls.config.ApplicationProperties;
 import com.bgls.config.SecurityConfiguration;
 import com.bgls.config.SecurityJwtConfiguration;
 import com.bgls.config.WebConfigurer;
@@ -19,6 +20,7 @@ import tech.jhipster.config.JHipsterProperties;
 @Import(
     {
         JHipsterProperties.class,
+        ApplicationProperties.class,
         WebConfigurer.class,
         SecurityConfiguration.class,
         SecurityJwtConfiguration.class,
@@ -0,0 +1,126 @@
+package com.bgls.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bgls.config.ApplicationProperties;
+import com.bgls.service.impl.FileSystemImageStorage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.util.unit.DataSize;
+import reactor.core.publisher.Flux;
+
+/**
+ * Test class for the {@link ImageUploadService}.
+ */
+class ImageUploadServiceTest {
+
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13 };
+
+    @TempDir
+    Path root;
+
+    private ImageStorage imageStorage;
+
+    private ImageUploadService imageUploadService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getImages().setMaxUploadSize(DataSize.ofBytes(100));
+        imageStorage = new FileSystemImageStorage(root);
+        imageUploadService = new ImageUploadService(applicationProperties, imageStorage);
+    }
+
+    @Test
+    void imageIsStoredAcrossBuffers() throws IOException {
+        byte[] image = Arrays.copyOf(PNG_SIGNATURE, 100);
+
+        ImageUploadService.ImageUpload upload = imageUploadService.read(buffers(image, 7)).block();
+
+        assertThat(upload.contentType()).isEqualTo("image/png");
+        assertThat(upload.hash()).isEqualTo(ImageHashUtil.hash(image));
+        assertThat(imageStorage.find(upload.hash()).block().getContentAsByteArray()).isEqualTo(image);
+    }
+
+    @Test
+    void sameImageIsStoredOnce() throws IOException {
+        byte[] image = Arrays.copyOf(PNG_SIGNATURE, 50);
+
+        String first = imageUploadService.read(buffers(image, 50)).block().hash();
+        String second = imageUploadService.read(buffers(image, 9)).block().hash();
+
+        assertThat(second).isEqualTo(first);
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).containsExactly(imageStorage.find(first).block().getFile().toPath());
+        }
+    }
+
+    @Test
+    void imageLargerThanTheCapIsRejectedWithoutReadingTheRest() {
+        AtomicInteger requested = new AtomicInteger();
+        Flux<DataBuffer> content = buffers(Arrays.copyOf(PNG_SIGNATURE, 1000), 10).doOnNext(buffer -> requested.incrementAndGet());
+
+        assertRejected(content, InvalidImageException.Reason.TOO_LARGE);
+        assertThat(requested).hasValueLessThan(100);
+    }
+
+    @Test
+    void contentTypeIsDetectedFromTheFirstBytes() {
+        byte[] document = "<html><script>alert(1)</script></html>".getBytes(StandardCharsets.UTF_8);
+
+        assertRejected(buffers(document, 16), InvalidImageException.Reason.UNSUPPORTED_TYPE);
+    }
+
+    @Test
+    void imageSentAsBytesIsCheckedAsAnUpload() {
+        byte[] image = Arrays.copyOf(PNG_SIGNATURE, 20);
+
+        ImageUploadService.ImageUpload upload = imageUploadService.read(image).block();
+
+        assertThat(upload.contentType()).isEqualTo("image/png");
+        assertThat(upload.hash()).isEqualTo(ImageHashUtil.hash(image));
+        assertThatThrownBy(() -> imageUploadService.read("<svg onload=\"alert(1)\"/>".getBytes(StandardCharsets.UTF_8)).block())
+            .isInstanceOf(InvalidImageException.class)
+            .extracting(e -> ((InvalidImageException) e).getReason())
+            .isEqualTo(InvalidImageException.Reason.UNSUPPORTED_TYPE);
+        assertThatThrownBy(() -> imageUploadService.read(new byte[101]).block())
+            .isInstanceOf(InvalidImageException.class)
+            .extracting(e -> ((InvalidImageException) e).getReason())
+            .isEqualTo(InvalidImageException.Reason.TOO_LARGE);
+    }
+
+    @Test
+    void emptyUploadIsRejected() {
+        assertRejected(Flux.empty(), InvalidImageException.Reason.EMPTY);
+    }
+
+    private static Flux<DataBuffer> buffers(byte[] content, int chunkSize) {
+        return Flux.range(0, (content.length + chunkSize - 1) / chunkSize).map(i ->
+            DefaultDataBufferFactory.sharedInstance.wrap(
+                Arrays.copyOfRange(content, i * chunkSize, Math.min(content.length, (i + 1) * chunkSize))
+            )
+        );
+    }
+
+    private void assertRejected(Flux<DataBuffer> content, InvalidImageException.Reason reason) {
+        assertThatThrownBy(() -> imageUploadService.read(content).block())
+            .isInstanceOf(InvalidImageException.class)
+            .extracting(e -> ((InvalidImageException) e).getReason())
+            .isEqualTo(reason);
+        try (var files = Files.walk(root)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
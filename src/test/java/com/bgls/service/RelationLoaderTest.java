@@ -0,0 +1,92 @@
+package com.bgls.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.bgls.config.ApplicationProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+/**
+ * Test class for the {@link RelationLoader}.
+ */
+class RelationLoaderTest {
+
+    private ApplicationProperties.RelationLoading properties;
+
+    private SimpleMeterRegistry registry;
+
+    private List<List<String>> batches;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties().getRelationLoading();
+        properties.setWindow(Duration.ofMillis(50));
+        registry = new SimpleMeterRegistry();
+        batches = new CopyOnWriteArrayList<>();
+    }
+
+    @Test
+    void loadsOfARequestAreLookedUpTogether() {
+        RelationLoader<String, String> loader = loader(this::lookUp);
+
+        List<String> values = loadInRequestScope(loader, "a", "b", "a", "missing", "c");
+
+        assertThat(values).containsExactlyInAnyOrder("A", "B", "A", "C");
+        assertThat(batches).containsExactly(List.of("a", "b", "missing", "c"));
+        DistributionSummary sizes = registry.get("relations.batch.size").tag("relation", "letter").summary();
+        assertThat(sizes.count()).isEqualTo(1);
+        assertThat(sizes.totalAmount()).isEqualTo(4);
+        assertThat(registry.get("relations.batch.coalescing").summary().totalAmount()).isEqualTo(5 / 4.0);
+    }
+
+    @Test
+    void fullBatchIsLookedUpWithoutWaiting() {
+        properties.setWindow(Duration.ofMinutes(1));
+        properties.setMaxBatchSize(2);
+        RelationLoader<String, String> loader = loader(this::lookUp);
+
+        List<String> values = loadInRequestScope(loader, "a", "a", "b", "c", "d");
+
+        assertThat(values).containsExactlyInAnyOrder("A", "A", "B", "C", "D");
+        assertThat(batches).containsExactly(List.of("a", "b"), List.of("c", "d"));
+    }
+
+    @Test
+    void loadsOutsideOfARequestAreLookedUpOneByOne() {
+        RelationLoader<String, String> loader = loader(this::lookUp);
+
+        List<String> values = Flux.just("a", "b").concatMap(loader::load).collectList().block();
+
+        assertThat(values).containsExactly("A", "B");
+        assertThat(batches).containsExactly(List.of("a"), List.of("b"));
+    }
+
+    @Test
+    void failedLookUpFailsEachLoad() {
+        RelationLoader<String, String> loader = loader(keys -> Flux.error(new IllegalStateException("down")));
+
+        assertThatThrownBy(() -> loadInRequestScope(loader, "a", "b")).isInstanceOf(IllegalStateException.class).hasMessage("down");
+    }
+
+    private RelationLoader<String, String> loader(Function<Collection<String>, Flux<String>> lookUp) {
+        return new RelationLoader<>("letter", lookUp, String::toLowerCase, properties, registry);
+    }
+
+    private Flux<String> lookUp(Collection<String> keys) {
+        batches.add(List.copyOf(keys));
+        return Flux.fromIterable(keys).filter(key -> !key.equals("missing")).map(String::toUpperCase);
+    }
+
+    private static List<String> loadInRequestScope(RelationLoader<String, String> loader, String... keys) {
+        return Flux.just(keys).flatMap(loader::load).collectList().contextWrite(RelationLoader::withRequestScope).block();
+    }
+}
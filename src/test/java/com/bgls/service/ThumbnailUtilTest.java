@@ -0,0 +1,68 @@
+package com.bgls.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ThumbnailUtil} utility class.
+ */
+class ThumbnailUtilTest {
+
+    private static final long MAX_PIXELS = 2_000_000;
+
+    @Test
+    void thumbnailKeepsTheAspectRatio() throws IOException {
+        BufferedImage cover = ThumbnailUtil.read(encode(new BufferedImage(1000, 1500, BufferedImage.TYPE_INT_RGB), "png"), MAX_PIXELS);
+
+        ThumbnailUtil.Thumbnail thumbnail = ThumbnailUtil.thumbnail(cover, 160);
+
+        assertThat(thumbnail.size()).isEqualTo(160);
+        assertThat(thumbnail.contentType()).isEqualTo("image/jpeg");
+        BufferedImage decoded = ThumbnailUtil.read(thumbnail.content(), MAX_PIXELS);
+        assertThat(decoded.getWidth()).isEqualTo(107);
+        assertThat(decoded.getHeight()).isEqualTo(160);
+    }
+
+    @Test
+    void transparentCoverGivesPngThumbnail() throws IOException {
+        BufferedImage cover = new BufferedImage(400, 200, BufferedImage.TYPE_INT_ARGB);
+
+        ThumbnailUtil.Thumbnail thumbnail = ThumbnailUtil.thumbnail(cover, 64);
+
+        assertThat(thumbnail.contentType()).isEqualTo("image/png");
+        BufferedImage decoded = ThumbnailUtil.read(thumbnail.content(), MAX_PIXELS);
+        assertThat(decoded.getWidth()).isEqualTo(64);
+        assertThat(decoded.getHeight()).isEqualTo(32);
+        assertThat(decoded.getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    void coverIsNotScaledUp() throws IOException {
+        assertThat(ThumbnailUtil.thumbnail(new BufferedImage(64, 48, BufferedImage.TYPE_INT_RGB), 64)).isNull();
+    }
+
+    @Test
+    void unsupportedFormatIsNotDecoded() throws IOException {
+        assertThat(ThumbnailUtil.read("%PDF-1.7".getBytes(StandardCharsets.UTF_8), MAX_PIXELS)).isNull();
+    }
+
+    @Test
+    void imageDeclaringTooManyPixelsIsNotDecoded() throws IOException {
+        byte[] cover = encode(new BufferedImage(1000, 1500, BufferedImage.TYPE_BYTE_BINARY), "png");
+
+        assertThat(ThumbnailUtil.read(cover, 1_499_999)).isNull();
+        assertThat(ThumbnailUtil.read(cover, 1_500_000)).isNotNull();
+    }
+
+    private static byte[] encode(BufferedImage image, String format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,109 @@
+package com.bgls.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bgls.config.ApplicationProperties;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+/**
+ * Test class for the {@link TotalCountService}.
+ */
+class TotalCountServiceTest {
+
+    private ApplicationProperties properties;
+
+    private TotalCountService service;
+
+    private AtomicLong rows;
+
+    private AtomicLong exactCounts;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ApplicationProperties();
+        service = new TotalCountService(properties);
+        rows = new AtomicLong(42);
+        exactCounts = new AtomicLong();
+    }
+
+    @Test
+    void listsAreCountedExactlyByDefault() {
+        assertThat(count("filter", Mono.just(1_000_000L))).isEqualTo(new TotalCountService.TotalCount(42, CountStrategy.EXACT));
+        assertThat(count("filter", Mono.just(1_000_000L))).isEqualTo(new TotalCountService.TotalCount(42, CountStrategy.EXACT));
+        assertThat(exactCounts).hasValue(2);
+    }
+
+    @Test
+    void cachedCountsAreReusedPerFilterUntilInvalidated() {
+        configure(CountStrategy.CACHED).setTimeToLive(Duration.ofMinutes(1));
+
+        assertThat(count("filter", Mono.empty()).strategy()).isEqualTo(CountStrategy.EXACT);
+        rows.set(43);
+        assertThat(count("filter", Mono.empty())).isEqualTo(new TotalCountService.TotalCount(42, CountStrategy.CACHED));
+        assertThat(count("other", Mono.empty())).isEqualTo(new TotalCountService.TotalCount(43, CountStrategy.EXACT));
+
+        service.invalidate(TotalCountService.ITEMS);
+
+        assertThat(count("filter", Mono.empty())).isEqualTo(new TotalCountService.TotalCount(43, CountStrategy.EXACT));
+        assertThat(exactCounts).hasValue(3);
+    }
+
+    @Test
+    void expiredCountsAreCountedAgain() {
+        configure(CountStrategy.CACHED).setTimeToLive(Duration.ZERO);
+
+        count(null, Mono.empty());
+        assertThat(count(null, Mono.empty()).strategy()).isEqualTo(CountStrategy.EXACT);
+        assertThat(exactCounts).hasValue(2);
+    }
+
+    @Test
+    void countsStartedBeforeAnInvalidationAreNotCached() {
+        configure(CountStrategy.CACHED).setTimeToLive(Duration.ofMinutes(1));
+        Mono<Long> invalidatedWhileCounting = Mono.fromSupplier(() -> {
+            service.invalidate(TotalCountService.ITEMS);
+            return 7L;
+        });
+
+        assertThat(service.count(TotalCountService.ITEMS, "filter", invalidatedWhileCounting, Mono.empty()).block().value()).isEqualTo(7);
+        assertThat(count("filter", Mono.empty())).isEqualTo(new TotalCountService.TotalCount(42, CountStrategy.EXACT));
+    }
+
+    @Test
+    void smallOrMissingEstimatesAreCountedExactly() {
+        configure(CountStrategy.ESTIMATED).setExactBelow(1000);
+
+        assertThat(count(null, Mono.just(5000L))).isEqualTo(new TotalCountService.TotalCount(5000, CountStrategy.ESTIMATED));
+        assertThat(count(null, Mono.just(999L))).isEqualTo(new TotalCountService.TotalCount(42, CountStrategy.EXACT));
+        assertThat(count(null, Mono.empty())).isEqualTo(new TotalCountService.TotalCount(42, CountStrategy.EXACT));
+        assertThat(exactCounts).hasValue(2);
+    }
+
+    @Test
+    void listsNotReadWithTheirCountAreCountedExactly() {
+        configure(CountStrategy.WINDOW);
+
+        assertThat(service.strategyOf(TotalCountService.ITEMS)).isEqualTo(CountStrategy.WINDOW);
+        assertThat(service.strategyOf(TotalCountService.GAMES)).isEqualTo(CountStrategy.EXACT);
+        assertThat(count(null, Mono.empty())).isEqualTo(new TotalCountService.TotalCount(42, CountStrategy.EXACT));
+    }
+
+    private ApplicationProperties.Pagination.TotalCount configure(CountStrategy strategy) {
+        ApplicationProperties.Pagination.TotalCount config = new ApplicationProperties.Pagination.TotalCount();
+        config.setStrategy(strategy);
+        properties.getPagination().getTotalCounts().put(TotalCountService.ITEMS, config);
+        return config;
+    }
+
+    private TotalCountService.TotalCount count(Object filter, Mono<Long> estimate) {
+        Mono<Long> exact = Mono.fromSupplier(() -> {
+            exactCounts.incrementAndGet();
+            return rows.get();
+        });
+        return service.count(TotalCountService.ITEMS, filter, exact, estimate).block();
+    }
+}
@@ -0,0 +1,138 @@
+package com.bgls.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TypeaheadIndex}.
+ */
+class TypeaheadIndexTest {
+
+    private record Game(long id, String name, long consoleId) {}
+
+    private TypeaheadIndex<Game> index;
+
+    @BeforeEach
+    void setUp() {
+        index = TypeaheadIndex.of(
+            List.of(
+                new Game(1, "The Legend of Zelda", 1),
+                new Game(2, "Zelda II: The Adventure of Link", 1),
+                new Game(3, "Super Mario Bros.", 1),
+                new Game(4, "Super Mario Kart", 2),
+                new Game(5, "Pokémon Red", 3),
+                new Game(6, "Metroid", 1)
+            ),
+            Game::id,
+            Game::name
+        );
+    }
+
+    @Test
+    void wholeNamesStartingWithTheQueryComeBeforeWords() {
+        assertThat(ids("zel")).containsExactly(2L, 1L);
+        assertThat(ids("super mario")).containsExactly(3L, 4L);
+        assertThat(ids("mario k")).containsExactly(4L, 3L);
+    }
+
+    @Test
+    void accentsAndCaseAreIgnored() {
+        assertThat(ids("POKEMON")).containsExactly(5L);
+        assertThat(ids("  pokémon   red ")).containsExactly(5L);
+    }
+
+    @Test
+    void typosAreFoundOnceTheQueryIsLongEnough() {
+        assertThat(ids("metrod")).containsExactly(6L);
+        assertThat(ids("legnd of")).containsExactly(1L);
+        assertThat(ids("mte")).isEmpty();
+    }
+
+    @Test
+    void exactMatchesComeBeforeFuzzyOnes() {
+        TypeaheadIndex<Game> withMetroit = index.with(new Game(7, "Metroit", 2));
+
+        assertThat(withMetroit.search("metroid", 10, 2, game -> true)).extracting(Game::id).containsExactly(6L, 7L);
+    }
+
+    @Test
+    void resultsAreLimitedAndFiltered() {
+        assertThat(index.search("super", 1, 2, game -> true)).extracting(Game::id).containsExactly(3L);
+        assertThat(index.search("super", 10, 2, game -> game.consoleId() == 2)).extracting(Game::id).containsExactly(4L);
+    }
+
+    @Test
+    void updatesReturnANewIndex() {
+        TypeaheadIndex<Game> updated = index.with(new Game(3, "Super Mario World", 1)).without(4).with(new Game(8, "Mario Paint", 1));
+
+        assertThat(updated.search("super mario", 10, 2, game -> true)).extracting(Game::name).containsExactly("Super Mario World");
+        assertThat(updated.search("mario", 10, 0, game -> true)).extracting(Game::id).containsExactly(8L, 3L);
+        assertThat(updated.size()).isEqualTo(6);
+        assertThat(ids("super mario")).containsExactly(3L, 4L);
+    }
+
+    @Test
+    void fuzzyMatchesAgreeWithAPlainEditDistance() {
+        Random random = new Random(42);
+        List<Game> games = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            games.add(new Game(id, randomWord(random, 4 + random.nextInt(6)), 1));
+        }
+        TypeaheadIndex<Game> randomIndex = TypeaheadIndex.of(games, Game::id, Game::name);
+
+        for (int i = 0; i < 50; i++) {
+            String query = randomWord(random, 8);
+            List<Long> expected = games
+                .stream()
+                .filter(game -> prefixEditDistance(query, game.name()) <= 2)
+                .map(Game::id)
+                .sorted()
+                .toList();
+
+            assertThat(randomIndex.search(query, 1000, 2, game -> true)).extracting(Game::id).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 10, 2, game -> true).stream().map(Game::id).toList();
+    }
+
+    private static String randomWord(Random random, int length) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(4)));
+        }
+        return word.toString();
+    }
+
+    /**
+     * The edit distance between the query and the closest prefix of the text.
+     */
+    private static int prefixEditDistance(String query, String text) {
+        int[] previous = new int[text.length() + 1];
+        int[] current = new int[text.length() + 1];
+        for (int j = 0; j <= text.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= query.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= text.length(); j++) {
+                int cost = query.charAt(i - 1) == text.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        int best = Integer.MAX_VALUE;
+        for (int distance : previous) {
+            best = Math.min(best, distance);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,92 @@
+package com.bgls.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.bgls.service.ImageHashUtil;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Test class for the {@link ImageResponseUtil} utility class.
+ */
+class ImageResponseUtilTest {
+
+    private static final byte[] CONTENT = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n', 0, 0, 0, 13, 'I', 'H', 'D', 'R' };
+
+    private static final String HASH = ImageHashUtil.hash(CONTENT);
+
+    private static final Resource IMAGE = new ByteArrayResource(CONTENT);
+
+    @Test
+    void currentVersionIsCachedForGood() throws IOException {
+        ResponseEntity<Resource> response = ImageResponseUtil.imageResponse(IMAGE, "image/png", HASH, HASH);
+
+        assertThat(response.getBody().getContentAsByteArray()).isEqualTo(CONTENT);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_PNG);
+        assertThat(response.getHeaders().getFirst("X-Content-Type-Options")).isEqualTo("nosniff");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + HASH + "\"");
+        assertThat(response.getHeaders().getCacheControl()).contains("max-age=31536000", "public", "immutable");
+    }
+
+    @Test
+    void unversionedRequestIsRevalidated() {
+        ResponseEntity<Resource> response = ImageResponseUtil.imageResponse(IMAGE, "image/png", HASH, null);
+
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + HASH + "\"");
+        assertThat(response.getHeaders().getCacheControl()).contains("no-cache").doesNotContain("immutable");
+    }
+
+    @Test
+    void staleVersionIsRevalidated() {
+        ResponseEntity<Resource> response = ImageResponseUtil.imageResponse(IMAGE, "image/png", HASH, "0123");
+
+        assertThat(response.getHeaders().getCacheControl()).contains("no-cache");
+    }
+
+    @Test
+    void thumbnailIsVersionedBySourceAndTaggedWithItsHash() throws IOException {
+        byte[] thumbnail = { (byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 0, 16, 'J', 'F', 'I', 'F', 0, 1 };
+        String thumbnailHash = ImageHashUtil.hash(thumbnail);
+
+        ResponseEntity<Resource> response = ImageResponseUtil.thumbnailResponse(
+            new ByteArrayResource(thumbnail),
+            "image/jpeg",
+            thumbnailHash,
+            HASH,
+            HASH
+        );
+
+        assertThat(response.getBody().getContentAsByteArray()).isEqualTo(thumbnail);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.IMAGE_JPEG);
+        assertThat(response.getHeaders().getFirst("X-Content-Type-Options")).isEqualTo("nosniff");
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"" + thumbnailHash + "\"");
+        assertThat(response.getHeaders().getCacheControl()).contains("immutable");
+    }
+
+    @Test
+    void contentTypeThatIsNotADetectedImageIsServedAsBinary() {
+        assertThat(contentType("image/svg+xml")).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        assertThat(contentType("text/html")).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        assertThat(contentType(null)).isEqualTo(MediaType.APPLICATION_OCTET_STREAM);
+        assertThat(contentType("image/webp")).isEqualTo(MediaType.parseMediaType("image/webp"));
+    }
+
+    @Test
+    void hashIsHexEncodedSha256() {
+        assertThat(ImageHashUtil.hash("abc".getBytes(StandardCharsets.UTF_8))).isEqualTo(
+            "ba7816bf8f01cfea414140de5dae2223b00361a396177a9cb410ff61f20015ad"
+        );
+        assertThat(ImageHashUtil.hash(null)).isNull();
+    }
+
+    private static MediaType contentType(String storedContentType) {
+        ResponseEntity<Resource> response = ImageResponseUtil.imageResponse(IMAGE, storedContentType, HASH, null);
+        assertThat(response.getHeaders().getFirst("X-Content-Type-Options")).isEqualTo("nosniff");
+        return response.getHeaders().getContentType();
+    }
+}
@@ -0,0 +1,48 @@
+package com.bgls.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Test class for the {@link SlicePaginationUtil} utility class.
+ */
+class SlicePaginationUtilTest {
+
+    private static final String URI = "http://localhost/api/games?name.contains=zelda&count=false";
+
+    @Test
+    void fullPageLinksToTheNextOne() {
+        HttpHeaders headers = headers(List.of(1, 2), PageRequest.of(1, 2));
+
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(
+            "<http://localhost/api/games?name.contains=zelda&count=false&page=2&size=2>; rel=\"next\"," +
+            "<http://localhost/api/games?name.contains=zelda&count=false&page=0&size=2>; rel=\"prev\"," +
+            "<http://localhost/api/games?name.contains=zelda&count=false&page=0&size=2>; rel=\"first\""
+        );
+        assertThat(headers.containsKey("X-Total-Count")).isFalse();
+    }
+
+    @Test
+    void partialFirstPageOnlyLinksToItself() {
+        HttpHeaders headers = headers(List.of(1), PageRequest.of(0, 2));
+
+        assertThat(headers.getFirst(HttpHeaders.LINK)).isEqualTo(
+            "<http://localhost/api/games?name.contains=zelda&count=false&page=0&size=2>; rel=\"first\""
+        );
+    }
+
+    @Test
+    void unpagedRequestHasNoLinks() {
+        assertThat(headers(List.of(1, 2), Pageable.unpaged())).isEmpty();
+    }
+
+    private static HttpHeaders headers(List<Integer> content, Pageable pageable) {
+        return SlicePaginationUtil.generateSlicePaginationHttpHeaders(UriComponentsBuilder.fromUriString(URI), content, pageable);
+    }
+}